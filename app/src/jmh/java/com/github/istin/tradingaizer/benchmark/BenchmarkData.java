@@ -0,0 +1,70 @@
+package com.github.istin.tradingaizer.benchmark;
+
+import com.github.istin.tradingaizer.indicator.*;
+import com.github.istin.tradingaizer.model.BarSeries;
+
+import java.util.Random;
+
+/**
+ * Deterministic synthetic 1m bars and the indicators under benchmark, so that results only depend on the code.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 20250101L;
+    private static final long MINUTE = 60_000L;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Random walk around 97000 with the usual intrabar noise; the same seed always gives the same bars.
+     */
+    static BarSeries randomWalk(int bars, long seed) {
+        Random random = new Random(seed);
+        BarSeries series = new BarSeries(bars);
+        long openTime = 1_735_689_600_000L;
+        double close = 97000.0;
+        for (int i = 0; i < bars; i++) {
+            double open = close;
+            close = open * (1 + (random.nextDouble() - 0.5) * 0.004);
+            double high = Math.max(open, close) * (1 + random.nextDouble() * 0.001);
+            double low = Math.min(open, close) * (1 - random.nextDouble() * 0.001);
+            series.append(openTime, open, high, low, close, random.nextDouble() * 50, openTime + MINUTE - 1);
+            openTime += MINUTE;
+        }
+        return series;
+    }
+
+    static Indicator<?> indicator(String name) {
+        switch (name) {
+            case "RSI":
+                return new RSIIndicator(14);
+            case "EMA":
+                return new EMAIndicator(50);
+            case "MA":
+                return new MovingAverageIndicator(200);
+            case "ATR":
+                return new ATRIndicator(14);
+            case "MACD":
+                return new MACDIndicator(12, 26, 9);
+            case "ADX":
+                return new ADXIndicator(14);
+            case "SuperTrend":
+                return new SuperTrendIndicator(10, 3.0);
+            case "OBV":
+                return new OBVIndicator();
+            case "Bollinger":
+                return new BollingerBandsIndicator(20, 2.0);
+            case "Donchian":
+                return new DonchianChannelIndicator(500);
+            case "Stochastic":
+                return new StochasticIndicator(14, 3);
+            case "WilliamsR":
+                return new WilliamsRIndicator(14);
+            case "Chandelier":
+                return new ChandelierExitIndicator(22, 3.0);
+            default:
+                throw new IllegalArgumentException("Unknown indicator: " + name);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.istin.tradingaizer.benchmark;
+
+import com.github.istin.tradingaizer.chart.ChartDataProvider;
+import com.github.istin.tradingaizer.indicator.Indicator;
+import com.github.istin.tradingaizer.indicator.Timeframe;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.trader.StatDealData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ChartDataProvider#calculateIndicator} as strategies call it: cold, when the first call fills the
+ * series, and warm, when every later bar is a cache lookup. The disk cache stays off.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class ChartDataProviderBenchmark {
+
+    @Param({"1000", "10000", "500000"})
+    public int bars;
+
+    @Param({"RSI", "MACD", "ADX", "Bollinger", "Donchian"})
+    public String indicatorName;
+
+    @Param({"M1", "M5", "H1"})
+    public String timeframeName;
+
+    private Timeframe timeframe;
+
+    private BarSeries series;
+    private List<StatDealData> history;
+    private Indicator<?> indicator;
+    private ChartDataProvider coldProvider;
+    private ChartDataProvider warmProvider;
+    private int barCount;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        timeframe = Timeframe.valueOf(timeframeName);
+        series = BenchmarkData.randomWalk(bars, BenchmarkData.SEED);
+        history = series.asList();
+        indicator = BenchmarkData.indicator(indicatorName);
+        warmProvider = new ChartDataProvider("benchmark", series, false);
+        warmProvider.calculateValues(indicator, timeframe);
+        barCount = warmProvider.getBarCount(history, timeframe);
+    }
+
+    @Setup(Level.Iteration)
+    public void newColdProvider() {
+        coldProvider = new ChartDataProvider("benchmark", series, false);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Object cold() {
+        return coldProvider.calculateIndicator(indicator, coldProvider.getData(history, timeframe), timeframe);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public Object warm() {
+        return warmProvider.calculateIndicator(indicator, history.subList(0, nextBar()), timeframe);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public double warmUnboxed() {
+        return warmProvider.calculateValue(indicator, nextBar(), timeframe, 0);
+    }
+
+    /**
+     * Walks over the bars of the timeframe like a backtest does.
+     */
+    private int nextBar() {
+        cursor = cursor % barCount + 1;
+        return cursor;
+    }
+}
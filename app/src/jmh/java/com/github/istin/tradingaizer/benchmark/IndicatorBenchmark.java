@@ -0,0 +1,84 @@
+package com.github.istin.tradingaizer.benchmark;
+
+import com.github.istin.tradingaizer.indicator.Indicator;
+import com.github.istin.tradingaizer.indicator.IndicatorSeries;
+import com.github.istin.tradingaizer.indicator.TimeframeAggregator;
+import com.github.istin.tradingaizer.indicator.graph.GraphIndicator;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.trader.StatData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every indicator over the whole history: the single-value batch {@code calculate}, the one-pass series and the
+ * graph series where the indicator supports it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndicatorBenchmark {
+
+    @Param({"1000", "10000", "500000"})
+    public int bars;
+
+    @Param({"RSI", "EMA", "MA", "ATR", "MACD", "ADX", "SuperTrend", "OBV", "Bollinger", "Donchian", "Stochastic",
+            "WilliamsR", "Chandelier"})
+    public String indicatorName;
+
+    private Indicator<?> indicator;
+    private BarSeries series;
+    private List<StatData> objectBars;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        indicator = BenchmarkData.indicator(indicatorName);
+        series = BenchmarkData.randomWalk(bars, BenchmarkData.SEED);
+        objectBars = new ArrayList<>(bars);
+        for (int i = 0; i < bars; i++) {
+            objectBars.add(new TimeframeAggregator.AggregatedStatData(series.getHigh(i), series.getLow(i),
+                    series.getClose(i), series.getVolume(i)));
+        }
+    }
+
+    /**
+     * Last value over plain bar objects, the original code path.
+     */
+    @Benchmark
+    public Object calculateOnObjects() {
+        return indicator.calculate(objectBars);
+    }
+
+    /**
+     * Last value over the columnar series, where the SIMD kernels apply.
+     */
+    @Benchmark
+    public Object calculateOnColumns() {
+        return indicator.calculate(series.asList());
+    }
+
+    /**
+     * Value for every bar in one streaming pass.
+     */
+    @Benchmark
+    public Object calculateSeries() {
+        return indicator.calculateSeries(objectBars);
+    }
+
+    /**
+     * Value for every bar from a fresh graph; the default series path for indicators without one.
+     */
+    @Benchmark
+    public IndicatorSeries calculateValues() {
+        if (indicator instanceof GraphIndicator) {
+            return ((GraphIndicator) indicator).calculateValues(new IndicatorGraph(series));
+        }
+        return indicator.calculateValues(objectBars);
+    }
+}
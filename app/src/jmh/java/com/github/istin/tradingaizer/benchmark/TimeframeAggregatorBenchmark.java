@@ -0,0 +1,66 @@
+package com.github.istin.tradingaizer.benchmark;
+
+import com.github.istin.tradingaizer.indicator.Timeframe;
+import com.github.istin.tradingaizer.indicator.TimeframeAggregator;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.trader.StatData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeframeAggregatorBenchmark {
+
+    // What a backtest over several timeframes aggregates up front; timeframeName does not apply
+    private static final List<Timeframe> BACKTEST_TIMEFRAMES = List.of(Timeframe.M5, Timeframe.M15, Timeframe.H1, Timeframe.H4, Timeframe.D1);
+
+    @Param({"1000", "10000", "500000"})
+    public int bars;
+
+    @Param({"M5", "M15", "H1"})
+    public String timeframeName;
+
+    private Timeframe timeframe;
+
+    private BarSeries series;
+    private List<StatData> list;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        timeframe = Timeframe.valueOf(timeframeName);
+        series = BenchmarkData.randomWalk(bars, BenchmarkData.SEED);
+        list = List.copyOf(series.asList());
+    }
+
+    @Benchmark
+    public List<StatData> convertList() {
+        return TimeframeAggregator.convertToTimeframe(list, timeframe);
+    }
+
+    @Benchmark
+    public BarSeries convertBarSeries() {
+        return TimeframeAggregator.convertToTimeframe(series, timeframe);
+    }
+
+    @Benchmark
+    public Map<Timeframe, BarSeries> convertAllSequential() {
+        Map<Timeframe, BarSeries> result = new HashMap<>();
+        for (Timeframe backtestTimeframe : BACKTEST_TIMEFRAMES) {
+            result.put(backtestTimeframe, TimeframeAggregator.convertToTimeframe(series, backtestTimeframe));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Map<Timeframe, BarSeries> convertAllParallel() {
+        return TimeframeAggregator.convertToTimeframes(series, BACKTEST_TIMEFRAMES);
+    }
+}
@@ -23,15 +23,22 @@ public class AlgoExecutor {
         BinanceDataUtils.Result result = BinanceDataUtils.readDataFromBinanceFuture(ticker, "5m", startTime, now);
 
         BinanceDealExecutor dealExecutor = new BinanceDealExecutor(config.getApiKey(), config.getApiSecret());
-        List<? extends StatDealData> historicalData = result.historicalData();
-        ChartDataProvider chartDataProvider = new ChartDataProvider(result.cacheId(), historicalData);
-        Strategy strategy = new OptimizedStrategy(result.cacheId(), chartDataProvider, 60, 40);
-        Trader trader = new Trader(ticker, 0.01d, 0.04, 0.9d, dealExecutor);
-        DecisionReason decisionReason = strategy.generateDecision(historicalData);
-        StatDealData statDealData = historicalData.getLast();
-        System.out.println(decisionReason);
-        //decisionReason = new DecisionReason(Decision.LONG, "Test");
-        System.out.println("Current balance: " + trader.getBalance());
-        trader.decisionTrigger(ticker, decisionReason, statDealData);
+        try {
+            List<? extends StatDealData> historicalData = result.historicalData();
+            ChartDataProvider chartDataProvider = new ChartDataProvider(result.cacheId(), result.series());
+            Strategy strategy = new OptimizedStrategy(result.cacheId(), chartDataProvider, 60, 40);
+            strategy.warmup();
+            Trader trader = new Trader(ticker, 0.01d, 0.04, 0.9d, dealExecutor);
+            DecisionReason decisionReason = strategy.generateDecision(historicalData);
+            StatDealData statDealData = historicalData.getLast();
+            System.out.println(decisionReason);
+            //decisionReason = new DecisionReason(Decision.LONG, "Test");
+            System.out.println("Current balance: " + trader.getBalance());
+            trader.decisionTrigger(ticker, decisionReason, statDealData);
+            // The order and its stop loss are placed on the executor's threads
+            trader.awaitPending().join();
+        } finally {
+            dealExecutor.shutdown();
+        }
     }
 }
@@ -0,0 +1,47 @@
+package com.github.istin.tradingaizer;
+
+import com.github.istin.tradingaizer.backtest.PortfolioBacktest;
+import com.github.istin.tradingaizer.backtest.PortfolioResult;
+import com.github.istin.tradingaizer.chart.ChartDataProvider;
+import com.github.istin.tradingaizer.strategy.OptimizedStrategy;
+import com.github.istin.tradingaizer.trader.Deal;
+import com.github.istin.tradingaizer.trader.PortfolioDealExecutor;
+import com.github.istin.tradingaizer.utils.BinanceDataUtils;
+
+import java.util.List;
+import java.util.Map;
+
+public class PortfolioTestingApp {
+
+    static List<String> TICKERS = List.of("BTCUSDT", "ETHUSDT", "SOLUSDT", "XRPUSDT", "DOGEUSDT");
+
+    public static void main(String[] args) {
+        long endTime = 1738490404887L;
+        long weekAgo = endTime - (1L * 7 * 24 * 60 * 60 * 1000);
+
+        // At most a quarter of the equity in one ticker and all of it across the basket
+        PortfolioBacktest portfolio = new PortfolioBacktest(new PortfolioDealExecutor(1000d, 0.25, 1.0));
+        for (String ticker : TICKERS) {
+            BinanceDataUtils.Result result = BinanceDataUtils.readDataFromBinanceFuture(ticker, "5m", weekAgo, endTime);
+            if (result.historicalData().isEmpty()) {
+                System.err.println("No data loaded for " + ticker);
+                continue;
+            }
+            ChartDataProvider chartDataProvider = new ChartDataProvider(result.cacheId(), result.series());
+            portfolio.add(ticker, chartDataProvider, new OptimizedStrategy(result.cacheId(), chartDataProvider),
+                    0.01, 0.04, 1d);
+        }
+
+        PortfolioResult result = portfolio.run();
+        System.out.println("=== PORTFOLIO ===");
+        for (Map.Entry<String, List<Deal>> deals : result.closedDeals().entrySet()) {
+            double profitLoss = 0;
+            for (Deal deal : deals.getValue()) {
+                profitLoss += deal.getClosedAmount() - deal.getOpenAmountUSDT();
+            }
+            System.out.printf("%s: deals = %d, P/L = %.2f%n", deals.getKey(), deals.getValue().size(), profitLoss);
+        }
+        System.out.printf("finalBalance = %.2f, maxDrawdown = %.2f%%, steps = %d (%.0f/s)%n",
+                result.balance(), result.maxDrawdown() * 100, result.stepCount(), result.stepsPerSecond());
+    }
+}
@@ -1,17 +1,17 @@
 package com.github.istin.tradingaizer;
 
+import com.github.istin.tradingaizer.backtest.BacktestEngine;
+import com.github.istin.tradingaizer.backtest.MonteCarlo;
+import com.github.istin.tradingaizer.backtest.MonteCarloResult;
+import com.github.istin.tradingaizer.backtest.ParameterSpace;
+import com.github.istin.tradingaizer.backtest.ParameterSweep;
+import com.github.istin.tradingaizer.backtest.SweepResult;
 import com.github.istin.tradingaizer.chart.ChartDataProvider;
-import com.github.istin.tradingaizer.model.DecisionReason;
 import com.github.istin.tradingaizer.strategy.OptimizedStrategy;
-import com.github.istin.tradingaizer.strategy.Strategy;
-import com.github.istin.tradingaizer.trader.FakeDealExecutor;
-import com.github.istin.tradingaizer.trader.StatData;
 import com.github.istin.tradingaizer.trader.StatDealData;
 import com.github.istin.tradingaizer.trader.Trader;
 import com.github.istin.tradingaizer.utils.BinanceDataUtils;
-import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class StrategyTestingApp {
@@ -30,102 +30,55 @@ public class StrategyTestingApp {
             return;
         }
 
-        ChartDataProvider chartDataProvider = new ChartDataProvider(result.cacheId(), fullHistory);
-
-        // 2) Strategy to test
-        Strategy strategy = new OptimizedStrategy(result.cacheId(), chartDataProvider, 60, 40);
-
-        // 3) Generate parameter ranges from 0.01 to 0.30 inclusive
-        //    with step 0.01 => 0.01, 0.02, ..., 0.30
-
-        // Params => maximumLoss=0.01, minimumProfit=0.04
-        // Params => maximumLoss=0.01, minimumProfit=0.03
-
-        double step = 0.01;
-        double start = 0.1;
-        double end   = 0.5;
-        double[] maxLossRange = generateRange(0.01, 0.01, step);
-        double[] minProfitRange = generateRange(0.04, 0.04d, step);
-
-        // Tracking best result
-        double bestFinalBalance = Double.NEGATIVE_INFINITY;
-        double bestWinRate      = 0.0;
-        double bestMaxLoss      = 0.0;
-        double bestMinProfit    = 0.0;
-
-
-
-        // 4) Loop over all param combos
-        for (double minProfit : minProfitRange) {
-            for (double maxLoss : maxLossRange) {
-
-                // Create trader
-                Trader trader = createTrader(maxLoss, minProfit);
-
-                // Run simulation
-                runSimulation(trader, strategy, fullHistory, TICKER);
-
-                // Evaluate
-                trader.calculateWinRate();
-                double finalBalance = trader.getBalance();
-
-                // Check if best
-                if (finalBalance > bestFinalBalance) {
-                    bestFinalBalance = finalBalance;
-                    bestMaxLoss      = maxLoss;
-                    bestMinProfit    = minProfit;
-                }
-            }
+        ChartDataProvider chartDataProvider = new ChartDataProvider(result.cacheId(), result.series());
+
+        // 2) Strategy to test, one per combination of its constructor arguments
+        String cacheId = result.cacheId();
+        ParameterSpace space = new ParameterSpace()
+                // Params => maximumLoss=0.01, minimumProfit=0.04
+                // Params => maximumLoss=0.01, minimumProfit=0.03
+                .range(ParameterSweep.MAXIMUM_LOSS, 0.01, 0.01, 0.01)
+                .range(ParameterSweep.MINIMUM_PROFIT, 0.04, 0.04, 0.01)
+                .add("rsiOverbought", 60)
+                .add("rsiOversold", 40);
+        // Decisions are recorded once per rsiOverbought/rsiOversold pair and replayed for the risk parameters
+        ParameterSweep sweep = ParameterSweep.replaying(chartDataProvider, space, TICKER,
+                parameters -> new OptimizedStrategy(cacheId, chartDataProvider,
+                        parameters.getInt("rsiOverbought"), parameters.getInt("rsiOversold")),
+                1000d);
+
+        // 3) All combinations in parallel, the best first
+        List<SweepResult> ranking = sweep.run(10);
+        if (ranking.isEmpty()) {
+            return;
         }
+        SweepResult best = ranking.get(0);
 
-        // 5) Print final best result
+        // 4) Print final best result
         System.out.println("=== OPTIMIZATION COMPLETE ===");
-        System.out.println("Best finalBalance = " + bestFinalBalance);
-        System.out.println("Best winRate      = " + bestWinRate);
-        System.out.println("Params => maximumLoss=" + bestMaxLoss +
-                ", minimumProfit=" + bestMinProfit);
-
-        // (Optional) final run with best params, produce report
-//        Trader bestTrader = createTrader(bestMaxLoss, bestMinProfit);
-//        runSimulation(bestTrader, strategy, fullHistory, TICKER);
+        for (SweepResult sweepResult : ranking) {
+            System.out.printf("finalBalance = %.2f, winRate = %.2f%%, deals = %d, sharpe = %.4f, maxDrawdown = %.2f%%, params => %s%n",
+                    sweepResult.balance(), sweepResult.winRate(), sweepResult.dealCount(), sweepResult.sharpeRatio(),
+                    sweepResult.maxDrawdown() * 100, sweepResult.parameters());
+        }
+        System.out.println("Best finalBalance = " + best.balance());
+        System.out.println("Best winRate      = " + best.winRate());
+        System.out.println("Params => " + best.parameters());
+
+        // 5) Final run with best params: would other orders of the same deals have done as well?
+        Trader bestTrader = ParameterSweep.fakeTrader(TICKER, 1000d).apply(best.parameters());
+        new BacktestEngine(chartDataProvider).run(new OptimizedStrategy(cacheId, chartDataProvider,
+                best.parameters().getInt("rsiOverbought"), best.parameters().getInt("rsiOversold")), bestTrader, TICKER);
+        MonteCarloResult monteCarlo = MonteCarlo.fromDeals(bestTrader.getClosedDeals(), 1000d)
+                .run(100_000, MonteCarlo.Mode.RESAMPLE, 42, 500d);
+        System.out.printf("Monte Carlo finalBalance 5%% / 50%% / 95%% = %.2f / %.2f / %.2f%n",
+                monteCarlo.finalBalance(0.05), monteCarlo.finalBalance(0.5), monteCarlo.finalBalance(0.95));
+        System.out.printf("Monte Carlo maxDrawdown 50%% / 95%% = %.2f%% / %.2f%%, riskOfRuin = %.2f%%%n",
+                monteCarlo.maxDrawdown(0.5) * 100, monteCarlo.maxDrawdown(0.95) * 100, monteCarlo.riskOfRuin() * 100);
+
+        // (Optional) produce report
 //        List<Deal> closedDeals = bestTrader.getClosedDeals();
 //        ReportUtils.generateReport("trading_chart.html", closedDeals, fullHistory);
     }
 
-    /**
-     * Create a Trader with specific risk/reward parameters.
-     */
-    @NotNull
-    private static Trader createTrader(double maximumLoss, double minimumProfit) {
-        return new Trader(TICKER, maximumLoss, minimumProfit, 1d, new FakeDealExecutor(1000d));
-    }
-
-    /**
-     * Run the entire simulation with a given strategy/trader/historical data.
-     */
-    private static void runSimulation(Trader trader, Strategy strategy, List<? extends StatDealData> history, String ticker) {
-        List<StatData> timelineSimulation = new ArrayList<>();
-        for (StatDealData data : history) {
-            timelineSimulation.add(data);
-            DecisionReason decisionReason = strategy.generateDecision(timelineSimulation);
-            trader.decisionTrigger(ticker, decisionReason, data);
-        }
-    }
-
-    /**
-     * Generate a range of doubles from start to end (inclusive),
-     * stepping by step. e.g. generateRange(0.01, 0.3, 0.01)
-     */
-    private static double[] generateRange(double start, double end, double step) {
-        // Count how many steps
-        int size = (int) Math.round(((end - start) / step)) + 1;
-        double[] result = new double[size];
-        double current = start;
-        for (int i = 0; i < size; i++) {
-            result[i] = Math.round(current * 100.0) / 100.0; // optional rounding
-            current += step;
-        }
-        return result;
-    }
-
 }
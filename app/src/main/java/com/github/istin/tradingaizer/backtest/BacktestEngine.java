@@ -0,0 +1,94 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.chart.ChartDataProvider;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.DecisionReason;
+import com.github.istin.tradingaizer.strategy.Strategy;
+import com.github.istin.tradingaizer.trader.Deal;
+import com.github.istin.tradingaizer.trader.Direction;
+import com.github.istin.tradingaizer.trader.PerformanceMetrics;
+import com.github.istin.tradingaizer.trader.Trader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays the 1m bars of a {@link ChartDataProvider} through a strategy and a trader. A {@link BarCursor} moves
+ * over the columns and the strategy decides from a {@link StrategyContext}, so that a bar costs the indicator
+ * lookups of the strategy and nothing else.
+ */
+public class BacktestEngine {
+
+    private final ChartDataProvider chartDataProvider;
+    private final List<BacktestListener> listeners = new ArrayList<>();
+
+    public BacktestEngine(ChartDataProvider chartDataProvider) {
+        this.chartDataProvider = chartDataProvider;
+    }
+
+    public BacktestEngine addListener(BacktestListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    public BacktestResult run(Strategy strategy, Trader trader, String ticker) {
+        return run(strategy, trader, ticker, 0, chartDataProvider.getSeries().size());
+    }
+
+    /**
+     * Runs over the bars {@code [from, to)}; the indicators still see the bars before {@code from}. Stops early
+     * once the drawdown limit of the trader's {@link PerformanceMetrics} is reached.
+     */
+    public BacktestResult run(Strategy strategy, Trader trader, String ticker, int from, int to) {
+        strategy.warmup();
+        BarSeries series = chartDataProvider.getSeries();
+        BarCursor cursor = new BarCursor(series, from, to);
+        StrategyContext context = new StrategyContext(chartDataProvider, cursor);
+        List<Deal> closedDeals = trader.getClosedDeals();
+
+        PerformanceMetrics metrics = trader.getMetrics();
+        long start = System.nanoTime();
+        while (cursor.next()) {
+            DecisionReason decision = strategy.generateDecision(context);
+            if (listeners.isEmpty()) {
+                trader.decisionTrigger(ticker, decision, cursor.getCurrentBar());
+            } else {
+                Deal openDeal = trader.getCurrentDeal();
+                int closedCount = closedDeals.size();
+                trader.decisionTrigger(ticker, decision, cursor.getCurrentBar());
+                fireEvents(context, decision, trader, openDeal, closedDeals, closedCount);
+            }
+            if (metrics.isDrawdownLimitReached()) {
+                break;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new BacktestResult(cursor.getIndex() + 1 - from, elapsed, trader.getBalance(), closedDeals, metrics);
+    }
+
+    private void fireEvents(StrategyContext context, DecisionReason decision, Trader trader, Deal openDeal,
+                            List<Deal> closedDeals, int closedCount) {
+        for (int i = closedCount; i < closedDeals.size(); i++) {
+            Deal deal = closedDeals.get(i);
+            // The trader checks the stop loss before any other reason to close
+            boolean stopped = deal.getDirection() == Direction.LONG
+                    ? deal.getCloseData().getPrice() <= deal.getStopLoss()
+                    : deal.getCloseData().getPrice() >= deal.getStopLoss();
+            for (BacktestListener listener : listeners) {
+                if (stopped) {
+                    listener.onStop(context, deal);
+                }
+                listener.onClose(context, deal);
+            }
+        }
+        Deal currentDeal = trader.getCurrentDeal();
+        if (currentDeal != null && currentDeal != openDeal) {
+            for (BacktestListener listener : listeners) {
+                listener.onFill(context, currentDeal);
+            }
+        }
+        for (BacktestListener listener : listeners) {
+            listener.onBarClose(context, decision);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.model.DecisionReason;
+import com.github.istin.tradingaizer.trader.Deal;
+
+/**
+ * Hooks of {@link BacktestEngine}, called on the thread that runs the backtest. Every method does nothing by default.
+ */
+public interface BacktestListener {
+
+    /**
+     * After the trader handled the decision of the bar.
+     */
+    default void onBarClose(StrategyContext context, DecisionReason decision) {
+    }
+
+    /**
+     * A deal was opened on the current bar.
+     */
+    default void onFill(StrategyContext context, Deal deal) {
+    }
+
+    /**
+     * A deal was closed on the current bar by its stop loss. {@link #onClose} follows.
+     */
+    default void onStop(StrategyContext context, Deal deal) {
+    }
+
+    /**
+     * A deal was closed on the current bar, whatever the reason.
+     */
+    default void onClose(StrategyContext context, Deal deal) {
+    }
+}
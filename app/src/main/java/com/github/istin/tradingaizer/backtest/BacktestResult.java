@@ -0,0 +1,18 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.trader.Deal;
+import com.github.istin.tradingaizer.trader.PerformanceMetrics;
+
+import java.util.List;
+
+/**
+ * Outcome of {@link BacktestEngine#run}: the trader state at the end and how fast the bars went through. The bar
+ * count is short of the range when the run stopped at the drawdown limit.
+ */
+public record BacktestResult(int barCount, long elapsedNanos, double balance, List<Deal> closedDeals,
+                             PerformanceMetrics metrics) {
+
+    public double barsPerSecond() {
+        return elapsedNanos == 0 ? 0 : barCount * 1e9 / elapsedNanos;
+    }
+}
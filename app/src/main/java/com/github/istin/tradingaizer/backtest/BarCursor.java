@@ -0,0 +1,135 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.trader.DealData;
+import com.github.istin.tradingaizer.trader.StatDealData;
+
+/**
+ * Position of a backtest in the 1m bars: reads the columns of the series in place, nothing is copied as it moves.
+ */
+public final class BarCursor {
+
+    private final BarSeries series;
+    private final int to;
+    private final CurrentBar currentBar = new CurrentBar();
+    private int index;
+
+    /**
+     * Walks over the bars {@code [from, to)} of the series, starting before {@code from}.
+     */
+    public BarCursor(BarSeries series, int from, int to) {
+        if (from < 0 || to > series.size() || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") of " + series.size() + " bars");
+        }
+        this.series = series;
+        this.to = to;
+        this.index = from - 1;
+    }
+
+    /**
+     * Moves to the next bar.
+     *
+     * @return {@code false} when the cursor already was on the last bar of its range
+     */
+    public boolean next() {
+        if (index + 1 >= to) {
+            return false;
+        }
+        index++;
+        return true;
+    }
+
+    public BarSeries getSeries() {
+        return series;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the number of bars up to and including the current one
+     */
+    public int getBarCount() {
+        return index + 1;
+    }
+
+    public BarSeries.Bar getBar() {
+        return series.bar(index);
+    }
+
+    /**
+     * The bar the cursor is on, as one instance that follows the cursor, so that handing the bar to a trader
+     * allocates nothing. It changes as the cursor moves: anything kept past the current bar must be its
+     * {@link DealData#snapshot()}, the bar the cursor is on at that time.
+     */
+    public StatDealData getCurrentBar() {
+        return currentBar;
+    }
+
+    public long getOpenTime() {
+        return series.getOpenTime(index);
+    }
+
+    public double getOpen() {
+        return series.getOpen(index);
+    }
+
+    public double getHigh() {
+        return series.getHigh(index);
+    }
+
+    public double getLow() {
+        return series.getLow(index);
+    }
+
+    public double getClose() {
+        return series.getClose(index);
+    }
+
+    public double getVolume() {
+        return series.getVolume(index);
+    }
+
+    public long getCloseTime() {
+        return series.getCloseTime(index);
+    }
+
+    private final class CurrentBar implements StatDealData {
+
+        @Override
+        public long getWhen() {
+            return getCloseTime();
+        }
+
+        @Override
+        public double getPrice() {
+            return getClose();
+        }
+
+        @Override
+        public double getHighPrice() {
+            return getHigh();
+        }
+
+        @Override
+        public double getLowPrice() {
+            return getLow();
+        }
+
+        @Override
+        public double getClosePrice() {
+            return getClose();
+        }
+
+        @Override
+        public double getVolume() {
+            return BarCursor.this.getVolume();
+        }
+
+        @Override
+        public DealData snapshot() {
+            return getBar();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.chart.ChartDataProvider;
+import com.github.istin.tradingaizer.model.Decision;
+import com.github.istin.tradingaizer.model.DecisionReason;
+import com.github.istin.tradingaizer.strategy.Strategy;
+
+import java.util.Arrays;
+
+/**
+ * The decisions of a strategy on every bar of a backtest, recorded once: a strategy decides from the bars alone,
+ * so every trader configuration can be replayed against the same tape by {@link TapeReplayer} without asking it
+ * again. Reasons are not kept; stop losses and take profits only when the strategy sets some.
+ */
+public final class DecisionTape {
+
+    private static final Decision[] DECISIONS = Decision.values();
+
+    private final int from;
+    private final byte[] decisions;
+    // NaN where the decision has none, null while no decision has any
+    private double[] stopLosses;
+    private double[] takeProfits;
+
+    private DecisionTape(int from, int size) {
+        this.from = from;
+        this.decisions = new byte[size];
+    }
+
+    public static DecisionTape record(Strategy strategy, ChartDataProvider chartDataProvider) {
+        return record(strategy, chartDataProvider, 0, chartDataProvider.getSeries().size());
+    }
+
+    /**
+     * Runs the strategy over the bars {@code [from, to)} of the provider.
+     */
+    public static DecisionTape record(Strategy strategy, ChartDataProvider chartDataProvider, int from, int to) {
+        strategy.warmup();
+        BarCursor cursor = new BarCursor(chartDataProvider.getSeries(), from, to);
+        StrategyContext context = new StrategyContext(chartDataProvider, cursor);
+        DecisionTape tape = new DecisionTape(from, to - from);
+        for (int i = 0; cursor.next(); i++) {
+            DecisionReason decision = strategy.generateDecision(context);
+            tape.decisions[i] = (byte) decision.getDecision().ordinal();
+            if (decision.getDynamicStopLoss() != null) {
+                tape.stopLosses = tape.set(tape.stopLosses, i, decision.getDynamicStopLoss());
+            }
+            if (decision.getTakeProfit() != null) {
+                tape.takeProfits = tape.set(tape.takeProfits, i, decision.getTakeProfit());
+            }
+        }
+        return tape;
+    }
+
+    private double[] set(double[] column, int index, double value) {
+        if (column == null) {
+            column = new double[decisions.length];
+            Arrays.fill(column, Double.NaN);
+        }
+        column[index] = value;
+        return column;
+    }
+
+    /**
+     * @return the index of the first recorded bar in the series of the provider
+     */
+    public int getFrom() {
+        return from;
+    }
+
+    public int size() {
+        return decisions.length;
+    }
+
+    public Decision getDecision(int index) {
+        return DECISIONS[decisions[index]];
+    }
+
+    /**
+     * @return the dynamic stop loss of the decision, {@link Double#NaN} when it has none
+     */
+    public double getStopLoss(int index) {
+        return stopLosses == null ? Double.NaN : stopLosses[index];
+    }
+
+    /**
+     * @return the take profit of the decision, {@link Double#NaN} when it has none
+     */
+    public double getTakeProfit(int index) {
+        return takeProfits == null ? Double.NaN : takeProfits[index];
+    }
+
+    byte[] decisions() {
+        return decisions;
+    }
+
+    double[] stopLosses() {
+        return stopLosses;
+    }
+
+    double[] takeProfits() {
+        return takeProfits;
+    }
+}
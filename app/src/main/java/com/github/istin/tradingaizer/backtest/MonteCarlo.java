@@ -0,0 +1,128 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.trader.Deal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Replays the closed deals of a backtest in other orders to see how much of its result is luck. Every deal is kept
+ * as its return on the balance it was opened with, so that a path compounds the returns the way the trader sized
+ * the deals. Paths are simulated in parallel in chunks, each with its own stream split from one seed, so the same
+ * seed gives the same result on any pool.
+ */
+public final class MonteCarlo {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    public enum Mode {
+        /** Every path takes all the deals once, in a random order: the final balance stays, the drawdown changes. */
+        RESHUFFLE,
+        /** Every path draws as many deals as the ledger has, with replacement. */
+        RESAMPLE
+    }
+
+    private final double[] returns;
+    private final double balance;
+
+    /**
+     * @param returns profit or loss of every deal divided by the balance before it
+     */
+    public MonteCarlo(double[] returns, double balance) {
+        this.returns = returns.clone();
+        this.balance = balance;
+    }
+
+    /**
+     * The deals in the order they were closed, starting from {@code balance}.
+     */
+    public static MonteCarlo fromDeals(List<Deal> deals, double balance) {
+        double[] returns = new double[deals.size()];
+        double current = balance;
+        for (int i = 0; i < returns.length; i++) {
+            Deal deal = deals.get(i);
+            double profitLoss = deal.getClosedAmount() - deal.getOpenAmountUSDT();
+            returns[i] = profitLoss / current;
+            current += profitLoss;
+        }
+        return new MonteCarlo(returns, balance);
+    }
+
+    public MonteCarloResult run(int pathCount, Mode mode, long seed, double ruinBalance) {
+        return run(pathCount, mode, seed, ruinBalance, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param ruinBalance a path is ruined once its balance falls to this or below
+     */
+    public MonteCarloResult run(int pathCount, Mode mode, long seed, double ruinBalance, ForkJoinPool pool) {
+        double[] finalBalances = new double[pathCount];
+        double[] maxDrawdowns = new double[pathCount];
+        boolean[] ruined = new boolean[pathCount];
+
+        SplittableRandom random = new SplittableRandom(seed);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int from = 0; from < pathCount; from += CHUNK_SIZE) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(pathCount, from + CHUNK_SIZE);
+            // Split in order on this thread: the chunk, not the worker, decides the stream
+            SplittableRandom chunkRandom = random.split();
+            tasks.add(pool.submit(() -> simulate(chunkFrom, chunkTo, mode, chunkRandom, ruinBalance,
+                    finalBalances, maxDrawdowns, ruined)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        int ruinedCount = 0;
+        for (boolean pathRuined : ruined) {
+            if (pathRuined) {
+                ruinedCount++;
+            }
+        }
+        Arrays.sort(finalBalances);
+        Arrays.sort(maxDrawdowns);
+        return new MonteCarloResult(finalBalances, maxDrawdowns, ruinedCount);
+    }
+
+    private void simulate(int from, int to, Mode mode, SplittableRandom random, double ruinBalance,
+                          double[] finalBalances, double[] maxDrawdowns, boolean[] ruined) {
+        int count = returns.length;
+        double[] path = returns.clone();
+        for (int p = from; p < to; p++) {
+            if (mode == Mode.RESHUFFLE) {
+                for (int i = count - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    double swap = path[i];
+                    path[i] = path[j];
+                    path[j] = swap;
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    path[i] = returns[random.nextInt(count)];
+                }
+            }
+
+            double current = balance;
+            double high = balance;
+            double maxDrawdown = 0;
+            boolean pathRuined = current <= ruinBalance;
+            for (int i = 0; i < count && !pathRuined; i++) {
+                current *= 1 + path[i];
+                if (current > high) {
+                    high = current;
+                } else {
+                    maxDrawdown = Math.max(maxDrawdown, (high - current) / high);
+                }
+                pathRuined = current <= ruinBalance;
+            }
+            finalBalances[p] = current;
+            maxDrawdowns[p] = maxDrawdown;
+            ruined[p] = pathRuined;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.istin.tradingaizer.backtest;
+
+/**
+ * The paths of a {@link MonteCarlo} run: final balances and maximum drawdowns, each sorted ascending, so that a
+ * quantile is a lookup. A ruined path stops at the balance it was ruined with.
+ */
+public record MonteCarloResult(double[] finalBalances, double[] maxDrawdowns, int ruinedCount) {
+
+    public int pathCount() {
+        return finalBalances.length;
+    }
+
+    /**
+     * @param quantile from 0 for the worst path to 1 for the best
+     */
+    public double finalBalance(double quantile) {
+        return quantile(finalBalances, quantile);
+    }
+
+    /**
+     * @param quantile from 0 for the smallest drawdown to 1 for the largest
+     */
+    public double maxDrawdown(double quantile) {
+        return quantile(maxDrawdowns, quantile);
+    }
+
+    public double meanFinalBalance() {
+        double sum = 0;
+        for (double finalBalance : finalBalances) {
+            sum += finalBalance;
+        }
+        return finalBalances.length == 0 ? Double.NaN : sum / finalBalances.length;
+    }
+
+    /**
+     * The share of the paths that were ruined.
+     */
+    public double riskOfRuin() {
+        return finalBalances.length == 0 ? 0 : (double) ruinedCount / finalBalances.length;
+    }
+
+    private static double quantile(double[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[(int) Math.round(quantile * (sorted.length - 1))];
+    }
+}
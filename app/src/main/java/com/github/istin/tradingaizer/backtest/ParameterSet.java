@@ -0,0 +1,92 @@
+package com.github.istin.tradingaizer.backtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One combination of a {@link ParameterSpace}.
+ */
+public final class ParameterSet {
+
+    private final String[] names;
+    private final double[] values;
+
+    ParameterSet(String[] names, double[] values) {
+        this.names = names;
+        this.values = values;
+    }
+
+    public boolean contains(String name) {
+        return indexOf(name) >= 0;
+    }
+
+    public double get(String name) {
+        int index = indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown parameter " + name + ", expected one of " + Arrays.toString(names));
+        }
+        return values[index];
+    }
+
+    public double get(String name, double defaultValue) {
+        int index = indexOf(name);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    public int getInt(String name) {
+        return (int) Math.round(get(name));
+    }
+
+    /**
+     * This combination without the given parameters.
+     */
+    ParameterSet without(String... excluded) {
+        List<String> keptNames = new ArrayList<>();
+        List<Double> keptValues = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            if (!Arrays.asList(excluded).contains(names[i])) {
+                keptNames.add(names[i]);
+                keptValues.add(values[i]);
+            }
+        }
+        return new ParameterSet(keptNames.toArray(new String[0]), keptValues.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ParameterSet other)) {
+            return false;
+        }
+        return Arrays.equals(names, other.names) && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(names) + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(names[i]).append('=').append(values[i]);
+        }
+        return builder.toString();
+    }
+}
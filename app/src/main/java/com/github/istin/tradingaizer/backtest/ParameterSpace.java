@@ -0,0 +1,77 @@
+package com.github.istin.tradingaizer.backtest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The grid of a {@link ParameterSweep}: named parameters, each with the values to try. Combinations are numbered
+ * so that workers can take them by index without building the grid.
+ */
+public class ParameterSpace {
+
+    private final Map<String, double[]> parameters = new LinkedHashMap<>();
+
+    public ParameterSpace add(String name, double... values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("No values for " + name);
+        }
+        if (parameters.putIfAbsent(name, values.clone()) != null) {
+            throw new IllegalArgumentException("Duplicate parameter " + name);
+        }
+        return this;
+    }
+
+    /**
+     * Adds {@code start, start + step, ...} up to {@code end} inclusive, in decimal arithmetic so that
+     * {@code 0.01} steps do not drift.
+     */
+    public ParameterSpace range(String name, double start, double end, double step) {
+        if (step <= 0 || end < start) {
+            throw new IllegalArgumentException("Invalid range for " + name + ": " + start + ".." + end + " by " + step);
+        }
+        BigDecimal first = BigDecimal.valueOf(start);
+        BigDecimal increment = BigDecimal.valueOf(step);
+        int count = BigDecimal.valueOf(end).subtract(first).divideToIntegralValue(increment).intValueExact() + 1;
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = first.add(increment.multiply(BigDecimal.valueOf(i))).doubleValue();
+        }
+        return add(name, values);
+    }
+
+    public List<String> getNames() {
+        return new ArrayList<>(parameters.keySet());
+    }
+
+    /**
+     * @return the number of combinations
+     */
+    public int size() {
+        long size = 1;
+        for (double[] values : parameters.values()) {
+            size = Math.multiplyExact(size, values.length);
+        }
+        return Math.toIntExact(size);
+    }
+
+    /**
+     * The combination {@code index}, the last parameter varying fastest.
+     */
+    public ParameterSet get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Combination " + index + " of " + size());
+        }
+        String[] names = parameters.keySet().toArray(new String[0]);
+        double[] combination = new double[names.length];
+        int remaining = index;
+        for (int i = names.length - 1; i >= 0; i--) {
+            double[] values = parameters.get(names[i]);
+            combination[i] = values[remaining % values.length];
+            remaining /= values.length;
+        }
+        return new ParameterSet(names, combination);
+    }
+}
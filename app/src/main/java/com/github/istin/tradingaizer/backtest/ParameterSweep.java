@@ -0,0 +1,213 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.chart.ChartDataProvider;
+import com.github.istin.tradingaizer.chart.IndicatorRequest;
+import com.github.istin.tradingaizer.strategy.Strategy;
+import com.github.istin.tradingaizer.trader.Deal;
+import com.github.istin.tradingaizer.trader.FakeDealExecutor;
+import com.github.istin.tradingaizer.trader.PerformanceMetrics;
+import com.github.istin.tradingaizer.trader.TradeEventListener;
+import com.github.istin.tradingaizer.trader.Trader;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Backtests every combination of a {@link ParameterSpace} on a fixed number of threads. Each combination gets its
+ * own strategy and trader, while the indicator series are calculated once up front and then only read by all the
+ * workers from the shared {@link ChartDataProvider}.
+ */
+public class ParameterSweep {
+
+    public static final String MAXIMUM_LOSS = "maximumLoss";
+    public static final String MINIMUM_PROFIT = "minimumProfit";
+    public static final String RISK_PERCENTAGE = "riskPercentage";
+    /** Optional: a combination stops at this drawdown, as a fraction of the peak equity. */
+    public static final String DRAWDOWN_LIMIT = "drawdownLimit";
+
+    private final ChartDataProvider chartDataProvider;
+    private final ParameterSpace space;
+    private final Function<ParameterSet, Strategy> strategyFactory;
+    private final Function<ParameterSet, Trader> traderFactory;
+    private final String ticker;
+    // Set when the traders are replayed from decision tapes instead of created by traderFactory
+    private final double replayBalance;
+
+    /**
+     * @param strategyFactory creates the strategy of a combination, for example from its {@code rsiOverbought}
+     * @param traderFactory   creates the trader of a combination, see {@link #fakeTrader(String, double)}
+     */
+    public ParameterSweep(ChartDataProvider chartDataProvider, ParameterSpace space, String ticker,
+                          Function<ParameterSet, Strategy> strategyFactory, Function<ParameterSet, Trader> traderFactory) {
+        this.chartDataProvider = chartDataProvider;
+        this.space = space;
+        this.ticker = ticker;
+        this.strategyFactory = strategyFactory;
+        this.traderFactory = traderFactory;
+        this.replayBalance = Double.NaN;
+    }
+
+    private ParameterSweep(ChartDataProvider chartDataProvider, ParameterSpace space, String ticker,
+                           Function<ParameterSet, Strategy> strategyFactory, double replayBalance) {
+        this.chartDataProvider = chartDataProvider;
+        this.space = space;
+        this.ticker = ticker;
+        this.strategyFactory = strategyFactory;
+        this.traderFactory = null;
+        this.replayBalance = replayBalance;
+    }
+
+    /**
+     * A sweep with the traders of {@link #fakeTrader(String, double)}, which records a {@link DecisionTape} once
+     * per combination of the strategy parameters and replays every {@link #MAXIMUM_LOSS}, {@link #MINIMUM_PROFIT},
+     * {@link #RISK_PERCENTAGE} and {@link #DRAWDOWN_LIMIT} against it with {@link TapeReplayer}. Same results, but the strategy is no
+     * longer asked for a decision on every bar of every combination.
+     */
+    public static ParameterSweep replaying(ChartDataProvider chartDataProvider, ParameterSpace space, String ticker,
+                                           Function<ParameterSet, Strategy> strategyFactory, double balance) {
+        return new ParameterSweep(chartDataProvider, space, ticker, strategyFactory, balance);
+    }
+
+    /**
+     * Quiet traders on a {@link FakeDealExecutor} from the {@link #MAXIMUM_LOSS}, {@link #MINIMUM_PROFIT} and
+     * optional {@link #RISK_PERCENTAGE} (1 by default) and {@link #DRAWDOWN_LIMIT} (none by default) parameters.
+     */
+    public static Function<ParameterSet, Trader> fakeTrader(String ticker, double balance) {
+        return parameters -> {
+            Trader trader = new Trader(ticker, parameters.get(MAXIMUM_LOSS), parameters.get(MINIMUM_PROFIT),
+                    parameters.get(RISK_PERCENTAGE, 1d), new FakeDealExecutor(balance));
+            trader.setEventListener(TradeEventListener.NONE);
+            trader.getMetrics().setDrawdownLimit(parameters.get(DRAWDOWN_LIMIT, Double.NaN));
+            return trader;
+        };
+    }
+
+    public List<SweepResult> run(int topCount) {
+        return run(Runtime.getRuntime().availableProcessors(), topCount, SweepResult.BY_BALANCE, result -> {
+        });
+    }
+
+    /**
+     * @param threads  the number of combinations backtested at the same time
+     * @param topCount how many results to keep
+     * @param ranking  best results first
+     * @param listener called with every result as soon as it is known, from the worker threads
+     * @return the best {@code topCount} results, best first
+     */
+    public List<SweepResult> run(int threads, int topCount, Comparator<SweepResult> ranking, Consumer<SweepResult> listener) {
+        int size = space.size();
+        warmup(size);
+
+        // The worst kept result on top, to be replaced by a better one
+        PriorityQueue<SweepResult> top = new PriorityQueue<>(topCount + 1, ranking.reversed());
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Map<ParameterSet, DecisionTape> tapes = traderFactory == null ? recordTapes(executor, size) : null;
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    BacktestEngine engine = new BacktestEngine(chartDataProvider);
+                    for (int index = next.getAndIncrement(); index < size; index = next.getAndIncrement()) {
+                        ParameterSet parameters = space.get(index);
+                        SweepResult result = tapes == null
+                                ? runCombination(engine, parameters)
+                                : replayCombination(tapes.get(strategyParameters(parameters)), parameters);
+                        listener.accept(result);
+                        synchronized (top) {
+                            top.add(result);
+                            if (top.size() > topCount) {
+                                top.poll();
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sweeping " + size + " combinations", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to sweep " + size + " combinations", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<SweepResult> ranked = new ArrayList<>(top);
+        ranked.sort(ranking);
+        return ranked;
+    }
+
+    /**
+     * Calculates the indicators of every strategy of the grid in parallel: they differ only when a parameter
+     * changes an indicator, and then the workers would otherwise wait for each other's calculations.
+     */
+    private void warmup(int size) {
+        List<IndicatorRequest> requests = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            requests.addAll(strategyFactory.apply(space.get(index)).requiredIndicators());
+        }
+        chartDataProvider.warmup(requests);
+    }
+
+    private Map<ParameterSet, DecisionTape> recordTapes(ExecutorService executor, int size)
+            throws InterruptedException, ExecutionException {
+        Map<ParameterSet, Future<DecisionTape>> recordings = new LinkedHashMap<>();
+        for (int index = 0; index < size; index++) {
+            ParameterSet parameters = space.get(index);
+            recordings.computeIfAbsent(strategyParameters(parameters), key -> executor.submit(
+                    () -> DecisionTape.record(strategyFactory.apply(parameters), chartDataProvider)));
+        }
+        Map<ParameterSet, DecisionTape> tapes = new HashMap<>();
+        for (Map.Entry<ParameterSet, Future<DecisionTape>> recording : recordings.entrySet()) {
+            tapes.put(recording.getKey(), recording.getValue().get());
+        }
+        return tapes;
+    }
+
+    private static ParameterSet strategyParameters(ParameterSet parameters) {
+        return parameters.without(MAXIMUM_LOSS, MINIMUM_PROFIT, RISK_PERCENTAGE, DRAWDOWN_LIMIT);
+    }
+
+    private SweepResult replayCombination(DecisionTape tape, ParameterSet parameters) {
+        PerformanceMetrics metrics = new PerformanceMetrics(replayBalance);
+        metrics.setDrawdownLimit(parameters.get(DRAWDOWN_LIMIT, Double.NaN));
+        TapeReplayer.Result result = TapeReplayer.replay(tape, chartDataProvider.getSeries(), parameters.get(MAXIMUM_LOSS),
+                parameters.get(MINIMUM_PROFIT), parameters.get(RISK_PERCENTAGE, 1d), metrics);
+        return new SweepResult(parameters, result.balance(), result.dealCount(), result.winRate(),
+                metrics.getSharpeRatio(), metrics.getMaxDrawdown());
+    }
+
+    private SweepResult runCombination(BacktestEngine engine, ParameterSet parameters) {
+        Trader trader = traderFactory.apply(parameters);
+        BacktestResult result = engine.run(strategyFactory.apply(parameters), trader, ticker);
+        List<Deal> deals = result.closedDeals();
+        int wins = 0;
+        for (Deal deal : deals) {
+            if (deal.getClosedAmount() > deal.getOpenAmountUSDT()) {
+                wins++;
+            }
+        }
+        double winRate = deals.isEmpty() ? 0 : wins * 100.0 / deals.size();
+        PerformanceMetrics metrics = result.metrics();
+        return new SweepResult(parameters, result.balance(), deals.size(), winRate, metrics.getSharpeRatio(),
+                metrics.getMaxDrawdown());
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.chart.ChartDataProvider;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.DecisionReason;
+import com.github.istin.tradingaizer.strategy.Strategy;
+import com.github.istin.tradingaizer.trader.Deal;
+import com.github.istin.tradingaizer.trader.PortfolioDealExecutor;
+import com.github.istin.tradingaizer.trader.TradeEventListener;
+import com.github.istin.tradingaizer.trader.Trader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Backtests several tickers on one {@link PortfolioDealExecutor}. The 1m bars of all tickers are merged by open
+ * time and replayed in lockstep: on every step the tickers with a bar at that time decide in parallel, then their
+ * traders act one after the other in the order the tickers were added, so that the shared capital is handed out
+ * the same way on every run.
+ */
+public class PortfolioBacktest {
+
+    private final PortfolioDealExecutor dealExecutor;
+    private final List<Leg> legs = new ArrayList<>();
+
+    private record Leg(String ticker, ChartDataProvider chartDataProvider, Strategy strategy, Trader trader) {
+    }
+
+    public PortfolioBacktest(PortfolioDealExecutor dealExecutor) {
+        this.dealExecutor = dealExecutor;
+    }
+
+    /**
+     * Adds a ticker with a quiet trader on the shared executor. The trader asks for {@code riskPercentage} of the
+     * balance it saw at its last close, the executor then cuts that down to the limits of the whole portfolio.
+     */
+    public PortfolioBacktest add(String ticker, ChartDataProvider chartDataProvider, Strategy strategy,
+                                 double maximumLoss, double minimumProfit, double riskPercentage) {
+        for (Leg leg : legs) {
+            if (leg.ticker().equals(ticker)) {
+                throw new IllegalArgumentException("Ticker " + ticker + " is already in the portfolio");
+            }
+        }
+        Trader trader = new Trader(ticker, maximumLoss, minimumProfit, riskPercentage, dealExecutor);
+        trader.setEventListener(TradeEventListener.NONE);
+        legs.add(new Leg(ticker, chartDataProvider, strategy, trader));
+        return this;
+    }
+
+    public PortfolioResult run() {
+        return run(ForkJoinPool.commonPool());
+    }
+
+    public PortfolioResult run(ForkJoinPool pool) {
+        int legCount = legs.size();
+        BarCursor[] cursors = new BarCursor[legCount];
+        StrategyContext[] contexts = new StrategyContext[legCount];
+        for (int i = 0; i < legCount; i++) {
+            Leg leg = legs.get(i);
+            leg.strategy().warmup();
+            BarSeries series = leg.chartDataProvider().getSeries();
+            cursors[i] = new BarCursor(series, 0, series.size());
+            contexts[i] = new StrategyContext(leg.chartDataProvider(), cursors[i]);
+        }
+
+        int[] due = new int[legCount];
+        DecisionReason[] decisions = new DecisionReason[legCount];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(legCount);
+        long[] times = new long[1024];
+        double[] equity = new double[1024];
+        int stepCount = 0;
+
+        long start = System.nanoTime();
+        while (true) {
+            long time = Long.MAX_VALUE;
+            for (BarCursor cursor : cursors) {
+                time = Math.min(time, nextOpenTime(cursor));
+            }
+            if (time == Long.MAX_VALUE) {
+                break;
+            }
+            int dueCount = 0;
+            for (int i = 0; i < legCount; i++) {
+                if (nextOpenTime(cursors[i]) == time) {
+                    cursors[i].next();
+                    dealExecutor.mark(legs.get(i).ticker(), cursors[i].getClose());
+                    due[dueCount++] = i;
+                }
+            }
+
+            if (dueCount == 1) {
+                decisions[due[0]] = legs.get(due[0]).strategy().generateDecision(contexts[due[0]]);
+            } else {
+                for (int j = 0; j < dueCount; j++) {
+                    int i = due[j];
+                    tasks.add(pool.submit(() -> {
+                        decisions[i] = legs.get(i).strategy().generateDecision(contexts[i]);
+                    }));
+                }
+                for (ForkJoinTask<?> task : tasks) {
+                    task.join();
+                }
+                tasks.clear();
+            }
+            for (int j = 0; j < dueCount; j++) {
+                int i = due[j];
+                Leg leg = legs.get(i);
+                leg.trader().decisionTrigger(leg.ticker(), decisions[i], cursors[i].getCurrentBar());
+            }
+
+            if (stepCount == times.length) {
+                times = Arrays.copyOf(times, stepCount * 2);
+                equity = Arrays.copyOf(equity, stepCount * 2);
+            }
+            times[stepCount] = time;
+            equity[stepCount] = dealExecutor.getEquity();
+            stepCount++;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, List<Deal>> closedDeals = new LinkedHashMap<>();
+        for (Leg leg : legs) {
+            closedDeals.put(leg.ticker(), leg.trader().getClosedDeals());
+        }
+        return new PortfolioResult(stepCount, elapsed, dealExecutor.getBalance(), Arrays.copyOf(times, stepCount),
+                Arrays.copyOf(equity, stepCount), closedDeals);
+    }
+
+    private static long nextOpenTime(BarCursor cursor) {
+        int next = cursor.getIndex() + 1;
+        BarSeries series = cursor.getSeries();
+        return next < series.size() ? series.getOpenTime(next) : Long.MAX_VALUE;
+    }
+}
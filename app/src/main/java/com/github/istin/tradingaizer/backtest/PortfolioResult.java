@@ -0,0 +1,31 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.trader.Deal;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of {@link PortfolioBacktest#run}: the shared balance at the end, the closed deals of every ticker and the
+ * equity after each timestamp step, with the open positions marked to the close of their last bar.
+ */
+public record PortfolioResult(int stepCount, long elapsedNanos, double balance, long[] times, double[] equity,
+                              Map<String, List<Deal>> closedDeals) {
+
+    public double stepsPerSecond() {
+        return elapsedNanos == 0 ? 0 : stepCount * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * The largest fall of the equity from a previous high, as a fraction of that high.
+     */
+    public double maxDrawdown() {
+        double high = Double.NEGATIVE_INFINITY;
+        double drawdown = 0;
+        for (double value : equity) {
+            high = Math.max(high, value);
+            drawdown = Math.max(drawdown, (high - value) / high);
+        }
+        return drawdown;
+    }
+}
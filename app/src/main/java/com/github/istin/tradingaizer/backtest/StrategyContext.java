@@ -0,0 +1,89 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.chart.ChartDataProvider;
+import com.github.istin.tradingaizer.indicator.Indicator;
+import com.github.istin.tradingaizer.indicator.Timeframe;
+import com.github.istin.tradingaizer.trader.StatData;
+import com.github.istin.tradingaizer.trader.StatDealData;
+
+import java.util.List;
+
+/**
+ * What a strategy sees on the current bar of a backtest. Indicator values are looked up by bar index in the
+ * series cached by the {@link ChartDataProvider}: for the 1m timeframe on the current bar, for the others on the
+ * last bar of {@link #getData(Timeframe)}, as {@link com.github.istin.tradingaizer.strategy.Strategy} does for lists.
+ * <p>
+ * One context follows the cursor through the whole run, so it must not be kept across decisions.
+ */
+public final class StrategyContext {
+
+    private final ChartDataProvider chartDataProvider;
+    private final BarCursor cursor;
+
+    public StrategyContext(ChartDataProvider chartDataProvider, BarCursor cursor) {
+        this.chartDataProvider = chartDataProvider;
+        this.cursor = cursor;
+    }
+
+    public BarCursor getCursor() {
+        return cursor;
+    }
+
+    public int getIndex() {
+        return cursor.getIndex();
+    }
+
+    public double getClose() {
+        return cursor.getClose();
+    }
+
+    /**
+     * The 1m bars up to and including the current one: a view on the series, created in O(1).
+     */
+    public List<StatDealData> getHistory() {
+        return cursor.getSeries().view(0, cursor.getBarCount()).asList();
+    }
+
+    /**
+     * @see ChartDataProvider#getData(List, Timeframe)
+     */
+    public List<? extends StatData> getData(Timeframe timeframe) {
+        return chartDataProvider.getData(getHistory(), timeframe);
+    }
+
+    /**
+     * @see ChartDataProvider#getBarCount(int, Timeframe)
+     */
+    public int getBarCount(Timeframe timeframe) {
+        return chartDataProvider.getBarCount(cursor.getBarCount(), timeframe);
+    }
+
+    /**
+     * The value of a single-output indicator, {@link Double#NaN} while it is not ready.
+     */
+    public double getValue(Indicator<?> indicator, Timeframe timeframe) {
+        return getValue(indicator, timeframe, 0);
+    }
+
+    /**
+     * One output of the indicator, {@link Double#NaN} while it is not ready. Allocates nothing once it is cached.
+     */
+    public double getValue(Indicator<?> indicator, Timeframe timeframe, int output) {
+        return chartDataProvider.calculateValue(indicator, getIndicatorBarCount(timeframe), timeframe, output);
+    }
+
+    /**
+     * The boxed result of the indicator, {@code null} while it is not ready.
+     */
+    public <Result> Result getResult(Indicator<Result> indicator, Timeframe timeframe) {
+        int barCount = getIndicatorBarCount(timeframe);
+        if (barCount == 0) {
+            return null;
+        }
+        return indicator.toResult(chartDataProvider.calculateValues(indicator, timeframe), barCount - 1);
+    }
+
+    private int getIndicatorBarCount(Timeframe timeframe) {
+        return timeframe.getMinutes() == 1 ? cursor.getBarCount() : getBarCount(timeframe);
+    }
+}
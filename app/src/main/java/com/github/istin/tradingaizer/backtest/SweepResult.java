@@ -0,0 +1,21 @@
+package com.github.istin.tradingaizer.backtest;
+
+import java.util.Comparator;
+
+/**
+ * How one combination of a {@link ParameterSweep} did. The Sharpe ratio is per bar, see
+ * {@link com.github.istin.tradingaizer.trader.PerformanceMetrics}.
+ */
+public record SweepResult(ParameterSet parameters, double balance, int dealCount, double winRate, double sharpeRatio,
+                          double maxDrawdown) {
+
+    /**
+     * Highest final balance first.
+     */
+    public static final Comparator<SweepResult> BY_BALANCE = Comparator.comparingDouble(SweepResult::balance).reversed();
+
+    /**
+     * Highest Sharpe ratio first: the best return for the risk taken, not the luckiest.
+     */
+    public static final Comparator<SweepResult> BY_SHARPE = Comparator.comparingDouble(SweepResult::sharpeRatio).reversed();
+}
@@ -0,0 +1,113 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.Decision;
+import com.github.istin.tradingaizer.trader.PerformanceMetrics;
+
+/**
+ * What a {@link com.github.istin.tradingaizer.trader.Trader} on a
+ * {@link com.github.istin.tradingaizer.trader.FakeDealExecutor} ends with, computed from a {@link DecisionTape}
+ * and the close prices: the same rules in a loop over primitive arrays, without deals or messages.
+ */
+public final class TapeReplayer {
+
+    private static final byte LONG = (byte) Decision.LONG.ordinal();
+    private static final byte SHORT = (byte) Decision.SHORT.ordinal();
+    private static final byte CLOSE = (byte) Decision.CLOSE.ordinal();
+
+    private TapeReplayer() {
+    }
+
+    public record Result(double balance, int dealCount, int winCount, PerformanceMetrics metrics) {
+
+        public double winRate() {
+            return dealCount == 0 ? 0 : winCount * 100.0 / dealCount;
+        }
+    }
+
+    /**
+     * @param series the 1m bars the tape was recorded on
+     */
+    public static Result replay(DecisionTape tape, BarSeries series, double maximumLoss, double minimumProfit,
+                                double riskPercentage, double balance) {
+        return replay(tape, series, maximumLoss, minimumProfit, riskPercentage, new PerformanceMetrics(balance));
+    }
+
+    /**
+     * Replays from the start equity of the metrics, updating them as the trader would, and stops early at their
+     * drawdown limit.
+     */
+    public static Result replay(DecisionTape tape, BarSeries series, double maximumLoss, double minimumProfit,
+                                double riskPercentage, PerformanceMetrics metrics) {
+        double balance = metrics.getStartEquity();
+        byte[] decisions = tape.decisions();
+        double[] stopLosses = tape.stopLosses();
+        double[] takeProfits = tape.takeProfits();
+        double[] closes = series.closeColumn();
+        long[] closeTimes = series.closeTimeColumn();
+        int base = series.getOffset() + tape.getFrom();
+
+        int dealCount = 0;
+        int winCount = 0;
+        boolean open = false;
+        boolean isLong = false;
+        double openPrice = 0;
+        double amount = 0;
+        double stopLoss = 0;
+        for (int i = 0; i < decisions.length; i++) {
+            double price = closes[base + i];
+            byte decision = decisions[i];
+            if (!open) {
+                if ((decision == LONG || decision == SHORT) && balance * riskPercentage > 0) {
+                    isLong = decision == LONG;
+                    amount = balance * riskPercentage;
+                    openPrice = price;
+                    double dynamicStopLoss = stopLosses == null ? Double.NaN : stopLosses[i];
+                    stopLoss = !Double.isNaN(dynamicStopLoss) ? dynamicStopLoss
+                            : isLong ? price * (1 - maximumLoss) : price * (1 + maximumLoss);
+                    open = true;
+                }
+            } else {
+                double profitLoss = profitLoss(isLong, amount, openPrice, price);
+                double takeProfit = takeProfits == null ? Double.NaN : takeProfits[i];
+                boolean close;
+                if (isLong ? price <= stopLoss : price >= stopLoss) {
+                    close = true;
+                } else if (profitLoss / balance >= minimumProfit
+                        || (!Double.isNaN(takeProfit) && (isLong ? price >= takeProfit : price <= takeProfit))) {
+                    close = true;
+                } else {
+                    close = decision == CLOSE || (isLong && decision == SHORT) || (!isLong && decision == LONG);
+                }
+
+                if (close) {
+                    if (amount + profitLoss > amount) {
+                        winCount++;
+                    }
+                    balance = balance + profitLoss;
+                    dealCount++;
+                    metrics.onTrade(profitLoss);
+                    open = false;
+                } else if (profitLoss / amount > 0) {
+                    // Trailing stop, half of the maximum loss away
+                    stopLoss = isLong
+                            ? Math.max(stopLoss, price * (1 - maximumLoss / 2.0))
+                            : Math.min(stopLoss, price * (1 + maximumLoss / 2.0));
+                }
+            }
+
+            double equity = open ? balance + profitLoss(isLong, amount, openPrice, price) : balance;
+            metrics.onBar(closeTimes[base + i], equity, open);
+            if (metrics.isDrawdownLimitReached()) {
+                break;
+            }
+        }
+        return new Result(balance, dealCount, winCount, metrics);
+    }
+
+    private static double profitLoss(boolean isLong, double amount, double openPrice, double price) {
+        return isLong
+                ? amount * (price - openPrice) / openPrice
+                : amount * (openPrice - price) / openPrice;
+    }
+}
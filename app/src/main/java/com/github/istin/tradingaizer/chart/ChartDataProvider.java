@@ -2,164 +2,422 @@ package com.github.istin.tradingaizer.chart;
 
 import com.github.istin.tradingaizer.config.ConfigReader;
 import com.github.istin.tradingaizer.indicator.Indicator;
+import com.github.istin.tradingaizer.indicator.IndicatorKey;
+import com.github.istin.tradingaizer.indicator.IndicatorSeries;
+import com.github.istin.tradingaizer.indicator.IndicatorSeriesUpdater;
 import com.github.istin.tradingaizer.indicator.Timeframe;
 import com.github.istin.tradingaizer.indicator.TimeframeAggregator;
+import com.github.istin.tradingaizer.indicator.graph.GraphIndicator;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.model.BarSeries;
 import com.github.istin.tradingaizer.trader.StatData;
+import com.github.istin.tradingaizer.trader.StatDealData;
 
-import java.io.*;
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.FutureTask;
 
 public class ChartDataProvider {
 
     private static final String CACHE_FOLDER = "indicatorsCache";
+    private static final int LAST_BARS_WINDOW = 1000;
     private final String cacheId;
-    private final List<? extends StatData> data1m;
-    private final List<StatData> data1h;
-    private final List<StatData> data15m;
-    private final List<StatData> data5m;
-    private final Map<String, Map<String, List<?>>> indicatorCache = new ConcurrentHashMap<>();
-    private Boolean isIndicatorCacheEnabled = false;
+    private BarSeries data1m;
+    // Higher timeframes, aggregated from data1m on first use
+    private final Map<Timeframe, BarSeries> aggregates = new ConcurrentHashMap<>();
+    // Per calculation mode, per indicator, per timeframe: lookups hash an IndicatorKey and an enum, no strings.
+    // The values are held by seriesCache entries, which drop them when over the heap budget.
+    private final Map<CalculationMode, Map<IndicatorKey, Map<Timeframe, IndicatorSeriesCache.Entry>>> indicatorCache =
+            new EnumMap<>(CalculationMode.class);
+    // Weakly held: the calculations running at the same time share the intermediate series of a timeframe, and
+    // they are freed once those finished instead of outliving the budget next to the cached results
+    private final Map<Timeframe, WeakReference<IndicatorGraph>> graphs = new ConcurrentHashMap<>();
+    // Calculations in progress, so that concurrent requests for the same series wait instead of repeating them
+    private final Map<SeriesKey, FutureTask<IndicatorSeries>> pendingCalculations = new ConcurrentHashMap<>();
+    // An instance of every cached indicator, and the streaming states that extend their series on append()
+    private final Map<IndicatorKey, Indicator<?>> indicators = new ConcurrentHashMap<>();
+    private final Map<SeriesKey, IndicatorSeriesUpdater<?>> updaters = new HashMap<>();
+    // One file per (indicator, timeframe), read only when that series is requested; null when disabled
+    private final IndicatorCacheFiles cacheFiles;
+    private final IndicatorSeriesCache seriesCache;
+    private CalculationMode calculationMode = CalculationMode.FULL_HISTORY;
 
     public ChartDataProvider(String cacheId, List<? extends StatData> statData1MinutTimeframe) {
+        this(cacheId, BarSeries.from(statData1MinutTimeframe));
+    }
+
+    public ChartDataProvider(String cacheId, BarSeries series1MinuteTimeframe) {
+        this(cacheId, series1MinuteTimeframe, new ConfigReader().getConfig().getIndicatorCache());
+    }
+
+    public ChartDataProvider(String cacheId, BarSeries series1MinuteTimeframe, boolean isIndicatorCacheEnabled) {
+        this(cacheId, series1MinuteTimeframe, isIndicatorCacheEnabled, Paths.get(CACHE_FOLDER));
+    }
+
+    public ChartDataProvider(String cacheId, BarSeries series1MinuteTimeframe, boolean isIndicatorCacheEnabled, Path cacheFolder) {
+        this(cacheId, series1MinuteTimeframe, isIndicatorCacheEnabled, cacheFolder, IndicatorSeriesCache.shared());
+    }
+
+    public ChartDataProvider(String cacheId, BarSeries series1MinuteTimeframe, boolean isIndicatorCacheEnabled, Path cacheFolder,
+                             IndicatorSeriesCache seriesCache) {
         this.cacheId = cacheId;
-        this.data1m = statData1MinutTimeframe;
-        this.data5m = TimeframeAggregator.convertToTimeframe(this.data1m, Timeframe.M5);
-        this.data15m = TimeframeAggregator.convertToTimeframe(this.data1m, Timeframe.M15);
-        this.data1h = TimeframeAggregator.convertToTimeframe(this.data1m, Timeframe.H1);
-        isIndicatorCacheEnabled = new ConfigReader().getConfig().getIndicatorCache();
-        restoreCache();
-    }
-
-    private void restoreCache() {
-        if (isIndicatorCacheEnabled) {
-            File cacheFile = new File(CACHE_FOLDER, cacheId + ".ser");
-            if (cacheFile.exists()) {
-                try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(cacheFile))) {
-                    Map<String, Map<String, List<?>>> restoredCache = (Map<String, Map<String, List<?>>>) ois.readObject();
-                    indicatorCache.putAll(restoredCache);
-                } catch (IOException | ClassNotFoundException e) {
-                    System.err.println("Failed to restore cache: " + e.getMessage());
-                }
-            }
+        this.data1m = series1MinuteTimeframe;
+        this.cacheFiles = isIndicatorCacheEnabled ? new IndicatorCacheFiles(cacheFolder, cacheId) : null;
+        this.seriesCache = seriesCache;
+        for (CalculationMode mode : CalculationMode.values()) {
+            indicatorCache.put(mode, new ConcurrentHashMap<>());
         }
     }
 
-    private void saveCache() {
-        if (isIndicatorCacheEnabled) {
-            File cacheDir = new File(CACHE_FOLDER);
-            if (!cacheDir.exists()) {
-                cacheDir.mkdirs();
-            }
-            File cacheFile = new File(cacheDir, cacheId + ".ser");
-            try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(cacheFile))) {
-                oos.writeObject(indicatorCache);
-            } catch (IOException e) {
-                System.err.println("Failed to save cache: " + e.getMessage());
-            }
+    public List<? extends StatData> getData(List<? extends StatData> historicalData, Timeframe timeframe) {
+        int barCount = getBarCount(historicalData, timeframe);
+        if (timeframe.getMinutes() == 1) {
+            return data1m.view(0, barCount).asList();
         }
+        return barCount == 0 ? Collections.emptyList() : getSeries(timeframe).view(0, barCount).asList();
     }
 
-    public List<? extends StatData> getData(List<? extends StatData> historicalData, Timeframe timeframe) {
-        int size = historicalData.size();
-        switch (timeframe) {
-            case M1:
-                return data1m.subList(0, size - 1);
-            case M5:
-                if (size < 5) {
-                    return Collections.emptyList();
-                }
-                return data5m.subList(0, size /5 - 1);
-            case M15:
-                if (size < 15) {
-                    return Collections.emptyList();
+    /**
+     * Size of {@link #getData(List, Timeframe)} without creating the list: the completed bars of the timeframe but
+     * the last one, {@code historicalData} being the first 1m bars of this provider.
+     */
+    public int getBarCount(List<? extends StatData> historicalData, Timeframe timeframe) {
+        return getBarCount(historicalData.size(), timeframe);
+    }
+
+    /**
+     * {@link #getBarCount(List, Timeframe)} for the first {@code size} 1m bars.
+     */
+    public int getBarCount(int size, Timeframe timeframe) {
+        if (timeframe.getMinutes() == 1) {
+            return size - 1;
+        }
+        int completed = TimeframeAggregator.completedCount(data1m, Math.min(size, data1m.size()), getSeries(timeframe), timeframe);
+        return Math.max(0, completed - 1);
+    }
+
+    /**
+     * @return the candle of the timeframe that the last 1m bars are still filling, {@code null} when the last
+     * candle is complete
+     */
+    public StatDealData getFormingBar(Timeframe timeframe) {
+        BarSeries series = getSeries(timeframe);
+        int last = series.size() - 1;
+        if (last < 0 || (timeframe.getMinutes() > 1 && TimeframeAggregator.isComplete(series, last, timeframe))) {
+            return null;
+        }
+        return series.bar(last);
+    }
+
+    public <Result> Result calculateIndicator(Indicator<Result> indicator, List<? extends StatData> historicalData, Timeframe timeframe) {
+        IndicatorSeries values = calculateValues(indicator, timeframe);
+        return indicator.toResult(values, historicalData.size() - 1);
+    }
+
+    /**
+     * Unboxed counterpart of {@link #calculateIndicator(Indicator, List, Timeframe)}: one output of the indicator
+     * on the last of {@code barCount} bars, {@link Double#NaN} while it is not ready. Allocates nothing once the
+     * indicator is cached.
+     */
+    public double calculateValue(Indicator<?> indicator, int barCount, Timeframe timeframe, int output) {
+        if (barCount == 0) {
+            return Double.NaN;
+        }
+        return calculateValues(indicator, timeframe).get(output, barCount - 1);
+    }
+
+    /**
+     * Values of the indicator for every bar of the timeframe, calculated on the first request and cached.
+     */
+    public IndicatorSeries calculateValues(Indicator<?> indicator, Timeframe timeframe) {
+        return getValues(indicator, timeframe);
+    }
+
+    /**
+     * Calculates (or reads from the disk cache) all the requested series in parallel on the common
+     * {@link ForkJoinPool}, so that the first decisions find them in memory.
+     */
+    public void warmup(Collection<IndicatorRequest> requests) {
+        warmup(requests, ForkJoinPool.commonPool());
+    }
+
+    public void warmup(Collection<IndicatorRequest> requests, ForkJoinPool pool) {
+        // The same indicator may be requested by several strategies or under different instances
+        Map<SeriesKey, IndicatorRequest> uniqueRequests = new LinkedHashMap<>();
+        for (IndicatorRequest request : requests) {
+            uniqueRequests.putIfAbsent(new SeriesKey(request.indicator().getKey(), request.timeframe(), calculationMode), request);
+        }
+        aggregate(uniqueRequests.values().stream().map(IndicatorRequest::timeframe).toList(), pool);
+
+        List<ForkJoinTask<IndicatorSeries>> tasks = new ArrayList<>(uniqueRequests.size());
+        for (IndicatorRequest request : uniqueRequests.values()) {
+            tasks.add(pool.submit(() -> getValues(request.indicator(), request.timeframe())));
+        }
+        for (ForkJoinTask<IndicatorSeries> task : tasks) {
+            task.join();
+        }
+    }
+
+    /**
+     * Adds the next 1m bar. The higher timeframes fold it into the candle still forming or start a new one, and
+     * every cached {@link CalculationMode#FULL_HISTORY} series is extended from a streaming state instead of being
+     * recalculated, so that a long-running process reacts to a new candle in O(1) per indicator.
+     * <p>
+     * Must not run concurrently with calculations: call it from the thread that makes the decisions.
+     */
+    public void append(StatData bar) {
+        if (data1m.isReadOnly()) {
+            data1m = data1m.copy();
+        }
+        data1m.append(bar);
+        // Timeframes not used yet are aggregated later from the extended bars
+        for (Map.Entry<Timeframe, BarSeries> aggregate : aggregates.entrySet()) {
+            TimeframeAggregator.appendLast(data1m, aggregate.getValue(), aggregate.getKey());
+        }
+        // Their intermediate series cover the old bars only
+        graphs.clear();
+
+        // The windowed mode has no streaming equivalent: recalculate on demand
+        for (Map<Timeframe, IndicatorSeriesCache.Entry> timeframeCache : indicatorCache.get(CalculationMode.LAST_BARS_WINDOW).values()) {
+            timeframeCache.values().forEach(seriesCache::remove);
+        }
+        indicatorCache.get(CalculationMode.LAST_BARS_WINDOW).clear();
+
+        for (Map.Entry<IndicatorKey, Map<Timeframe, IndicatorSeriesCache.Entry>> indicatorEntry
+                : indicatorCache.get(CalculationMode.FULL_HISTORY).entrySet()) {
+            Map<Timeframe, IndicatorSeriesCache.Entry> cache = indicatorEntry.getValue();
+            for (Map.Entry<Timeframe, IndicatorSeriesCache.Entry> timeframeEntry : cache.entrySet()) {
+                Timeframe timeframe = timeframeEntry.getKey();
+                IndicatorSeriesCache.Entry entry = timeframeEntry.getValue();
+                SeriesKey seriesKey = new SeriesKey(indicatorEntry.getKey(), timeframe, CalculationMode.FULL_HISTORY);
+                IndicatorSeries values = entry.getValues();
+                if (values == null) {
+                    // Evicted: recalculated on the next request
+                    updaters.remove(seriesKey);
+                    continue;
                 }
-                return data15m.subList(0, size /15 - 1);
-            case H1:
-                if (size < 60) {
-                    return Collections.emptyList();
+                IndicatorSeriesUpdater<?> updater = updaters.get(seriesKey);
+                if (updater == null || updater.getValues() != values) {
+                    updater = new IndicatorSeriesUpdater<>(indicators.get(indicatorEntry.getKey()), values);
+                    updaters.put(seriesKey, updater);
                 }
-                return data1h.subList(0, size /60 - 1);
-            default:
-                throw new IllegalStateException("Unexpected value: " + timeframe);
+                IndicatorSeries extended = updater.update(getSeries(timeframe));
+                seriesCache.remove(entry);
+                cache.put(timeframe, seriesCache.put(extended, evicted -> cache.remove(timeframe, evicted)));
+            }
         }
     }
 
-    public <Result> Result calculateIndicator(Indicator<Result> indicator, List<? extends StatData> historicalData, Timeframe timeframe) {
-        String indicatorKey = indicator.toString();
+    /**
+     * The 1m bars, including the appended ones.
+     */
+    public List<StatDealData> getHistoricalData() {
+        return data1m.asList();
+    }
 
-        // Ensure thread-safe access to cache for the given indicator
-        indicatorCache.putIfAbsent(indicatorKey, new ConcurrentHashMap<>());
-        Map<String, List<?>> timeframeCache = indicatorCache.get(indicatorKey);
+    /**
+     * The 1m bars as columns, including the appended ones.
+     */
+    public BarSeries getSeries() {
+        return data1m;
+    }
+
+    /**
+     * Blocks until the series calculated so far are on disk. They are otherwise written in the background and on
+     * JVM shutdown.
+     */
+    public void flushCache() {
+        if (cacheFiles != null) {
+            cacheFiles.flush();
+        }
+    }
+
+    private IndicatorSeries getValues(Indicator<?> indicator, Timeframe timeframe) {
+        CalculationMode mode = calculationMode;
+        IndicatorKey key = indicator.getKey();
+        Map<Timeframe, IndicatorSeriesCache.Entry> timeframeCache = indicatorCache.get(mode).get(key);
+        if (timeframeCache == null) {
+            timeframeCache = indicatorCache.get(mode).computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        }
 
         // Check if the values are already cached for this timeframe
-        String name = timeframe.name();
-        if (timeframeCache.containsKey(name)) {
-            List<?> cachedResults = timeframeCache.get(name);
-            if (cachedResults.size() >= historicalData.size()) {
-                // Use the cached result directly if available
-                return (Result) cachedResults.get(historicalData.size() - 1);
+        IndicatorSeries cachedValues = seriesCache.get(timeframeCache.get(timeframe));
+        if (cachedValues != null) {
+            return cachedValues;
+        }
+
+        SeriesKey pendingKey = new SeriesKey(key, timeframe, mode);
+        Map<Timeframe, IndicatorSeriesCache.Entry> cache = timeframeCache;
+        FutureTask<IndicatorSeries> task = pendingCalculations.get(pendingKey);
+        if (task == null) {
+            FutureTask<IndicatorSeries> newTask = new FutureTask<>(() -> {
+                // Another thread may have finished the same calculation in the meantime
+                IndicatorSeriesCache.Entry entry = cache.get(timeframe);
+                IndicatorSeries values = entry == null ? null : entry.getValues();
+                if (values == null) {
+                    values = readOrCalculate(indicator, timeframe, mode);
+                    indicators.putIfAbsent(key, indicator);
+                    cache.put(timeframe, seriesCache.put(values, evicted -> cache.remove(timeframe, evicted)));
+                }
+                return values;
+            });
+            task = pendingCalculations.putIfAbsent(pendingKey, newTask);
+            if (task == null) {
+                task = newTask;
+                try {
+                    task.run();
+                } finally {
+                    pendingCalculations.remove(pendingKey, task);
+                }
+            }
+        }
+
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calculating " + pendingKey, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            throw new IllegalStateException("Failed to calculate " + pendingKey, e.getCause());
+        }
+    }
+
+    private IndicatorSeries readOrCalculate(Indicator<?> indicator, Timeframe timeframe, CalculationMode mode) {
+        BarSeries series = getSeries(timeframe);
+        if (cacheFiles == null) {
+            return calculate(indicator, timeframe, series, mode);
+        }
+        // The fingerprint ties the file to the bars: refetched or extended data makes it stale
+        String name = mode == CalculationMode.FULL_HISTORY
+                ? timeframe.name()
+                : timeframe.name() + " [last " + LAST_BARS_WINDOW + " bars]";
+        long fingerprint = series.getFingerprint();
+        IndicatorSeries values = cacheFiles.read(indicator.getCacheKey(), name, fingerprint);
+        if (values == null) {
+            values = calculate(indicator, timeframe, series, mode);
+            cacheFiles.writeBehind(indicator.getCacheKey(), name, fingerprint, values);
         }
+        return values;
+    }
+
+    private BarSeries getSeries(Timeframe timeframe) {
+        if (timeframe.getMinutes() == 1) {
+            return data1m;
+        }
+        return aggregates.computeIfAbsent(timeframe, key -> TimeframeAggregator.convertToTimeframe(data1m, key));
+    }
 
-        // Perform calculation if no cache is available
-        List<? extends StatData> data;
-        switch (timeframe) {
-            case M1:
-                data = data1m;
-                break;
-            case M5:
-                data = data5m;
-                break;
-            case M15:
-                data = data15m;
-                break;
-            case H1:
-                data = data1h;
-                break;
-            default:
-                throw new IllegalStateException("Unexpected value: " + timeframe);
-        }
-
-        List<StatData> timeline = new ArrayList<>();
-        List<Result> indicators = new ArrayList<>();
-        int i = 0;
-        for (StatData statData : data) {
-            timeline.add(statData);
-
-            int lastSize = 1000;
-            List<StatData> lastItems = new ArrayList<>();
-            if (timeline.size() < lastSize) {
-                lastItems = timeline;
-            } else {
-                // 2) Sub-list for last 100 (or 1000, your choice)
-                lastItems = timeline.subList(
-                        Math.max(0, timeline.size() - lastSize),
-                        timeline.size()
-                );
+    /**
+     * Aggregates the timeframes not used yet in one parallel pass over the 1m bars.
+     */
+    public void aggregate(Collection<Timeframe> timeframes, ForkJoinPool pool) {
+        Set<Timeframe> missing = new LinkedHashSet<>();
+        for (Timeframe timeframe : timeframes) {
+            if (timeframe.getMinutes() != 1 && !aggregates.containsKey(timeframe)) {
+                missing.add(timeframe);
             }
+        }
+        if (missing.size() == 1) {
+            getSeries(missing.iterator().next());
+        } else if (!missing.isEmpty()) {
+            TimeframeAggregator.convertToTimeframes(data1m, missing, pool).forEach(aggregates::putIfAbsent);
+        }
+    }
 
+    /**
+     * Timeframes aggregated so far, M1 excluded.
+     */
+    Collection<Timeframe> getAggregatedTimeframes() {
+        return Collections.unmodifiableSet(aggregates.keySet());
+    }
 
+    private IndicatorSeries calculate(Indicator<?> indicator, Timeframe timeframe, BarSeries series, CalculationMode mode) {
+        if (mode == CalculationMode.FULL_HISTORY && indicator instanceof GraphIndicator) {
+            // Intermediate series (true range, EMAs, SMAs...) are shared with the other indicators of this timeframe
+            return ((GraphIndicator) indicator).calculateValues(getGraph(timeframe, series));
+        } else if (mode == CalculationMode.FULL_HISTORY) {
+            return indicator.calculateValues(series.asList());
+        } else {
+            return calculateOnLastBars(indicator, series.asList());
+        }
+    }
 
+    private IndicatorGraph getGraph(Timeframe timeframe, BarSeries series) {
+        while (true) {
+            WeakReference<IndicatorGraph> reference = graphs.get(timeframe);
+            IndicatorGraph graph = reference == null ? null : reference.get();
+            if (graph != null && graph.getSeries() == series) {
+                return graph;
+            }
+            IndicatorGraph created = new IndicatorGraph(series);
+            WeakReference<IndicatorGraph> createdReference = new WeakReference<>(created);
+            boolean stored = reference == null
+                    ? graphs.putIfAbsent(timeframe, createdReference) == null
+                    : graphs.replace(timeframe, reference, createdReference);
+            if (stored) {
+                return created;
+            }
+        }
+    }
+
+    /**
+     * Legacy mode: every value is calculated on at most the last {@link #LAST_BARS_WINDOW} bars.
+     */
+    private <Result> IndicatorSeries calculateOnLastBars(Indicator<Result> indicator, List<StatDealData> data) {
+        List<Result> indicators = new ArrayList<>(data.size());
+        for (int i = 0; i < data.size(); i++) {
+            List<StatDealData> lastItems = data.subList(Math.max(0, i + 1 - LAST_BARS_WINDOW), i + 1);
             try {
-                Result result = indicator.calculate(lastItems);
-                indicators.add(result);
-                //System.out.println("Indicator: " + indicatorKey + ", Timeframe: " + name + ", Index: " + i + ", From: "+ data.size() +",  Value: " + result);
+                indicators.add(indicator.calculate(lastItems));
             } catch (Exception e) {
                 e.printStackTrace();
                 indicators.add(null);
             }
-            i++;
         }
+        return indicator.toValues(indicators);
+    }
 
-        // Update cache
-        timeframeCache.put(name, indicators);
-        saveCache();
+    public CalculationMode getCalculationMode() {
+        return calculationMode;
+    }
+
+    public void setCalculationMode(CalculationMode calculationMode) {
+        this.calculationMode = calculationMode;
+    }
+
+    private record SeriesKey(IndicatorKey indicator, Timeframe timeframe, CalculationMode mode) {
+    }
 
-        // Return the last calculated result
-        return indicators.get(historicalData.size() - 1);
+    /**
+     * How cached indicator values are produced.
+     */
+    public enum CalculationMode {
+        /**
+         * One forward pass over the whole timeframe, each value sees all bars up to it.
+         */
+        FULL_HISTORY,
+        /**
+         * Each value is calculated on the last 1000 bars only, as before {@link Indicator#calculateSeries(List)}
+         * existed. Keeps the old warmup behaviour at the old N x 1000 cost.
+         */
+        LAST_BARS_WINDOW
     }
 }
@@ -0,0 +1,182 @@
+package com.github.istin.tradingaizer.chart;
+
+import com.github.istin.tradingaizer.indicator.IndicatorSeries;
+import com.github.istin.tradingaizer.model.BarSeries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * On-disk indicator cache of one dataset: one binary file per (indicator, timeframe) under
+ * {@code <folder>/<cacheId>/}. A file holds a small header, including the {@link BarSeries#getFingerprint()} of
+ * the bars the values were calculated on, followed by the {@link IndicatorSeries} columns as
+ * little-endian doubles, so reading one series maps just that file and copies its columns, without touching the
+ * other cached series. A file whose fingerprint doesn't match the current bars is stale and ignored.
+ * <p>
+ * Files are replaced atomically (temp file plus rename), so a crash never leaves a half-written series behind.
+ * {@link #writeBehind(String, String, long, IndicatorSeries)} hands the series to an {@link IndicatorCacheWriter} so the
+ * calculating thread does no disk I/O.
+ */
+public class IndicatorCacheFiles {
+
+    private static final int MAGIC = 0x54414943; // "TAIC"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + Long.BYTES;
+    private static final String EXTENSION = ".bin";
+
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private final Path directory;
+    private final IndicatorCacheWriter writer;
+
+    public IndicatorCacheFiles(Path folder, String cacheId) {
+        this(folder, cacheId, IndicatorCacheWriter.shared());
+    }
+
+    public IndicatorCacheFiles(Path folder, String cacheId, IndicatorCacheWriter writer) {
+        this.directory = folder.resolve(fileName(cacheId));
+        this.writer = writer;
+    }
+
+    /**
+     * @return the cached values, or {@code null} when there is no readable file for them or it was written for
+     * other bars
+     */
+    public IndicatorSeries read(String indicatorKey, String timeframeKey, long fingerprint) {
+        Path file = file(indicatorKey, timeframeKey);
+        // Not flushed yet: the disk may still hold an older version or nothing at all
+        Entry pending = writer.getPending(file);
+        if (pending != null) {
+            return pending.fingerprint() == fingerprint ? pending.values() : null;
+        }
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            Entry entry = readFile(file);
+            return entry.fingerprint() == fingerprint ? entry.values() : null;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to read cached " + indicatorKey + " " + timeframeKey + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void write(String indicatorKey, String timeframeKey, long fingerprint, IndicatorSeries values) {
+        try {
+            replaceFile(file(indicatorKey, timeframeKey), new Entry(fingerprint, values));
+        } catch (IOException e) {
+            System.err.println("Failed to cache " + indicatorKey + " " + timeframeKey + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Queues the values for the background writer and returns immediately. Until they are flushed,
+     * {@link #read(String, String, long)} returns them from the queue.
+     */
+    public void writeBehind(String indicatorKey, String timeframeKey, long fingerprint, IndicatorSeries values) {
+        writer.schedule(file(indicatorKey, timeframeKey), new Entry(fingerprint, values));
+    }
+
+    /**
+     * Writes everything still queued by {@link #writeBehind(String, String, long, IndicatorSeries)}.
+     */
+    public void flush() {
+        writer.flush();
+    }
+
+    Path file(String indicatorKey, String timeframeKey) {
+        return directory.resolve(fileName(indicatorKey + " " + timeframeKey) + EXTENSION);
+    }
+
+    static Entry readFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES) {
+                throw new IOException("Truncated header in " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not an indicator cache file: " + file);
+            }
+            int outputs = buffer.getInt();
+            int size = buffer.getInt();
+            long fingerprint = buffer.getLong();
+            if (outputs < 1 || size < 0 || length != HEADER_BYTES + (long) outputs * size * Double.BYTES) {
+                throw new IOException("Unexpected length of " + file);
+            }
+
+            double[][] columns = new double[outputs][size];
+            for (double[] column : columns) {
+                buffer.asDoubleBuffer().get(column);
+                buffer.position(buffer.position() + size * Double.BYTES);
+            }
+            return new Entry(fingerprint, new IndicatorSeries(columns));
+        }
+    }
+
+    /**
+     * Writes the values next to the target and renames the temp file over it.
+     */
+    static void replaceFile(Path file, Entry entry) throws IOException {
+        Path folder = file.getParent();
+        Files.createDirectories(folder);
+        Path temp = Files.createTempFile(folder, file.getFileName().toString(), TEMP_EXTENSION);
+        try {
+            writeFile(temp, entry);
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static void writeFile(Path file, Entry entry) throws IOException {
+        IndicatorSeries values = entry.values();
+        int outputs = values.getOutputCount();
+        int size = values.size();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + outputs * size * Double.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(outputs).putInt(size).putLong(entry.fingerprint());
+        for (int output = 0; output < outputs; output++) {
+            buffer.asDoubleBuffer().put(values.column(output), 0, size);
+            buffer.position(buffer.position() + size * Double.BYTES);
+        }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Keys contain spaces, dots and class names; keep them readable but file-system safe, and unique by hash.
+     */
+    private static String fileName(String key) {
+        String readable = key.replaceAll("[^A-Za-z0-9._-]+", "_");
+        if (readable.length() > 100) {
+            readable = readable.substring(0, 100);
+        }
+        return readable + "-" + Integer.toHexString(key.hashCode());
+    }
+
+    /**
+     * Cached values with the fingerprint of the bars they were calculated on.
+     */
+    record Entry(long fingerprint, IndicatorSeries values) {
+    }
+}
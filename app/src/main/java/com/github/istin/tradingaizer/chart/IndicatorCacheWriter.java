@@ -0,0 +1,96 @@
+package com.github.istin.tradingaizer.chart;
+
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind stage of the indicator disk cache. Calculated series are queued by file, so a series queued again
+ * before the flush is written once, and a single daemon thread writes them on a fixed delay. {@link #close()}
+ * flushes what is left; the {@link #shared()} writer does it from a shutdown hook.
+ */
+public final class IndicatorCacheWriter implements AutoCloseable {
+
+    private static final long FLUSH_INTERVAL_MILLIS = 5_000;
+
+    private final Map<Path, IndicatorCacheFiles.Entry> dirty = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final Object flushLock = new Object();
+
+    private IndicatorCacheWriter() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "indicator-cache-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * A writer that flushes every {@code flushIntervalMillis} until it is closed.
+     */
+    public static IndicatorCacheWriter start(long flushIntervalMillis) {
+        IndicatorCacheWriter writer = new IndicatorCacheWriter();
+        writer.scheduler.scheduleWithFixedDelay(writer::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        return writer;
+    }
+
+    public static IndicatorCacheWriter shared() {
+        return Shared.INSTANCE;
+    }
+
+    void schedule(Path file, IndicatorCacheFiles.Entry entry) {
+        dirty.put(file, entry);
+    }
+
+    /**
+     * @return the entry queued for the file and not written yet, or {@code null}
+     */
+    IndicatorCacheFiles.Entry getPending(Path file) {
+        return dirty.get(file);
+    }
+
+    public int getPendingCount() {
+        return dirty.size();
+    }
+
+    public void flush() {
+        synchronized (flushLock) {
+            for (Path file : new ArrayList<>(dirty.keySet())) {
+                IndicatorCacheFiles.Entry entry = dirty.get(file);
+                if (entry == null) {
+                    continue;
+                }
+                try {
+                    IndicatorCacheFiles.replaceFile(file, entry);
+                } catch (IOException | RuntimeException e) {
+                    // The series can always be recalculated, don't retry it forever
+                    System.err.println("Failed to write indicator cache " + file + ": " + e.getMessage());
+                }
+                // Stays queued until written, and a newer version queued meanwhile is kept for the next flush
+                dirty.remove(file, entry);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        flush();
+    }
+
+    private static class Shared {
+        private static final IndicatorCacheWriter INSTANCE = create();
+
+        private static IndicatorCacheWriter create() {
+            IndicatorCacheWriter writer = start(FLUSH_INTERVAL_MILLIS);
+            Runtime.getRuntime().addShutdownHook(new Thread(writer::close, "indicator-cache-shutdown"));
+            return writer;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.github.istin.tradingaizer.chart;
+
+import com.github.istin.tradingaizer.indicator.Indicator;
+import com.github.istin.tradingaizer.indicator.Timeframe;
+
+/**
+ * An indicator a strategy needs on a timeframe, see {@link ChartDataProvider#warmup(java.util.Collection)}.
+ */
+public record IndicatorRequest(Indicator<?> indicator, Timeframe timeframe) {
+}
@@ -0,0 +1,182 @@
+package com.github.istin.tradingaizer.chart;
+
+import com.github.istin.tradingaizer.config.ConfigReader;
+import com.github.istin.tradingaizer.indicator.IndicatorSeries;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Heap budget for the indicator series of all {@link ChartDataProvider}s in the JVM. Providers register each
+ * series they keep and get an {@link Entry} back. When the registered series exceed the budget the least recently
+ * used ones are dropped: the provider reads them back from its disk cache, where they were written when
+ * calculated, or recalculates them when the disk cache is off. Series of providers that are no longer used age out
+ * like any other.
+ * <p>
+ * Lookups don't lock: recency is a stamp on the entry, and entries are only sorted when something has to be evicted.
+ */
+public class IndicatorSeriesCache {
+
+    private static final long DEFAULT_MAX_BYTES = Runtime.getRuntime().maxMemory() / 4;
+    // A full cache evicts down to this share of the budget instead of evicting on every put
+    private static final double EVICTION_TARGET = 0.9;
+
+    private final Set<Entry> entries = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sizeInBytes = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final Object evictionLock = new Object();
+    private volatile long maxBytes;
+
+    public IndicatorSeriesCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The cache used by the providers unless they are given another one. Its budget is
+     * {@code INDICATOR_CACHE_MAX_MB} from the environment or config.properties, read once when the cache is
+     * created, or else a quarter of the max heap.
+     */
+    public static IndicatorSeriesCache shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * @param onEvict called with the entry once its values are dropped
+     */
+    public Entry put(IndicatorSeries values, Consumer<Entry> onEvict) {
+        Entry entry = new Entry(values, values.getSizeInBytes(), onEvict);
+        entry.lastAccess = clock.incrementAndGet();
+        entries.add(entry);
+        if (sizeInBytes.addAndGet(entry.bytes) > maxBytes) {
+            evict(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * @return the values of the entry, or {@code null} when there is no entry or it was evicted
+     */
+    public IndicatorSeries get(Entry entry) {
+        IndicatorSeries values = entry == null ? null : entry.values;
+        if (values == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        // Only the order of puts is tracked exactly: a hit takes the stamp of the latest put
+        long now = clock.get();
+        if (entry.lastAccess != now) {
+            entry.lastAccess = now;
+        }
+        return values;
+    }
+
+    /**
+     * Releases the budget of an entry that its provider replaced. Its values stay readable.
+     */
+    public void remove(Entry entry) {
+        if (entries.remove(entry)) {
+            sizeInBytes.addAndGet(-entry.bytes);
+        }
+    }
+
+    private void evict(Entry keep) {
+        synchronized (evictionLock) {
+            if (sizeInBytes.get() <= maxBytes) {
+                return;
+            }
+            long target = (long) (maxBytes * EVICTION_TARGET);
+            List<Entry> candidates = new ArrayList<>(entries);
+            candidates.sort(Comparator.comparingLong(entry -> entry.lastAccess));
+            for (Entry entry : candidates) {
+                if (sizeInBytes.get() <= target) {
+                    break;
+                }
+                if (entry != keep && entries.remove(entry)) {
+                    entry.values = null;
+                    sizeInBytes.addAndGet(-entry.bytes);
+                    evictions.increment();
+                    if (entry.onEvict != null) {
+                        entry.onEvict.accept(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        if (sizeInBytes.get() > maxBytes) {
+            evict(null);
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getSizeInBytes() {
+        return sizeInBytes.get();
+    }
+
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " size=" + sizeInBytes.get() + "/" + maxBytes + " entries=" + entries.size()
+                + " hits=" + hits.sum() + " misses=" + misses.sum() + " evictions=" + evictions.sum();
+    }
+
+    private static class Shared {
+        private static final IndicatorSeriesCache INSTANCE = new IndicatorSeriesCache(configuredMaxBytes());
+
+        private static long configuredMaxBytes() {
+            String maxMb = ConfigReader.getSetting("INDICATOR_CACHE_MAX_MB");
+            return maxMb == null ? DEFAULT_MAX_BYTES : Long.parseLong(maxMb.trim()) * 1024 * 1024;
+        }
+    }
+
+    public static final class Entry {
+        private volatile IndicatorSeries values;
+        private final long bytes;
+        private final Consumer<Entry> onEvict;
+        // Racy on purpose: an approximate recency is enough and hits stay free of synchronization
+        private long lastAccess;
+
+        private Entry(IndicatorSeries values, long bytes, Consumer<Entry> onEvict) {
+            this.values = values;
+            this.bytes = bytes;
+            this.onEvict = onEvict;
+        }
+
+        /**
+         * @return the values, or {@code null} once evicted; doesn't count as a hit
+         */
+        public IndicatorSeries getValues() {
+            return values;
+        }
+    }
+}
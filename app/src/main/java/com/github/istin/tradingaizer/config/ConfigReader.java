@@ -15,19 +15,18 @@ public class ConfigReader {
         loadConfig();
     }
 
-    public void loadConfig() {
-        Properties properties = new Properties();
+    /**
+     * One setting from the environment or config.properties, without the API keys that {@link #getConfig()}
+     * requires.
+     *
+     * @return {@code null} when the setting is not set
+     */
+    public static String getSetting(String key) {
+        return getEnvOrProperty(key, loadProperties());
+    }
 
-        // Load properties from file (fallback mechanism)
-        try (InputStream input = ReportBuildingApp.class.getClassLoader().getResourceAsStream("config.properties")) {
-            if (input != null) {
-                properties.load(input);
-            } else {
-                //System.out.println("WARNING: config.properties not found. Relying on environment variables.");
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    public void loadConfig() {
+        Properties properties = loadProperties();
 
         // Read from environment variables first, fallback to properties file
         String apiKey = getEnvOrProperty("BINANCE_KEY", properties);
@@ -44,7 +43,23 @@ public class ConfigReader {
         this.config = new Config(apiKey, apiSecret, indicatorCache, binanceCache, bybitCache);
     }
 
-    private String getEnvOrProperty(String key, Properties properties) {
+    private static Properties loadProperties() {
+        Properties properties = new Properties();
+
+        // Load properties from file (fallback mechanism)
+        try (InputStream input = ReportBuildingApp.class.getClassLoader().getResourceAsStream("config.properties")) {
+            if (input != null) {
+                properties.load(input);
+            } else {
+                //System.out.println("WARNING: config.properties not found. Relying on environment variables.");
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return properties;
+    }
+
+    private static String getEnvOrProperty(String key, Properties properties) {
         String value = System.getenv(key); // Check environment variable first
         if (value == null) {
             value = properties.getProperty(key); // Fallback to properties file
@@ -1,11 +1,16 @@
 package com.github.istin.tradingaizer.indicator;
 
+import com.github.istin.tradingaizer.indicator.graph.GraphIndicator;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.indicator.graph.SeriesNodes;
+import com.github.istin.tradingaizer.indicator.kernel.Kernels;
+import com.github.istin.tradingaizer.model.BarSeries;
 import com.github.istin.tradingaizer.trader.StatData;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public class ADXIndicator extends Indicator<Double> {
+public class ADXIndicator extends Indicator<Double> implements GraphIndicator {
 
     private final int period; // Typically 14
 
@@ -31,6 +36,14 @@ public class ADXIndicator extends Indicator<Double> {
         double[] plusDM = new double[size];
         double[] minusDM = new double[size];
 
+        // True Range comes from the shared kernel when the bars are columnar
+        BarSeries series = BarSeries.unwrap(historicalData);
+        if (series != null) {
+            int offset = series.getOffset();
+            Kernels.get().trueRange(series.highColumn(), series.lowColumn(), series.closeColumn(),
+                    offset + 1, offset + size, trueRange, 1);
+        }
+
         // Calculate initial values
         for (int i = 1; i < size; i++) {
             StatData statData = historicalData.get(i);
@@ -42,10 +55,12 @@ public class ADXIndicator extends Indicator<Double> {
             double prevLow      = prevStatData.getLowPrice();
 
             // True Range
-            double highMinusLow   = currentHigh - currentLow;
-            double highMinusClose = Math.abs(currentHigh - prevClose);
-            double lowMinusClose  = Math.abs(currentLow - prevClose);
-            trueRange[i] = Math.max(highMinusLow, Math.max(highMinusClose, lowMinusClose));
+            if (series == null) {
+                double highMinusLow   = currentHigh - currentLow;
+                double highMinusClose = Math.abs(currentHigh - prevClose);
+                double lowMinusClose  = Math.abs(currentLow - prevClose);
+                trueRange[i] = Math.max(highMinusLow, Math.max(highMinusClose, lowMinusClose));
+            }
 
             // +DM and -DM
             double upMove   = currentHigh - prevHigh;
@@ -157,6 +172,135 @@ public class ADXIndicator extends Indicator<Double> {
         return adx; // Return the last ADX value
     }
 
+    @Override
+    public IndicatorSeries calculateValues(IndicatorGraph graph) {
+        return new IndicatorSeries(graph.evaluate(SeriesNodes.adx(period)).clone());
+    }
+
+    @Override
+    public StreamingIndicator<Double> streaming() {
+        return new Streaming(period);
+    }
+
+    /**
+     * Same Wilder smoothing as {@link #calculate(List)}, but keeping only the running sums.
+     */
+    private static class Streaming extends StreamingIndicator<Double> {
+        private final int period;
+        private int count;
+        private double prevHigh;
+        private double prevLow;
+        private double prevClose;
+        private double smoothedATR;
+        private double smoothedPlusDM;
+        private double smoothedMinusDM;
+        private double sumDX;
+        private double adx;
+
+        Streaming(int period) {
+            this.period = period;
+        }
+
+        @Override
+        public Double update(StatData bar) {
+            double currentHigh = bar.getHighPrice();
+            double currentLow = bar.getLowPrice();
+            int i = count;
+            if (i > 0) {
+                double highMinusLow = currentHigh - currentLow;
+                double highMinusClose = Math.abs(currentHigh - prevClose);
+                double lowMinusClose = Math.abs(currentLow - prevClose);
+                double trueRange = Math.max(highMinusLow, Math.max(highMinusClose, lowMinusClose));
+
+                double upMove = currentHigh - prevHigh;
+                double downMove = prevLow - currentLow;
+                double plusDM = (upMove > downMove && upMove > 0) ? upMove : 0;
+                double minusDM = (downMove > upMove && downMove > 0) ? downMove : 0;
+
+                if (i <= period) {
+                    smoothedATR += trueRange;
+                    smoothedPlusDM += plusDM;
+                    smoothedMinusDM += minusDM;
+                } else {
+                    smoothedATR = (smoothedATR - (smoothedATR / period)) + trueRange;
+                    smoothedPlusDM = (smoothedPlusDM - (smoothedPlusDM / period)) + plusDM;
+                    smoothedMinusDM = (smoothedMinusDM - (smoothedMinusDM / period)) + minusDM;
+                }
+
+                if (i >= period) {
+                    double dx = directionalIndex();
+                    if (i < period * 2) {
+                        sumDX += dx;
+                        if (i == period * 2 - 1) {
+                            adx = sumDX / period;
+                        }
+                    } else {
+                        adx = ((adx * (period - 1)) + dx) / period;
+                    }
+                }
+            }
+            prevHigh = currentHigh;
+            prevLow = currentLow;
+            prevClose = bar.getClosePrice();
+            count++;
+            return getValue();
+        }
+
+        private double directionalIndex() {
+            double plusDI;
+            double minusDI;
+            if (smoothedATR == 0) {
+                plusDI = 0;
+                minusDI = 0;
+            } else {
+                plusDI = (smoothedPlusDM / smoothedATR) * 100;
+                minusDI = (smoothedMinusDM / smoothedATR) * 100;
+            }
+            double sumDI = plusDI + minusDI;
+            double diffDI = Math.abs(plusDI - minusDI);
+            return sumDI == 0 ? 0 : (diffDI / sumDI) * 100;
+        }
+
+        @Override
+        public Double getValue() {
+            if (count < period + 1 || count < period * 2) {
+                return null;
+            }
+            return adx;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public StreamingIndicator<Double> snapshot() {
+            Streaming copy = new Streaming(period);
+            copy.restore(this);
+            return copy;
+        }
+
+        @Override
+        public void restore(StreamingIndicator<Double> snapshot) {
+            Streaming source = cast(snapshot, Streaming.class);
+            count = source.count;
+            prevHigh = source.prevHigh;
+            prevLow = source.prevLow;
+            prevClose = source.prevClose;
+            smoothedATR = source.smoothedATR;
+            smoothedPlusDM = source.smoothedPlusDM;
+            smoothedMinusDM = source.smoothedMinusDM;
+            sumDX = source.sumDX;
+            adx = source.adx;
+        }
+    }
+
+    @Override
+    protected IndicatorKey createKey() {
+        return IndicatorKey.of(getClass(), period);
+    }
+
     @Override
     public String toString() {
         return this.getClass().getSimpleName() + " period=" + period;
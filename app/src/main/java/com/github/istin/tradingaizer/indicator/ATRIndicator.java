@@ -1,11 +1,16 @@
 package com.github.istin.tradingaizer.indicator;
 
+import com.github.istin.tradingaizer.indicator.graph.GraphIndicator;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.indicator.graph.SeriesNodes;
+import com.github.istin.tradingaizer.indicator.kernel.Kernels;
+import com.github.istin.tradingaizer.model.BarSeries;
 import com.github.istin.tradingaizer.trader.StatData;
 
 import java.util.List;
 
 // Average True Range (ATR) Indicator Implementation
-public class ATRIndicator extends Indicator<Double> {
+public class ATRIndicator extends Indicator<Double> implements GraphIndicator {
     private int period;
 
     public ATRIndicator(int period) {
@@ -18,6 +23,10 @@ public class ATRIndicator extends Indicator<Double> {
 //            System.out.println("Not enough data to calculate ATR");
             return null;
         }
+        BarSeries series = BarSeries.unwrap(historicalData);
+        if (series != null) {
+            return calculate(series);
+        }
 
         double atr = 0.0;
         for (int i = 1; i <= period; i++) {
@@ -48,6 +57,97 @@ public class ATRIndicator extends Indicator<Double> {
 
         return atr;
     }
+
+    private double calculate(BarSeries series) {
+        int offset = series.getOffset();
+        double[] trueRanges = new double[series.size() - 1];
+        Kernels.get().trueRange(series.highColumn(), series.lowColumn(), series.closeColumn(),
+                offset + 1, offset + series.size(), trueRanges, 0);
+
+        double atr = 0.0;
+        for (int i = 0; i < period; i++) {
+            atr += trueRanges[i];
+        }
+        atr /= period;
+
+        for (int i = period; i < trueRanges.length; i++) {
+            atr = ((atr * (period - 1)) + trueRanges[i]) / period;
+        }
+        return atr;
+    }
+
+    @Override
+    public IndicatorSeries calculateValues(IndicatorGraph graph) {
+        return new IndicatorSeries(graph.evaluate(SeriesNodes.wilderAverage(SeriesNodes.trueRange(), period)).clone());
+    }
+
+    @Override
+    public StreamingIndicator<Double> streaming() {
+        return new Streaming(period);
+    }
+
+    private static class Streaming extends StreamingIndicator<Double> {
+        private final int period;
+        private int count;
+        private double prevClose;
+        private double atr;
+
+        Streaming(int period) {
+            this.period = period;
+        }
+
+        @Override
+        public Double update(StatData bar) {
+            if (count > 0) {
+                double highLow = bar.getHighPrice() - bar.getLowPrice();
+                double highClose = Math.abs(bar.getHighPrice() - prevClose);
+                double lowClose = Math.abs(bar.getLowPrice() - prevClose);
+                double trueRange = Math.max(highLow, Math.max(highClose, lowClose));
+                if (count <= period) {
+                    atr += trueRange;
+                    if (count == period) {
+                        atr /= period;
+                    }
+                } else {
+                    atr = ((atr * (period - 1)) + trueRange) / period;
+                }
+            }
+            prevClose = bar.getClosePrice();
+            count++;
+            return getValue();
+        }
+
+        @Override
+        public Double getValue() {
+            return count < period + 1 ? null : atr;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public StreamingIndicator<Double> snapshot() {
+            Streaming copy = new Streaming(period);
+            copy.restore(this);
+            return copy;
+        }
+
+        @Override
+        public void restore(StreamingIndicator<Double> snapshot) {
+            Streaming source = cast(snapshot, Streaming.class);
+            count = source.count;
+            prevClose = source.prevClose;
+            atr = source.atr;
+        }
+    }
+
+    @Override
+    protected IndicatorKey createKey() {
+        return IndicatorKey.of(getClass(), period);
+    }
+
     @Override
     public String toString() {
         return this.getClass() + " " + period;
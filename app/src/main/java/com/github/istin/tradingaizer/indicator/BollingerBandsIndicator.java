@@ -1,5 +1,11 @@
 package com.github.istin.tradingaizer.indicator;
 
+import com.github.istin.tradingaizer.indicator.graph.GraphIndicator;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.indicator.graph.SeriesNodes;
+import com.github.istin.tradingaizer.indicator.kernel.IndicatorKernels;
+import com.github.istin.tradingaizer.indicator.kernel.Kernels;
+import com.github.istin.tradingaizer.model.BarSeries;
 import com.github.istin.tradingaizer.trader.StatData;
 import lombok.Data;
 
@@ -10,7 +16,11 @@ import java.util.List;
  * Bollinger Bands indicator calculates the Upper, Middle, and Lower bands
  * for a given period and standard deviation multiplier.
  */
-public class BollingerBandsIndicator extends Indicator<BollingerBandsIndicator.Result> {
+public class BollingerBandsIndicator extends Indicator<BollingerBandsIndicator.Result> implements GraphIndicator {
+
+    public static final int UPPER_BAND = 0;
+    public static final int MIDDLE_BAND = 1;
+    public static final int LOWER_BAND = 2;
 
     private final int period;
     private final double stdDevMultiplier;
@@ -48,18 +58,28 @@ public class BollingerBandsIndicator extends Indicator<BollingerBandsIndicator.R
         // We'll calculate the Bollinger Bands for the most recent bar only
         // If you need a full series, adapt accordingly.
 
-        // 1) Compute the Simple Moving Average (SMA) for the last 'period' bars
-        double sum = 0.0;
-        for (int i = historicalData.size() - period; i < historicalData.size(); i++) {
-            sum += historicalData.get(i).getClosePrice();
-        }
-        double sma = sum / period;
+        BarSeries series = BarSeries.unwrap(historicalData);
+        double sma;
+        double varianceSum;
+        if (series != null) {
+            IndicatorKernels kernels = Kernels.get();
+            int end = series.getOffset() + series.size();
+            sma = kernels.sum(series.closeColumn(), end - period, end) / period;
+            varianceSum = kernels.sumOfSquaredDeviations(series.closeColumn(), end - period, end, sma);
+        } else {
+            // 1) Compute the Simple Moving Average (SMA) for the last 'period' bars
+            double sum = 0.0;
+            for (int i = historicalData.size() - period; i < historicalData.size(); i++) {
+                sum += historicalData.get(i).getClosePrice();
+            }
+            sma = sum / period;
 
-        // 2) Compute the standard deviation over the last 'period' bars
-        double varianceSum = 0.0;
-        for (int i = historicalData.size() - period; i < historicalData.size(); i++) {
-            double diff = historicalData.get(i).getClosePrice() - sma;
-            varianceSum += (diff * diff);
+            // 2) Compute the standard deviation over the last 'period' bars
+            varianceSum = 0.0;
+            for (int i = historicalData.size() - period; i < historicalData.size(); i++) {
+                double diff = historicalData.get(i).getClosePrice() - sma;
+                varianceSum += (diff * diff);
+            }
         }
         double variance = varianceSum / period;
         double stdDev = Math.sqrt(variance);
@@ -77,6 +97,155 @@ public class BollingerBandsIndicator extends Indicator<BollingerBandsIndicator.R
         return bandsResult;
     }
 
+    @Override
+    public IndicatorSeries calculateValues(IndicatorGraph graph) {
+        double[] sma = graph.evaluate(SeriesNodes.sma(SeriesNodes.close(), period));
+        double[] stdDev = graph.evaluate(SeriesNodes.stdDev(SeriesNodes.close(), period));
+        double[] upperBand = new double[sma.length];
+        double[] lowerBand = new double[sma.length];
+        for (int i = 0; i < sma.length; i++) {
+            // NaN while warming up propagates to both bands
+            upperBand[i] = sma[i] + (stdDevMultiplier * stdDev[i]);
+            lowerBand[i] = sma[i] - (stdDevMultiplier * stdDev[i]);
+        }
+        return new IndicatorSeries(upperBand, sma.clone(), lowerBand);
+    }
+
+    @Override
+    public int getOutputCount() {
+        return 3;
+    }
+
+    @Override
+    public double getOutputValue(Result result, int output) {
+        switch (output) {
+            case UPPER_BAND:
+                return result.getUpperBand();
+            case MIDDLE_BAND:
+                return result.getMiddleBand();
+            default:
+                return result.getLowerBand();
+        }
+    }
+
+    @Override
+    public Result toResult(IndicatorSeries values, int index) {
+        if (!values.isReady(index)) {
+            return null;
+        }
+        Result bandsResult = new Result();
+        bandsResult.setUpperBand(values.get(UPPER_BAND, index));
+        bandsResult.setMiddleBand(values.get(MIDDLE_BAND, index));
+        bandsResult.setLowerBand(values.get(LOWER_BAND, index));
+        return bandsResult;
+    }
+
+    @Override
+    public StreamingIndicator<Result> streaming() {
+        return new Streaming(period, stdDevMultiplier);
+    }
+
+    /**
+     * Keeps a ring buffer of the last {@code period} closes plus the sum and sum of squares of their
+     * deviations from a reference price, which keeps the variance numerically stable for large prices.
+     */
+    private static class Streaming extends StreamingIndicator<Result> {
+        private final int period;
+        private final double stdDevMultiplier;
+        private final double[] window;
+        private int count;
+        private int position;
+        private double reference;
+        private double sum;
+        private double sumOfSquares;
+
+        Streaming(int period, double stdDevMultiplier) {
+            this.period = period;
+            this.stdDevMultiplier = stdDevMultiplier;
+            this.window = new double[period];
+        }
+
+        @Override
+        public Result update(StatData bar) {
+            double closePrice = bar.getClosePrice();
+            if (count == 0) {
+                reference = closePrice;
+            }
+            if (count >= period) {
+                double removed = window[position] - reference;
+                sum -= removed;
+                sumOfSquares -= removed * removed;
+            }
+            window[position] = closePrice;
+            double added = closePrice - reference;
+            sum += added;
+            sumOfSquares += added * added;
+            position++;
+            if (position == period) {
+                position = 0;
+                resync();
+            }
+            count++;
+            return getValue();
+        }
+
+        private void resync() {
+            reference = window[period - 1];
+            sum = 0.0;
+            sumOfSquares = 0.0;
+            for (double value : window) {
+                double diff = value - reference;
+                sum += diff;
+                sumOfSquares += diff * diff;
+            }
+        }
+
+        @Override
+        public Result getValue() {
+            if (count < period) {
+                return null;
+            }
+            double mean = sum / period;
+            double variance = Math.max(0.0, sumOfSquares / period - mean * mean);
+            double sma = reference + mean;
+            double stdDev = Math.sqrt(variance);
+
+            Result bandsResult = new Result();
+            bandsResult.setMiddleBand(sma);
+            bandsResult.setUpperBand(sma + (stdDevMultiplier * stdDev));
+            bandsResult.setLowerBand(sma - (stdDevMultiplier * stdDev));
+            return bandsResult;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public StreamingIndicator<Result> snapshot() {
+            Streaming copy = new Streaming(period, stdDevMultiplier);
+            copy.restore(this);
+            return copy;
+        }
+
+        @Override
+        public void restore(StreamingIndicator<Result> snapshot) {
+            Streaming source = cast(snapshot, Streaming.class);
+            System.arraycopy(source.window, 0, window, 0, period);
+            count = source.count;
+            position = source.position;
+            reference = source.reference;
+            sum = source.sum;
+            sumOfSquares = source.sumOfSquares;
+        }
+    }
+
+    @Override
+    protected IndicatorKey createKey() {
+        return IndicatorKey.of(getClass(), period, stdDevMultiplier);
+    }
+
     @Override
     public String toString() {
         return this.getClass().getSimpleName() + " (period=" + period + ", stdDevMultiplier=" + stdDevMultiplier + ")";
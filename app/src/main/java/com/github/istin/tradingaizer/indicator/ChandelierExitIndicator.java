@@ -0,0 +1,158 @@
+package com.github.istin.tradingaizer.indicator;
+
+import com.github.istin.tradingaizer.indicator.graph.GraphIndicator;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.indicator.graph.SeriesNodes;
+import com.github.istin.tradingaizer.trader.StatData;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Chandelier exit: trailing-stop levels hanging {@code atrMultiplier} ATRs below the highest high (for longs)
+ * and above the lowest low (for shorts) of the last {@code period} bars.
+ */
+public class ChandelierExitIndicator extends Indicator<ChandelierExitIndicator.Result> implements GraphIndicator {
+
+    public static final int LONG_STOP = 0;
+    public static final int SHORT_STOP = 1;
+
+    private final int period;
+    private final double atrMultiplier;
+
+    public ChandelierExitIndicator(int period, double atrMultiplier) {
+        this.period = period;
+        this.atrMultiplier = atrMultiplier;
+    }
+
+    @Data
+    public static class Result implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private double longStop;
+        private double shortStop;
+    }
+
+    @Override
+    public Result calculate(List<? extends StatData> historicalData) {
+        Double atr = new ATRIndicator(period).calculate(historicalData);
+        if (atr == null) {
+            return null;
+        }
+
+        double highestHigh = Double.NEGATIVE_INFINITY;
+        double lowestLow = Double.POSITIVE_INFINITY;
+        for (int i = historicalData.size() - period; i < historicalData.size(); i++) {
+            StatData statData = historicalData.get(i);
+            highestHigh = Math.max(highestHigh, statData.getHighPrice());
+            lowestLow = Math.min(lowestLow, statData.getLowPrice());
+        }
+        return createResult(highestHigh, lowestLow, atr);
+    }
+
+    private Result createResult(double highestHigh, double lowestLow, double atr) {
+        Result result = new Result();
+        result.setLongStop(highestHigh - atrMultiplier * atr);
+        result.setShortStop(lowestLow + atrMultiplier * atr);
+        return result;
+    }
+
+    @Override
+    public IndicatorSeries calculateValues(IndicatorGraph graph) {
+        double[] highestHigh = graph.evaluate(SeriesNodes.highest(SeriesNodes.high(), period));
+        double[] lowestLow = graph.evaluate(SeriesNodes.lowest(SeriesNodes.low(), period));
+        double[] atr = graph.evaluate(SeriesNodes.wilderAverage(SeriesNodes.trueRange(), period));
+        double[] longStop = new double[atr.length];
+        double[] shortStop = new double[atr.length];
+        for (int i = 0; i < atr.length; i++) {
+            // NaN while the ATR warms up propagates to both levels
+            longStop[i] = highestHigh[i] - atrMultiplier * atr[i];
+            shortStop[i] = lowestLow[i] + atrMultiplier * atr[i];
+        }
+        return new IndicatorSeries(longStop, shortStop);
+    }
+
+    @Override
+    public int getOutputCount() {
+        return 2;
+    }
+
+    @Override
+    public double getOutputValue(Result result, int output) {
+        return output == LONG_STOP ? result.getLongStop() : result.getShortStop();
+    }
+
+    @Override
+    public Result toResult(IndicatorSeries values, int index) {
+        if (!values.isReady(index)) {
+            return null;
+        }
+        Result result = new Result();
+        result.setLongStop(values.get(LONG_STOP, index));
+        result.setShortStop(values.get(SHORT_STOP, index));
+        return result;
+    }
+
+    @Override
+    public StreamingIndicator<Result> streaming() {
+        return new Streaming(this);
+    }
+
+    private static class Streaming extends StreamingIndicator<Result> {
+        private final ChandelierExitIndicator indicator;
+        private final StreamingIndicator<Double> atr;
+        private final RollingExtreme highestHigh;
+        private final RollingExtreme lowestLow;
+
+        Streaming(ChandelierExitIndicator indicator) {
+            this.indicator = indicator;
+            this.atr = new ATRIndicator(indicator.period).streaming();
+            this.highestHigh = RollingExtreme.max(indicator.period);
+            this.lowestLow = RollingExtreme.min(indicator.period);
+        }
+
+        @Override
+        public Result update(StatData bar) {
+            atr.update(bar);
+            highestHigh.add(bar.getHighPrice());
+            lowestLow.add(bar.getLowPrice());
+            return getValue();
+        }
+
+        @Override
+        public Result getValue() {
+            Double value = atr.getValue();
+            return value == null ? null : indicator.createResult(highestHigh.getValue(), lowestLow.getValue(), value);
+        }
+
+        @Override
+        public int getCount() {
+            return atr.getCount();
+        }
+
+        @Override
+        public StreamingIndicator<Result> snapshot() {
+            Streaming copy = new Streaming(indicator);
+            copy.restore(this);
+            return copy;
+        }
+
+        @Override
+        public void restore(StreamingIndicator<Result> snapshot) {
+            Streaming source = cast(snapshot, Streaming.class);
+            atr.restore(source.atr);
+            highestHigh.restore(source.highestHigh);
+            lowestLow.restore(source.lowestLow);
+        }
+    }
+
+    @Override
+    protected IndicatorKey createKey() {
+        return IndicatorKey.of(getClass(), period, atrMultiplier);
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + " period=" + period + " atrMultiplier=" + atrMultiplier;
+    }
+}
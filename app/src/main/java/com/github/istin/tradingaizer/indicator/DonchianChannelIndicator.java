@@ -0,0 +1,159 @@
+package com.github.istin.tradingaizer.indicator;
+
+import com.github.istin.tradingaizer.indicator.graph.GraphIndicator;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.indicator.graph.SeriesNodes;
+import com.github.istin.tradingaizer.trader.StatData;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Donchian channel: the highest high and the lowest low of the last {@code period} bars, and their midpoint.
+ */
+public class DonchianChannelIndicator extends Indicator<DonchianChannelIndicator.Result> implements GraphIndicator {
+
+    public static final int UPPER_BAND = 0;
+    public static final int MIDDLE_BAND = 1;
+    public static final int LOWER_BAND = 2;
+
+    private final int period;
+
+    public DonchianChannelIndicator(int period) {
+        this.period = period;
+    }
+
+    @Data
+    public static class Result implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private double upperBand;
+        private double middleBand;
+        private double lowerBand;
+    }
+
+    @Override
+    public Result calculate(List<? extends StatData> historicalData) {
+        if (historicalData == null || historicalData.size() < period) {
+            return null;
+        }
+
+        double highestHigh = Double.NEGATIVE_INFINITY;
+        double lowestLow = Double.POSITIVE_INFINITY;
+        for (int i = historicalData.size() - period; i < historicalData.size(); i++) {
+            StatData statData = historicalData.get(i);
+            highestHigh = Math.max(highestHigh, statData.getHighPrice());
+            lowestLow = Math.min(lowestLow, statData.getLowPrice());
+        }
+        return createResult(highestHigh, lowestLow);
+    }
+
+    private static Result createResult(double highestHigh, double lowestLow) {
+        Result result = new Result();
+        result.setUpperBand(highestHigh);
+        result.setMiddleBand((highestHigh + lowestLow) / 2.0);
+        result.setLowerBand(lowestLow);
+        return result;
+    }
+
+    @Override
+    public IndicatorSeries calculateValues(IndicatorGraph graph) {
+        double[] highestHigh = graph.evaluate(SeriesNodes.highest(SeriesNodes.high(), period));
+        double[] lowestLow = graph.evaluate(SeriesNodes.lowest(SeriesNodes.low(), period));
+        double[] middle = new double[highestHigh.length];
+        for (int i = 0; i < middle.length; i++) {
+            middle[i] = (highestHigh[i] + lowestLow[i]) / 2.0;
+        }
+        return new IndicatorSeries(highestHigh.clone(), middle, lowestLow.clone());
+    }
+
+    @Override
+    public int getOutputCount() {
+        return 3;
+    }
+
+    @Override
+    public double getOutputValue(Result result, int output) {
+        switch (output) {
+            case UPPER_BAND:
+                return result.getUpperBand();
+            case MIDDLE_BAND:
+                return result.getMiddleBand();
+            default:
+                return result.getLowerBand();
+        }
+    }
+
+    @Override
+    public Result toResult(IndicatorSeries values, int index) {
+        if (!values.isReady(index)) {
+            return null;
+        }
+        Result result = new Result();
+        result.setUpperBand(values.get(UPPER_BAND, index));
+        result.setMiddleBand(values.get(MIDDLE_BAND, index));
+        result.setLowerBand(values.get(LOWER_BAND, index));
+        return result;
+    }
+
+    @Override
+    public StreamingIndicator<Result> streaming() {
+        return new Streaming(period);
+    }
+
+    private static class Streaming extends StreamingIndicator<Result> {
+        private final int period;
+        private final RollingExtreme highestHigh;
+        private final RollingExtreme lowestLow;
+        private int count;
+
+        Streaming(int period) {
+            this.period = period;
+            this.highestHigh = RollingExtreme.max(period);
+            this.lowestLow = RollingExtreme.min(period);
+        }
+
+        @Override
+        public Result update(StatData bar) {
+            highestHigh.add(bar.getHighPrice());
+            lowestLow.add(bar.getLowPrice());
+            count++;
+            return getValue();
+        }
+
+        @Override
+        public Result getValue() {
+            return count < period ? null : createResult(highestHigh.getValue(), lowestLow.getValue());
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public StreamingIndicator<Result> snapshot() {
+            Streaming copy = new Streaming(period);
+            copy.restore(this);
+            return copy;
+        }
+
+        @Override
+        public void restore(StreamingIndicator<Result> snapshot) {
+            Streaming source = cast(snapshot, Streaming.class);
+            highestHigh.restore(source.highestHigh);
+            lowestLow.restore(source.lowestLow);
+            count = source.count;
+        }
+    }
+
+    @Override
+    protected IndicatorKey createKey() {
+        return IndicatorKey.of(getClass(), period);
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + " period=" + period;
+    }
+}
@@ -1,5 +1,8 @@
 package com.github.istin.tradingaizer.indicator;
 
+import com.github.istin.tradingaizer.indicator.graph.GraphIndicator;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.indicator.graph.SeriesNodes;
 import com.github.istin.tradingaizer.trader.StatData;
 
 import java.util.List;
@@ -7,7 +10,7 @@ import java.util.List;
 /**
  * EMAIndicator calculates the Exponential Moving Average (EMA) over a given period.
  */
-public class EMAIndicator extends Indicator<Double> {
+public class EMAIndicator extends Indicator<Double> implements GraphIndicator {
 
     private final int period;
 
@@ -46,6 +49,75 @@ public class EMAIndicator extends Indicator<Double> {
         return ema;
     }
 
+    @Override
+    public IndicatorSeries calculateValues(IndicatorGraph graph) {
+        return new IndicatorSeries(graph.evaluate(SeriesNodes.ema(SeriesNodes.close(), period, period)).clone());
+    }
+
+    @Override
+    public StreamingIndicator<Double> streaming() {
+        return new Streaming(period);
+    }
+
+    private static class Streaming extends StreamingIndicator<Double> {
+        private final int period;
+        private final double multiplier;
+        private int count;
+        private double sum;
+        private double ema;
+
+        Streaming(int period) {
+            this.period = period;
+            this.multiplier = 2.0 / (period + 1);
+        }
+
+        @Override
+        public Double update(StatData bar) {
+            double closePrice = bar.getClosePrice();
+            if (count < period) {
+                // Accumulate the initial SMA
+                sum += closePrice;
+                if (count == period - 1) {
+                    ema = sum / period;
+                }
+            } else {
+                ema = ((closePrice - ema) * multiplier) + ema;
+            }
+            count++;
+            return getValue();
+        }
+
+        @Override
+        public Double getValue() {
+            return count < period ? null : ema;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public StreamingIndicator<Double> snapshot() {
+            Streaming copy = new Streaming(period);
+            copy.restore(this);
+            return copy;
+        }
+
+        @Override
+        public void restore(StreamingIndicator<Double> snapshot) {
+            Streaming source = cast(snapshot, Streaming.class);
+            count = source.count;
+            sum = source.sum;
+            ema = source.ema;
+        }
+    }
+
+    @Override
+    protected IndicatorKey createKey() {
+        return IndicatorKey.of(getClass(), period);
+    }
+
     @Override
     public String toString() {
         return this.getClass().getSimpleName() + " period=" + period;
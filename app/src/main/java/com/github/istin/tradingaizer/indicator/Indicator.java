@@ -2,10 +2,112 @@ package com.github.istin.tradingaizer.indicator;
 
 import com.github.istin.tradingaizer.trader.StatData;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public abstract class Indicator<Result> {
 
+    private IndicatorKey key;
+    private String cacheKey;
+
     public abstract Result calculate(List<? extends StatData> historicalData);
 
+    /**
+     * Creates a fresh incremental calculator for this indicator. Subclasses override it with an O(1)-per-bar
+     * implementation; the default one replays {@link #calculate(List)} on every bar.
+     */
+    public StreamingIndicator<Result> streaming() {
+        return new ReplayingStreamingIndicator<>(this);
+    }
+
+    /**
+     * Calculates the indicator for every bar in one forward pass: element {@code i} equals
+     * {@code calculate(historicalData.subList(0, i + 1))}.
+     */
+    public List<Result> calculateSeries(List<? extends StatData> historicalData) {
+        StreamingIndicator<Result> streaming = streaming();
+        List<Result> results = new ArrayList<>(historicalData.size());
+        for (StatData statData : historicalData) {
+            results.add(streaming.update(statData));
+        }
+        return results;
+    }
+
+    /**
+     * Number of values in one result: 1 for the {@code Double} indicators, more for MACD and Bollinger Bands.
+     */
+    public int getOutputCount() {
+        return 1;
+    }
+
+    /**
+     * Unboxes one output of a non-null result. The default handles the single-output {@code Double} indicators.
+     */
+    public double getOutputValue(Result result, int output) {
+        return ((Number) result).doubleValue();
+    }
+
+    /**
+     * Boxes the values of one bar back into a result, {@code null} when the bar is not ready. The default handles
+     * the single-output {@code Double} indicators.
+     */
+    @SuppressWarnings("unchecked")
+    public Result toResult(IndicatorSeries values, int index) {
+        return values.isReady(index) ? (Result) Double.valueOf(values.get(index)) : null;
+    }
+
+    /**
+     * Primitive counterpart of {@link #calculateSeries(List)}.
+     */
+    public IndicatorSeries calculateValues(List<? extends StatData> historicalData) {
+        return toValues(calculateSeries(historicalData));
+    }
+
+    /**
+     * Unboxes per-bar results, {@code null} becoming {@link Double#NaN}.
+     */
+    public IndicatorSeries toValues(List<Result> results) {
+        IndicatorSeries values = IndicatorSeries.create(getOutputCount(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            if (result == null) {
+                continue;
+            }
+            for (int output = 0; output < values.getOutputCount(); output++) {
+                values.set(output, i, getOutputValue(result, output));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * {@link #createKey()} computed once; cache lookups on every bar only hash and compare it.
+     */
+    public IndicatorKey getKey() {
+        IndicatorKey result = key;
+        if (result == null) {
+            result = createKey();
+            key = result;
+        }
+        return result;
+    }
+
+    /**
+     * Subclasses return their class and parameters. The default falls back to {@link #toString()}.
+     */
+    protected IndicatorKey createKey() {
+        return IndicatorKey.of(getClass(), toString());
+    }
+
+    /**
+     * Text form of {@link #getKey()}, used to name the disk cache files.
+     */
+    public String getCacheKey() {
+        String result = cacheKey;
+        if (result == null) {
+            result = getKey().toString();
+            cacheKey = result;
+        }
+        return result;
+    }
 }
@@ -0,0 +1,78 @@
+package com.github.istin.tradingaizer.indicator;
+
+import java.util.Arrays;
+
+/**
+ * Identity of an indicator configuration: its class plus its numeric parameters. Two instances with the same key
+ * produce the same values, so caches can share them. Immutable, with the hash computed once.
+ */
+public final class IndicatorKey {
+
+    private final Class<?> type;
+    private final double[] parameters;
+    // Only for indicators that don't declare their parameters, see Indicator#createKey()
+    private final String description;
+    private final int hash;
+
+    private IndicatorKey(Class<?> type, double[] parameters, String description) {
+        this.type = type;
+        this.parameters = parameters;
+        this.description = description;
+        int result = type.hashCode();
+        result = 31 * result + Arrays.hashCode(parameters);
+        result = 31 * result + (description == null ? 0 : description.hashCode());
+        this.hash = result;
+    }
+
+    public static IndicatorKey of(Class<?> type, double... parameters) {
+        return new IndicatorKey(type, parameters.clone(), null);
+    }
+
+    public static IndicatorKey of(Class<?> type, String description) {
+        return new IndicatorKey(type, new double[0], description);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IndicatorKey)) {
+            return false;
+        }
+        IndicatorKey that = (IndicatorKey) o;
+        return hash == that.hash
+                && type == that.type
+                && Arrays.equals(parameters, that.parameters)
+                && (description == null ? that.description == null : description.equals(that.description));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Stable across runs, used to name the disk cache files.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(type.getName());
+        for (double parameter : parameters) {
+            builder.append(' ');
+            if (parameter == Math.rint(parameter) && Math.abs(parameter) < 1e15) {
+                builder.append((long) parameter);
+            } else {
+                builder.append(parameter);
+            }
+        }
+        if (description != null) {
+            builder.append(' ').append(description);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.istin.tradingaizer.indicator;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Unboxed values of an indicator for every bar, one {@code double[]} column per output (MACD has the MACD and
+ * signal columns, Bollinger the three bands). {@link Double#NaN} marks bars where the indicator is not ready,
+ * where {@link Indicator#calculate(java.util.List)} returns {@code null}.
+ */
+public final class IndicatorSeries implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double[][] columns;
+    private final int size;
+
+    /**
+     * Wraps the given columns without copying; they must all have the same length and must not be changed later.
+     */
+    public IndicatorSeries(double[]... columns) {
+        this(columns[0].length, columns);
+    }
+
+    /**
+     * Wraps the first {@code size} values of the columns, the rest being spare capacity for
+     * {@link IndicatorSeriesUpdater}.
+     */
+    IndicatorSeries(int size, double[][] columns) {
+        this.columns = columns;
+        this.size = size;
+        for (double[] column : columns) {
+            if (column.length != columns[0].length || column.length < size) {
+                throw new IllegalArgumentException("Columns have different lengths");
+            }
+        }
+    }
+
+    /**
+     * Creates {@code outputs} columns of {@code size} not-ready values.
+     */
+    public static IndicatorSeries create(int outputs, int size) {
+        double[][] columns = new double[outputs][size];
+        for (double[] column : columns) {
+            Arrays.fill(column, Double.NaN);
+        }
+        return new IndicatorSeries(columns);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getOutputCount() {
+        return columns.length;
+    }
+
+    public double get(int output, int index) {
+        return columns[output][index];
+    }
+
+    public double get(int index) {
+        return columns[0][index];
+    }
+
+    public boolean isReady(int index) {
+        return !Double.isNaN(columns[0][index]);
+    }
+
+    /**
+     * Raw column, for callers that scan a whole output. Valid indices are {@code [0, size())}, the array may be
+     * longer. Must not be modified.
+     */
+    public double[] column(int output) {
+        return columns[output];
+    }
+
+    /**
+     * Approximate heap footprint: the column arrays plus object headers.
+     */
+    public long getSizeInBytes() {
+        return 32L + columns.length * (16L + 8L * columns[0].length);
+    }
+
+    double[][] columns() {
+        return columns;
+    }
+
+    void set(int output, int index, double value) {
+        columns[output][index] = value;
+    }
+}
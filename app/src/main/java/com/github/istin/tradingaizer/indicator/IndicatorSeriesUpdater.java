@@ -0,0 +1,73 @@
+package com.github.istin.tradingaizer.indicator;
+
+import com.github.istin.tradingaizer.model.BarSeries;
+
+import java.util.Arrays;
+
+/**
+ * Extends the values of one indicator as bars are appended to its series, in O(1) per bar once the streaming
+ * state has caught up with the bars it starts from. The last bar may still be forming: it is evaluated on a copy
+ * of the streaming state, so the next update can evaluate it again.
+ * <p>
+ * The first update copies the values into columns with spare capacity; later updates write into them, so the
+ * value of the forming bar changes in the series returned before.
+ */
+public class IndicatorSeriesUpdater<Result> {
+
+    private final Indicator<Result> indicator;
+    private final StreamingIndicator<Result> streaming;
+    private final StreamingIndicator<Result> saved;
+    private IndicatorSeries values;
+    private boolean ownsColumns;
+
+    public IndicatorSeriesUpdater(Indicator<Result> indicator, IndicatorSeries values) {
+        this.indicator = indicator;
+        this.values = values;
+        this.streaming = indicator.streaming();
+        this.saved = streaming.snapshot();
+    }
+
+    /**
+     * @return values for every bar of {@code series}: the ones given at construction, then the incremental ones
+     */
+    public IndicatorSeries update(BarSeries series) {
+        int size = series.size();
+        if (size == 0) {
+            return values;
+        }
+        // Every bar but the last one is final
+        while (streaming.getCount() < size - 1) {
+            streaming.update(series.bar(streaming.getCount()));
+        }
+        saved.restore(streaming);
+        Result result = streaming.update(series.bar(size - 1));
+        streaming.restore(saved);
+
+        ensureCapacity(size);
+        values = new IndicatorSeries(size, values.columns());
+        for (int output = 0; output < values.getOutputCount(); output++) {
+            values.set(output, size - 1, result == null ? Double.NaN : indicator.getOutputValue(result, output));
+        }
+        return values;
+    }
+
+    public IndicatorSeries getValues() {
+        return values;
+    }
+
+    private void ensureCapacity(int size) {
+        double[][] columns = values.columns();
+        int capacity = columns[0].length;
+        if (ownsColumns && size <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(size, values.size() + (values.size() >> 1) + 16);
+        double[][] grown = new double[columns.length][];
+        for (int output = 0; output < columns.length; output++) {
+            grown[output] = Arrays.copyOf(columns[output], newCapacity);
+            Arrays.fill(grown[output], values.size(), newCapacity, Double.NaN);
+        }
+        values = new IndicatorSeries(values.size(), grown);
+        ownsColumns = true;
+    }
+}
@@ -1,12 +1,18 @@
 package com.github.istin.tradingaizer.indicator;
 
+import com.github.istin.tradingaizer.indicator.graph.GraphIndicator;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.indicator.graph.SeriesNodes;
 import com.github.istin.tradingaizer.trader.StatData;
 import lombok.Data;
 
 import java.io.Serializable;
 import java.util.List;
 
-public class MACDIndicator extends Indicator<MACDIndicator.Result> {
+public class MACDIndicator extends Indicator<MACDIndicator.Result> implements GraphIndicator {
+    public static final int MACD = 0;
+    public static final int SIGNAL_LINE = 1;
+
     private int fastPeriod;
     private int slowPeriod;
     private int signalPeriod;
@@ -91,6 +97,139 @@ public class MACDIndicator extends Indicator<MACDIndicator.Result> {
         }
     }
 
+    @Override
+    public IndicatorSeries calculateValues(IndicatorGraph graph) {
+        double[] fastEMA = graph.evaluate(SeriesNodes.ema(SeriesNodes.close(), fastPeriod, slowPeriod));
+        double[] slowEMA = graph.evaluate(SeriesNodes.ema(SeriesNodes.close(), slowPeriod, slowPeriod));
+        double signalMultiplier = 2.0 / (signalPeriod + 1);
+
+        IndicatorSeries values = IndicatorSeries.create(2, slowEMA.length);
+        // calculate() never seeds the first signal value, so it starts from zero
+        double signalLine = 0;
+        for (int i = slowPeriod - 1; i < slowEMA.length; i++) {
+            double macd = fastEMA[i] - slowEMA[i];
+            if (i >= slowPeriod) {
+                signalLine = ((macd - signalLine) * signalMultiplier) + signalLine;
+            }
+            values.set(MACD, i, macd - signalLine);
+            values.set(SIGNAL_LINE, i, signalLine);
+        }
+        return values;
+    }
+
+    @Override
+    public int getOutputCount() {
+        return 2;
+    }
+
+    @Override
+    public double getOutputValue(Result result, int output) {
+        return output == MACD ? result.getMacd() : result.getSignalLine();
+    }
+
+    @Override
+    public Result toResult(IndicatorSeries values, int index) {
+        if (!values.isReady(index)) {
+            return null;
+        }
+        Result result = new Result();
+        result.setMacd(values.get(MACD, index));
+        result.setSignalLine(values.get(SIGNAL_LINE, index));
+        return result;
+    }
+
+    @Override
+    public StreamingIndicator<Result> streaming() {
+        return new Streaming(fastPeriod, slowPeriod, signalPeriod);
+    }
+
+    private static class Streaming extends StreamingIndicator<Result> {
+        private final int fastPeriod;
+        private final int slowPeriod;
+        private final int signalPeriod;
+        private final double fastMultiplier;
+        private final double slowMultiplier;
+        private final double signalMultiplier;
+        private int count;
+        private double fastEMA;
+        private double slowEMA;
+        private double macd;
+        private double signalLine;
+
+        Streaming(int fastPeriod, int slowPeriod, int signalPeriod) {
+            this.fastPeriod = fastPeriod;
+            this.slowPeriod = slowPeriod;
+            this.signalPeriod = signalPeriod;
+            this.fastMultiplier = 2.0 / (fastPeriod + 1);
+            this.slowMultiplier = 2.0 / (slowPeriod + 1);
+            this.signalMultiplier = 2.0 / (signalPeriod + 1);
+        }
+
+        @Override
+        public Result update(StatData bar) {
+            double closePrice = bar.getClosePrice();
+            if (count < slowPeriod) {
+                // Initial SMAs for fast and slow periods
+                if (count < fastPeriod) {
+                    fastEMA += closePrice;
+                }
+                slowEMA += closePrice;
+                if (count == slowPeriod - 1) {
+                    fastEMA /= fastPeriod;
+                    slowEMA /= slowPeriod;
+                    macd = fastEMA - slowEMA;
+                    // calculate() never seeds the first signal value, so it starts from zero
+                    signalLine = 0;
+                }
+            } else {
+                fastEMA = ((closePrice - fastEMA) * fastMultiplier) + fastEMA;
+                slowEMA = ((closePrice - slowEMA) * slowMultiplier) + slowEMA;
+                macd = fastEMA - slowEMA;
+                signalLine = ((macd - signalLine) * signalMultiplier) + signalLine;
+            }
+            count++;
+            return getValue();
+        }
+
+        @Override
+        public Result getValue() {
+            if (count < slowPeriod) {
+                return null;
+            }
+            Result result = new Result();
+            result.setMacd(macd - signalLine);
+            result.setSignalLine(signalLine);
+            return result;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public StreamingIndicator<Result> snapshot() {
+            Streaming copy = new Streaming(fastPeriod, slowPeriod, signalPeriod);
+            copy.restore(this);
+            return copy;
+        }
+
+        @Override
+        public void restore(StreamingIndicator<Result> snapshot) {
+            Streaming source = cast(snapshot, Streaming.class);
+            count = source.count;
+            fastEMA = source.fastEMA;
+            slowEMA = source.slowEMA;
+            macd = source.macd;
+            signalLine = source.signalLine;
+        }
+    }
+
+    @Override
+    protected IndicatorKey createKey() {
+        return IndicatorKey.of(getClass(), fastPeriod, slowPeriod, signalPeriod);
+    }
+
     @Override
     public String toString() {
         return this.getClass() + " " + fastPeriod + " " + slowPeriod + " " + signalPeriod;
@@ -1,10 +1,15 @@
 package com.github.istin.tradingaizer.indicator;
 
+import com.github.istin.tradingaizer.indicator.graph.GraphIndicator;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.indicator.graph.SeriesNodes;
+import com.github.istin.tradingaizer.indicator.kernel.Kernels;
+import com.github.istin.tradingaizer.model.BarSeries;
 import com.github.istin.tradingaizer.trader.StatData;
 
 import java.util.List;
 
-public class MovingAverageIndicator extends Indicator<Double> {
+public class MovingAverageIndicator extends Indicator<Double> implements GraphIndicator {
     private int period;
 
     public MovingAverageIndicator(int period) {
@@ -19,6 +24,12 @@ public class MovingAverageIndicator extends Indicator<Double> {
             return null;
         }
 
+        BarSeries series = BarSeries.unwrap(historicalData);
+        if (series != null) {
+            int end = series.getOffset() + size;
+            return Kernels.get().sum(series.closeColumn(), end - period, end) / period;
+        }
+
         double sum = 0.0;
         for (int i = size - period; i < size; i++) {
             sum += historicalData.get(i).getClosePrice();
@@ -27,6 +38,78 @@ public class MovingAverageIndicator extends Indicator<Double> {
         return sum / period;
     }
 
+    @Override
+    public IndicatorSeries calculateValues(IndicatorGraph graph) {
+        return new IndicatorSeries(graph.evaluate(SeriesNodes.sma(SeriesNodes.close(), period)).clone());
+    }
+
+    @Override
+    public StreamingIndicator<Double> streaming() {
+        return new Streaming(period);
+    }
+
+    private static class Streaming extends StreamingIndicator<Double> {
+        private final int period;
+        private final double[] window;
+        private int count;
+        private int position;
+        private double sum;
+
+        Streaming(int period) {
+            this.period = period;
+            this.window = new double[period];
+        }
+
+        @Override
+        public Double update(StatData bar) {
+            double closePrice = bar.getClosePrice();
+            sum += closePrice - window[position];
+            window[position] = closePrice;
+            position++;
+            if (position == period) {
+                position = 0;
+                // The window is in chronological order again: re-sum it to drop accumulated rounding error
+                sum = 0.0;
+                for (double value : window) {
+                    sum += value;
+                }
+            }
+            count++;
+            return getValue();
+        }
+
+        @Override
+        public Double getValue() {
+            return count < period ? null : sum / period;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public StreamingIndicator<Double> snapshot() {
+            Streaming copy = new Streaming(period);
+            copy.restore(this);
+            return copy;
+        }
+
+        @Override
+        public void restore(StreamingIndicator<Double> snapshot) {
+            Streaming source = cast(snapshot, Streaming.class);
+            System.arraycopy(source.window, 0, window, 0, period);
+            count = source.count;
+            position = source.position;
+            sum = source.sum;
+        }
+    }
+
+    @Override
+    protected IndicatorKey createKey() {
+        return IndicatorKey.of(getClass(), period);
+    }
+
     @Override
     public String toString() {
         return this.getClass() + " " + period;
@@ -1,5 +1,7 @@
 package com.github.istin.tradingaizer.indicator;
 
+import com.github.istin.tradingaizer.indicator.kernel.Kernels;
+import com.github.istin.tradingaizer.model.BarSeries;
 import com.github.istin.tradingaizer.trader.StatData;
 
 import java.util.List;
@@ -13,6 +15,12 @@ public class OBVIndicator extends Indicator<Double> {
             return null;
         }
 
+        BarSeries series = BarSeries.unwrap(historicalData);
+        if (series != null) {
+            int offset = series.getOffset();
+            return Kernels.get().signedVolumeSum(series.closeColumn(), series.volumeColumn(), offset + 1, offset + series.size());
+        }
+
         double obv = 0.0;
 
         for (int i = 1; i < historicalData.size(); i++) {
@@ -34,6 +42,62 @@ public class OBVIndicator extends Indicator<Double> {
         return obv;
     }
 
+    @Override
+    public StreamingIndicator<Double> streaming() {
+        return new Streaming();
+    }
+
+    private static class Streaming extends StreamingIndicator<Double> {
+        private int count;
+        private double prevClose;
+        private double obv;
+
+        @Override
+        public Double update(StatData bar) {
+            double currentClosePrice = bar.getClosePrice();
+            if (count > 0) {
+                if (currentClosePrice > prevClose) {
+                    obv += bar.getVolume();
+                } else if (currentClosePrice < prevClose) {
+                    obv -= bar.getVolume();
+                }
+            }
+            prevClose = currentClosePrice;
+            count++;
+            return getValue();
+        }
+
+        @Override
+        public Double getValue() {
+            return count < 2 ? null : obv;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public StreamingIndicator<Double> snapshot() {
+            Streaming copy = new Streaming();
+            copy.restore(this);
+            return copy;
+        }
+
+        @Override
+        public void restore(StreamingIndicator<Double> snapshot) {
+            Streaming source = cast(snapshot, Streaming.class);
+            count = source.count;
+            prevClose = source.prevClose;
+            obv = source.obv;
+        }
+    }
+
+    @Override
+    protected IndicatorKey createKey() {
+        return IndicatorKey.of(getClass());
+    }
+
     @Override
     public String toString() {
         return this.getClass().getSimpleName();
@@ -54,6 +54,92 @@ public class RSIIndicator extends Indicator<Double> {
         return 100 - (100 / (1 + rs));
     }
 
+    @Override
+    public StreamingIndicator<Double> streaming() {
+        return new Streaming(period);
+    }
+
+    private static class Streaming extends StreamingIndicator<Double> {
+        private final int period;
+        private int count;
+        private double prevClose;
+        private double gain;
+        private double loss;
+        private double avgGain;
+        private double avgLoss;
+
+        Streaming(int period) {
+            this.period = period;
+        }
+
+        @Override
+        public Double update(StatData bar) {
+            double closePrice = bar.getClosePrice();
+            if (count > 0) {
+                double change = closePrice - prevClose;
+                if (count <= period) {
+                    // Initial gains and losses
+                    if (change > 0) {
+                        gain += change;
+                    } else {
+                        loss += Math.abs(change);
+                    }
+                    if (count == period) {
+                        avgGain = gain / period;
+                        avgLoss = loss / period;
+                    }
+                } else if (change > 0) {
+                    avgGain = ((avgGain * (period - 1)) + change) / period;
+                    avgLoss = (avgLoss * (period - 1)) / period;
+                } else {
+                    avgLoss = ((avgLoss * (period - 1)) + Math.abs(change)) / period;
+                    avgGain = (avgGain * (period - 1)) / period;
+                }
+            }
+            prevClose = closePrice;
+            count++;
+            return getValue();
+        }
+
+        @Override
+        public Double getValue() {
+            if (count < period + 1) {
+                return null;
+            }
+            if (avgLoss == 0) return 100d;
+            double rs = avgGain / avgLoss;
+            return 100 - (100 / (1 + rs));
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public StreamingIndicator<Double> snapshot() {
+            Streaming copy = new Streaming(period);
+            copy.restore(this);
+            return copy;
+        }
+
+        @Override
+        public void restore(StreamingIndicator<Double> snapshot) {
+            Streaming source = cast(snapshot, Streaming.class);
+            count = source.count;
+            prevClose = source.prevClose;
+            gain = source.gain;
+            loss = source.loss;
+            avgGain = source.avgGain;
+            avgLoss = source.avgLoss;
+        }
+    }
+
+    @Override
+    protected IndicatorKey createKey() {
+        return IndicatorKey.of(getClass(), period);
+    }
+
     @Override
     public String toString() {
         return this.getClass() + " " + period;
@@ -0,0 +1,55 @@
+package com.github.istin.tradingaizer.indicator;
+
+import com.github.istin.tradingaizer.trader.StatData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fallback for indicators without a native incremental implementation: keeps the bars and replays
+ * {@link Indicator#calculate(List)} on every update.
+ */
+class ReplayingStreamingIndicator<Result> extends StreamingIndicator<Result> {
+
+    private final Indicator<Result> indicator;
+    private List<StatData> bars;
+    private Result value;
+
+    ReplayingStreamingIndicator(Indicator<Result> indicator) {
+        this.indicator = indicator;
+        this.bars = new ArrayList<>();
+    }
+
+    @Override
+    public Result update(StatData bar) {
+        bars.add(bar);
+        value = indicator.calculate(bars);
+        return value;
+    }
+
+    @Override
+    public Result getValue() {
+        return value;
+    }
+
+    @Override
+    public int getCount() {
+        return bars.size();
+    }
+
+    @Override
+    public StreamingIndicator<Result> snapshot() {
+        ReplayingStreamingIndicator<Result> copy = new ReplayingStreamingIndicator<>(indicator);
+        copy.bars = new ArrayList<>(bars);
+        copy.value = value;
+        return copy;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restore(StreamingIndicator<Result> snapshot) {
+        ReplayingStreamingIndicator<Result> source = cast(snapshot, ReplayingStreamingIndicator.class);
+        this.bars = new ArrayList<>(source.bars);
+        this.value = source.value;
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.istin.tradingaizer.indicator;
+
+/**
+ * Maximum or minimum of the last {@code period} values in O(1) amortized per value. Keeps a monotonic deque of
+ * the values that can still become the extreme: a new value evicts every older value it dominates, and the head
+ * leaves the deque once it is out of the window.
+ */
+public final class RollingExtreme {
+
+    private final int period;
+    private final boolean maximum;
+    private final double[] values;
+    private final long[] positions;
+    private int head;
+    private int size;
+    private long count;
+
+    private RollingExtreme(int period, boolean maximum) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be positive: " + period);
+        }
+        this.period = period;
+        this.maximum = maximum;
+        this.values = new double[period];
+        this.positions = new long[period];
+    }
+
+    public static RollingExtreme max(int period) {
+        return new RollingExtreme(period, true);
+    }
+
+    public static RollingExtreme min(int period) {
+        return new RollingExtreme(period, false);
+    }
+
+    /**
+     * Adds the next value and returns the extreme of the last {@code period} values, including this one.
+     */
+    public double add(double value) {
+        // The head leaves the window [count - period + 1, count]
+        if (size > 0 && positions[head] <= count - period) {
+            head = (head + 1) % period;
+            size--;
+        }
+        // Older values dominated by the new one can never be the extreme again
+        while (size > 0) {
+            int tail = (head + size - 1) % period;
+            if (maximum ? values[tail] > value : values[tail] < value) {
+                break;
+            }
+            size--;
+        }
+        int tail = (head + size) % period;
+        values[tail] = value;
+        positions[tail] = count;
+        size++;
+        count++;
+        return values[head];
+    }
+
+    /**
+     * @return the extreme of the window, {@link Double#NaN} before the first value
+     */
+    public double getValue() {
+        return size == 0 ? Double.NaN : values[head];
+    }
+
+    /**
+     * @return true once {@code period} values were added, so the window is full
+     */
+    public boolean isFull() {
+        return count >= period;
+    }
+
+    public RollingExtreme copy() {
+        RollingExtreme copy = new RollingExtreme(period, maximum);
+        copy.restore(this);
+        return copy;
+    }
+
+    public void restore(RollingExtreme source) {
+        if (source.period != period || source.maximum != maximum) {
+            throw new IllegalArgumentException("Cannot restore from a different window");
+        }
+        System.arraycopy(source.values, 0, values, 0, period);
+        System.arraycopy(source.positions, 0, positions, 0, period);
+        head = source.head;
+        size = source.size;
+        count = source.count;
+    }
+}
@@ -0,0 +1,186 @@
+package com.github.istin.tradingaizer.indicator;
+
+import com.github.istin.tradingaizer.indicator.graph.GraphIndicator;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.indicator.graph.SeriesNodes;
+import com.github.istin.tradingaizer.trader.StatData;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Stochastic oscillator: %K is where the close sits in the high-low range of the last {@code kPeriod} bars
+ * (0..100, 50 for a flat range), %D is the simple average of the last {@code dPeriod} %K values.
+ */
+public class StochasticIndicator extends Indicator<StochasticIndicator.Result> implements GraphIndicator {
+
+    public static final int K = 0;
+    public static final int D = 1;
+
+    private final int kPeriod;
+    private final int dPeriod;
+
+    public StochasticIndicator(int kPeriod, int dPeriod) {
+        this.kPeriod = kPeriod;
+        this.dPeriod = dPeriod;
+    }
+
+    @Data
+    public static class Result implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private double k;
+        private double d;
+    }
+
+    @Override
+    public Result calculate(List<? extends StatData> historicalData) {
+        if (historicalData == null || historicalData.size() < kPeriod + dPeriod - 1) {
+            return null;
+        }
+
+        // %K of the last dPeriod bars, each over its own kPeriod window
+        int size = historicalData.size();
+        int from = size - kPeriod - dPeriod + 1;
+        RollingExtreme highestHigh = RollingExtreme.max(kPeriod);
+        RollingExtreme lowestLow = RollingExtreme.min(kPeriod);
+        double k = 0;
+        double sumK = 0;
+        for (int i = from; i < size; i++) {
+            StatData statData = historicalData.get(i);
+            highestHigh.add(statData.getHighPrice());
+            lowestLow.add(statData.getLowPrice());
+            if (i >= from + kPeriod - 1) {
+                k = percentK(highestHigh.getValue(), lowestLow.getValue(), statData.getClosePrice());
+                sumK += k;
+            }
+        }
+
+        Result result = new Result();
+        result.setK(k);
+        result.setD(sumK / dPeriod);
+        return result;
+    }
+
+    public static double percentK(double highestHigh, double lowestLow, double close) {
+        double range = highestHigh - lowestLow;
+        if (range == 0) {
+            return 50.0;
+        }
+        return 100.0 * (close - lowestLow) / range;
+    }
+
+    @Override
+    public IndicatorSeries calculateValues(IndicatorGraph graph) {
+        double[] k = graph.evaluate(SeriesNodes.stochasticK(kPeriod));
+        double[] d = graph.evaluate(SeriesNodes.sma(SeriesNodes.stochasticK(kPeriod), dPeriod));
+        double[] readyK = new double[k.length];
+        for (int i = 0; i < readyK.length; i++) {
+            // The result needs both lines, %K alone is ready dPeriod - 1 bars earlier
+            readyK[i] = Double.isNaN(d[i]) ? Double.NaN : k[i];
+        }
+        return new IndicatorSeries(readyK, d.clone());
+    }
+
+    @Override
+    public int getOutputCount() {
+        return 2;
+    }
+
+    @Override
+    public double getOutputValue(Result result, int output) {
+        return output == K ? result.getK() : result.getD();
+    }
+
+    @Override
+    public Result toResult(IndicatorSeries values, int index) {
+        if (!values.isReady(index)) {
+            return null;
+        }
+        Result result = new Result();
+        result.setK(values.get(K, index));
+        result.setD(values.get(D, index));
+        return result;
+    }
+
+    @Override
+    public StreamingIndicator<Result> streaming() {
+        return new Streaming(kPeriod, dPeriod);
+    }
+
+    private static class Streaming extends StreamingIndicator<Result> {
+        private final int kPeriod;
+        private final int dPeriod;
+        private final RollingExtreme highestHigh;
+        private final RollingExtreme lowestLow;
+        // Last dPeriod %K values, summed in bar order like calculate() does
+        private final double[] lastK;
+        private int count;
+
+        Streaming(int kPeriod, int dPeriod) {
+            this.kPeriod = kPeriod;
+            this.dPeriod = dPeriod;
+            this.highestHigh = RollingExtreme.max(kPeriod);
+            this.lowestLow = RollingExtreme.min(kPeriod);
+            this.lastK = new double[dPeriod];
+        }
+
+        @Override
+        public Result update(StatData bar) {
+            double hh = highestHigh.add(bar.getHighPrice());
+            double ll = lowestLow.add(bar.getLowPrice());
+            if (count >= kPeriod - 1) {
+                lastK[(count - kPeriod + 1) % dPeriod] = percentK(hh, ll, bar.getClosePrice());
+            }
+            count++;
+            return getValue();
+        }
+
+        @Override
+        public Result getValue() {
+            if (count < kPeriod + dPeriod - 1) {
+                return null;
+            }
+            int newest = (count - kPeriod) % dPeriod;
+            double sumK = 0;
+            for (int i = 1; i <= dPeriod; i++) {
+                sumK += lastK[(newest + i) % dPeriod];
+            }
+            Result result = new Result();
+            result.setK(lastK[newest]);
+            result.setD(sumK / dPeriod);
+            return result;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public StreamingIndicator<Result> snapshot() {
+            Streaming copy = new Streaming(kPeriod, dPeriod);
+            copy.restore(this);
+            return copy;
+        }
+
+        @Override
+        public void restore(StreamingIndicator<Result> snapshot) {
+            Streaming source = cast(snapshot, Streaming.class);
+            highestHigh.restore(source.highestHigh);
+            lowestLow.restore(source.lowestLow);
+            System.arraycopy(source.lastK, 0, lastK, 0, dPeriod);
+            count = source.count;
+        }
+    }
+
+    @Override
+    protected IndicatorKey createKey() {
+        return IndicatorKey.of(getClass(), kPeriod, dPeriod);
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + " kPeriod=" + kPeriod + " dPeriod=" + dPeriod;
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.istin.tradingaizer.indicator;
+
+import com.github.istin.tradingaizer.trader.StatData;
+
+/**
+ * Incremental counterpart of {@link Indicator}. Instead of replaying the whole history on every call,
+ * a streaming indicator keeps its running state (Wilder averages, EMAs, rolling windows) and consumes
+ * one bar at a time in O(1).
+ * <p>
+ * After {@code n} calls to {@link #update(StatData)} the value is the same as
+ * {@link Indicator#calculate(java.util.List)} over those {@code n} bars.
+ */
+public abstract class StreamingIndicator<Result> {
+
+    /**
+     * Consumes the next bar and returns the indicator value including it ({@code null} while warming up).
+     */
+    public abstract Result update(StatData bar);
+
+    /**
+     * @return the value after the last consumed bar, {@code null} while warming up
+     */
+    public abstract Result getValue();
+
+    /**
+     * @return number of bars consumed so far
+     */
+    public abstract int getCount();
+
+    /**
+     * @return an independent copy of the current state
+     */
+    public abstract StreamingIndicator<Result> snapshot();
+
+    /**
+     * Rewinds this indicator to a state previously taken with {@link #snapshot()} on the same indicator.
+     */
+    public abstract void restore(StreamingIndicator<Result> snapshot);
+
+    @SuppressWarnings("unchecked")
+    static <T extends StreamingIndicator<?>> T cast(StreamingIndicator<?> snapshot, Class<T> type) {
+        if (!type.isInstance(snapshot)) {
+            throw new IllegalArgumentException("Snapshot of " + snapshot.getClass().getName() + " can't be restored into " + type.getName());
+        }
+        return (T) snapshot;
+    }
+}
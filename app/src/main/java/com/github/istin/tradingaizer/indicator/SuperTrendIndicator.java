@@ -1,10 +1,15 @@
 package com.github.istin.tradingaizer.indicator;
 
+import com.github.istin.tradingaizer.indicator.graph.GraphIndicator;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.indicator.graph.SeriesNodes;
+import com.github.istin.tradingaizer.indicator.kernel.Kernels;
+import com.github.istin.tradingaizer.model.BarSeries;
 import com.github.istin.tradingaizer.trader.StatData;
 
 import java.util.List;
 
-public class SuperTrendIndicator extends Indicator<Double> {
+public class SuperTrendIndicator extends Indicator<Double> implements GraphIndicator {
 
     private final int atrPeriod;
     private final double multiplier;
@@ -29,14 +34,21 @@ public class SuperTrendIndicator extends Indicator<Double> {
         //   - Then for each subsequent TR, do: ATR = ((prevATR*(period-1)) + currentTR) / period
         double[] trValues = new double[size];
         // TR starts from index 1 onward
-        for (int i = 1; i < size; i++) {
-            double high = historicalData.get(i).getHighPrice();
-            double low  = historicalData.get(i).getLowPrice();
-            double prevClose = historicalData.get(i - 1).getClosePrice();
-            double range1 = high - low;
-            double range2 = Math.abs(high - prevClose);
-            double range3 = Math.abs(low - prevClose);
-            trValues[i] = Math.max(range1, Math.max(range2, range3));
+        BarSeries series = BarSeries.unwrap(historicalData);
+        if (series != null) {
+            int offset = series.getOffset();
+            Kernels.get().trueRange(series.highColumn(), series.lowColumn(), series.closeColumn(),
+                    offset + 1, offset + size, trValues, 1);
+        } else {
+            for (int i = 1; i < size; i++) {
+                double high = historicalData.get(i).getHighPrice();
+                double low  = historicalData.get(i).getLowPrice();
+                double prevClose = historicalData.get(i - 1).getClosePrice();
+                double range1 = high - low;
+                double range2 = Math.abs(high - prevClose);
+                double range3 = Math.abs(low - prevClose);
+                trValues[i] = Math.max(range1, Math.max(range2, range3));
+            }
         }
 
         // Initial ATR = average of the first 'atrPeriod' TRs, i.e. from i=1..atrPeriod
@@ -65,6 +77,105 @@ public class SuperTrendIndicator extends Indicator<Double> {
         return (lastClose > basicLowerBand) ? 1.0 : -1.0;
     }
 
+    @Override
+    public IndicatorSeries calculateValues(IndicatorGraph graph) {
+        BarSeries series = graph.getSeries();
+        double[] atr = graph.evaluate(SeriesNodes.wilderAverage(SeriesNodes.trueRange(), atrPeriod));
+        double[] signals = new double[atr.length];
+        for (int i = 0; i < atr.length; i++) {
+            if (Double.isNaN(atr[i])) {
+                signals[i] = Double.NaN;
+                continue;
+            }
+            double midPoint = (series.getHigh(i) + series.getLow(i)) / 2.0;
+            double basicLowerBand = midPoint - (multiplier * atr[i]);
+            signals[i] = series.getClose(i) > basicLowerBand ? 1.0 : -1.0;
+        }
+        return new IndicatorSeries(signals);
+    }
+
+    @Override
+    public StreamingIndicator<Double> streaming() {
+        return new Streaming(atrPeriod, multiplier);
+    }
+
+    private static class Streaming extends StreamingIndicator<Double> {
+        private final int atrPeriod;
+        private final double multiplier;
+        private int count;
+        private double prevClose;
+        private double atr;
+        private double lastHigh;
+        private double lastLow;
+
+        Streaming(int atrPeriod, double multiplier) {
+            this.atrPeriod = atrPeriod;
+            this.multiplier = multiplier;
+        }
+
+        @Override
+        public Double update(StatData bar) {
+            double high = bar.getHighPrice();
+            double low = bar.getLowPrice();
+            if (count > 0) {
+                double range1 = high - low;
+                double range2 = Math.abs(high - prevClose);
+                double range3 = Math.abs(low - prevClose);
+                double tr = Math.max(range1, Math.max(range2, range3));
+                if (count <= atrPeriod) {
+                    atr += tr;
+                    if (count == atrPeriod) {
+                        atr = atr / atrPeriod;
+                    }
+                } else {
+                    atr = ((atr * (atrPeriod - 1)) + tr) / atrPeriod;
+                }
+            }
+            lastHigh = high;
+            lastLow = low;
+            prevClose = bar.getClosePrice();
+            count++;
+            return getValue();
+        }
+
+        @Override
+        public Double getValue() {
+            if (count < atrPeriod + 1) {
+                return null;
+            }
+            double midPoint = (lastHigh + lastLow) / 2.0;
+            double basicLowerBand = midPoint - (multiplier * atr);
+            return (prevClose > basicLowerBand) ? 1.0 : -1.0;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public StreamingIndicator<Double> snapshot() {
+            Streaming copy = new Streaming(atrPeriod, multiplier);
+            copy.restore(this);
+            return copy;
+        }
+
+        @Override
+        public void restore(StreamingIndicator<Double> snapshot) {
+            Streaming source = cast(snapshot, Streaming.class);
+            count = source.count;
+            prevClose = source.prevClose;
+            atr = source.atr;
+            lastHigh = source.lastHigh;
+            lastLow = source.lastLow;
+        }
+    }
+
+    @Override
+    protected IndicatorKey createKey() {
+        return IndicatorKey.of(getClass(), atrPeriod, multiplier);
+    }
+
     @Override
     public String toString() {
         return this.getClass() + " " + atrPeriod + " " + multiplier;
@@ -1,20 +1,122 @@
 package com.github.istin.tradingaizer.indicator;
 
-public enum Timeframe {
-    M1(1),   // 1-minute
-    M5(5),   // 5-minute
-    M15(15), // 15-minute
-    M30(30), // 30-minute
-    H1(60),  // 1-hour
-    H4(240); // 4-hour
+import java.io.Serializable;
+
+/**
+ * Candle duration as a whole number of 1-minute bars. The usual ones are constants, {@link #ofMinutes(int)} gives
+ * any other multiple (3m, 2h, 1d...). Timeframes with the same minutes are equal.
+ */
+public final class Timeframe implements Comparable<Timeframe>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Timeframe M1 = new Timeframe(1);     // 1-minute
+    public static final Timeframe M5 = new Timeframe(5);     // 5-minute
+    public static final Timeframe M15 = new Timeframe(15);   // 15-minute
+    public static final Timeframe M30 = new Timeframe(30);   // 30-minute
+    public static final Timeframe H1 = new Timeframe(60);    // 1-hour
+    public static final Timeframe H4 = new Timeframe(240);   // 4-hour
+    public static final Timeframe D1 = new Timeframe(1440);  // 1-day
+
+    private static final Timeframe[] VALUES = {M1, M5, M15, M30, H1, H4, D1};
+    private static final int MINUTES_IN_HOUR = 60;
+    private static final int MINUTES_IN_DAY = 24 * MINUTES_IN_HOUR;
 
     private final int minutes;
 
-    Timeframe(int minutes) {
+    private Timeframe(int minutes) {
         this.minutes = minutes;
     }
 
+    /**
+     * @return the constant for the usual durations, a new timeframe otherwise
+     */
+    public static Timeframe ofMinutes(int minutes) {
+        if (minutes < 1) {
+            throw new IllegalArgumentException("Timeframe must be at least one minute: " + minutes);
+        }
+        for (Timeframe timeframe : VALUES) {
+            if (timeframe.minutes == minutes) {
+                return timeframe;
+            }
+        }
+        return new Timeframe(minutes);
+    }
+
+    /**
+     * Parses {@link #name()} ("M3", "H2", "D1") as well as the exchange interval notation ("3m", "2h", "1d").
+     */
+    public static Timeframe valueOf(String name) {
+        if (name == null || name.length() < 2) {
+            throw new IllegalArgumentException("Unknown timeframe: " + name);
+        }
+        char first = Character.toLowerCase(name.charAt(0));
+        char last = Character.toLowerCase(name.charAt(name.length() - 1));
+        char unit = Character.isLetter(first) ? first : last;
+        String amount = Character.isLetter(first) ? name.substring(1) : name.substring(0, name.length() - 1);
+        int count;
+        try {
+            count = Integer.parseInt(amount);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unknown timeframe: " + name, e);
+        }
+        switch (unit) {
+            case 'm':
+                return ofMinutes(count);
+            case 'h':
+                return ofMinutes(count * MINUTES_IN_HOUR);
+            case 'd':
+                return ofMinutes(count * MINUTES_IN_DAY);
+            default:
+                throw new IllegalArgumentException("Unknown timeframe: " + name);
+        }
+    }
+
+    /**
+     * @return the predefined timeframes, shortest first
+     */
+    public static Timeframe[] values() {
+        return VALUES.clone();
+    }
+
     public int getMinutes() {
         return minutes;
     }
-}
\ No newline at end of file
+
+    public long getDurationMillis() {
+        return minutes * 60_000L;
+    }
+
+    /**
+     * "M5", "H1", "D1"...: the largest unit that divides the minutes.
+     */
+    public String name() {
+        if (minutes % MINUTES_IN_DAY == 0) {
+            return "D" + minutes / MINUTES_IN_DAY;
+        }
+        if (minutes % MINUTES_IN_HOUR == 0) {
+            return "H" + minutes / MINUTES_IN_HOUR;
+        }
+        return "M" + minutes;
+    }
+
+    @Override
+    public int compareTo(Timeframe other) {
+        return Integer.compare(minutes, other.minutes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Timeframe && ((Timeframe) o).minutes == minutes;
+    }
+
+    @Override
+    public int hashCode() {
+        return minutes;
+    }
+
+    @Override
+    public String toString() {
+        return name();
+    }
+}
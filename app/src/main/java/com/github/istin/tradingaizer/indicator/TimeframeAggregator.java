@@ -1,42 +1,399 @@
 package com.github.istin.tradingaizer.indicator;
+import com.github.istin.tradingaizer.model.BarSeries;
 import com.github.istin.tradingaizer.trader.StatData;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
+/**
+ * Builds higher-timeframe candles from 1m bars. A candle covers the wall-clock bucket
+ * {@code [k * duration, (k + 1) * duration)} its bars open in, so a missing minute (an exchange outage) leaves a
+ * shorter candle or no candle at all instead of shifting every later candle. A bar that doesn't open after the
+ * previous one (a duplicate from an overlapping fetch) or opens before the current candle is skipped.
+ * <p>
+ * Bars without timestamps, like plain {@link StatData}, are grouped by count instead.
+ */
 public class TimeframeAggregator {
 
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+    // Chunks are cut where every requested candle starts, unless their durations only line up over a longer period
+    private static final long MAX_ALIGNMENT_MILLIS = 366 * 24 * 60 * MINUTE_MILLIS;
+
     public static List<StatData> convertToTimeframe(List<? extends StatData> data, Timeframe timeframe) {
-        List<StatData> aggregatedData = new ArrayList<>();
-        int interval = timeframe.getMinutes(); // Get the interval in minutes
+        return Collections.unmodifiableList(convertToTimeframe(BarSeries.from(data), timeframe).asList());
+    }
 
-        for (int i = 0; i < data.size(); i += interval) {
-            // Ensure we have enough data for the interval
-            int endIndex = Math.min(i + interval, data.size());
-            List<? extends StatData> group = data.subList(i, endIndex);
+    /**
+     * One pass over the columns: every candle keeps the open price, the bucket start as open time and the close
+     * time of its last bar.
+     */
+    public static BarSeries convertToTimeframe(BarSeries data, Timeframe timeframe) {
+        if (!hasTimestamps(data)) {
+            return convertByCount(data, timeframe);
+        }
+        int size = data.size();
+        int offset = data.getOffset();
+        long[] openTimes = data.openTimeColumn();
+        double[] opens = data.openColumn();
+        double[] highs = data.highColumn();
+        double[] lows = data.lowColumn();
+        double[] closes = data.closeColumn();
+        double[] volumes = data.volumeColumn();
+        long[] closeTimes = data.closeTimeColumn();
+        long duration = timeframe.getDurationMillis();
+        BarSeries aggregated = new BarSeries(size / timeframe.getMinutes() + 1);
 
-            double high = group.stream()
-                    .mapToDouble(StatData::getHighPrice)
-                    .max()
-                    .orElse(0);
+        long bucketStart = Long.MIN_VALUE;
+        long bucketEnd = Long.MIN_VALUE;
+        double open = 0;
+        double high = 0;
+        double low = 0;
+        double close = 0;
+        double volume = 0;
+        long closeTime = 0;
+        for (int i = offset; i < offset + size; i++) {
+            long time = openTimes[i];
+            if ((i > offset && time <= openTimes[i - 1]) || time < bucketStart) {
+                continue;
+            }
+            if (time >= bucketEnd) {
+                if (bucketEnd != Long.MIN_VALUE) {
+                    aggregated.append(bucketStart, open, high, low, close, volume, closeTime);
+                }
+                bucketStart = Math.floorDiv(time, duration) * duration;
+                bucketEnd = bucketStart + duration;
+                open = opens[i];
+                high = highs[i];
+                low = lows[i];
+                volume = 0;
+            } else {
+                high = Math.max(high, highs[i]);
+                low = Math.min(low, lows[i]);
+            }
+            close = closes[i];
+            volume += volumes[i];
+            closeTime = closeTimes[i];
+        }
+        if (bucketEnd != Long.MIN_VALUE) {
+            aggregated.append(bucketStart, open, high, low, close, volume, closeTime);
+        }
+        return aggregated;
+    }
 
-            double low = group.stream()
-                    .mapToDouble(StatData::getLowPrice)
-                    .min()
-                    .orElse(0);
+    /**
+     * Converts to several timeframes at once on the common {@link ForkJoinPool}.
+     *
+     * @see #convertToTimeframes(BarSeries, Collection, ForkJoinPool)
+     */
+    public static Map<Timeframe, BarSeries> convertToTimeframes(BarSeries data, Collection<Timeframe> timeframes) {
+        return convertToTimeframes(data, timeframes, ForkJoinPool.commonPool());
+    }
 
-            double close = group.get(group.size() - 1).getClosePrice();
+    /**
+     * Same candles as {@link #convertToTimeframe(BarSeries, Timeframe)} for every timeframe, in one pass over the
+     * bars split into chunks that the pool aggregates in parallel. Chunks start on a bar that opens a candle of every
+     * requested timeframe when such a bar is near, so candles rarely span two chunks; those that do are merged.
+     */
+    public static Map<Timeframe, BarSeries> convertToTimeframes(BarSeries data, Collection<Timeframe> timeframes, ForkJoinPool pool) {
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, data.size() / (pool.getParallelism() * 4) + 1);
+        return convertToTimeframes(data, timeframes, pool, chunkSize);
+    }
 
-            double volume = group.stream()
-                    .mapToDouble(StatData::getVolume)
-                    .sum();
+    static Map<Timeframe, BarSeries> convertToTimeframes(BarSeries data, Collection<Timeframe> timeframes, ForkJoinPool pool,
+                                                         int chunkSize) {
+        List<Timeframe> distinct = new ArrayList<>(new LinkedHashSet<>(timeframes));
+        Map<Timeframe, BarSeries> result = new LinkedHashMap<>();
+        if (!hasTimestamps(data)) {
+            for (Timeframe timeframe : distinct) {
+                result.put(timeframe, convertByCount(data, timeframe));
+            }
+            return result;
+        }
+        long[] durations = new long[distinct.size()];
+        for (int t = 0; t < durations.length; t++) {
+            durations[t] = distinct.get(t).getDurationMillis();
+        }
+        int[] bounds = chunkBounds(data, durations, chunkSize);
+        int chunks = bounds.length - 1;
 
-            // Create a new `StatData` implementation for the aggregated candle
-            StatData aggregatedCandle = new AggregatedStatData(high, low, close, volume);
-            aggregatedData.add(aggregatedCandle);
+        // Bars opening before the candle in progress are skipped, and that candle comes from the previous chunks
+        List<ForkJoinTask<Long>> maxTasks = new ArrayList<>(chunks);
+        for (int k = 0; k < chunks; k++) {
+            int from = bounds[k];
+            int to = bounds[k + 1];
+            maxTasks.add(pool.submit(() -> maxOpenTime(data, from, to)));
         }
+        long[] carriedMax = new long[chunks];
+        long max = Long.MIN_VALUE;
+        for (int k = 0; k < chunks; k++) {
+            carriedMax[k] = max;
+            max = Math.max(max, maxTasks.get(k).join());
+        }
+
+        List<ForkJoinTask<BarSeries[]>> tasks = new ArrayList<>(chunks);
+        for (int k = 0; k < chunks; k++) {
+            int from = bounds[k];
+            int to = bounds[k + 1];
+            long carried = carriedMax[k];
+            tasks.add(pool.submit(() -> aggregateChunk(data, from, to, carried, durations)));
+        }
+        List<BarSeries[]> parts = new ArrayList<>(chunks);
+        for (ForkJoinTask<BarSeries[]> task : tasks) {
+            parts.add(task.join());
+        }
+        for (int t = 0; t < durations.length; t++) {
+            result.put(distinct.get(t), stitch(parts, t));
+        }
+        return result;
+    }
+
+    private static int[] chunkBounds(BarSeries data, long[] durations, int chunkSize) {
+        int size = data.size();
+        long alignment = 1;
+        for (long duration : durations) {
+            alignment = alignment / gcd(alignment, duration) * duration;
+            if (alignment > MAX_ALIGNMENT_MILLIS) {
+                alignment = 0;
+                break;
+            }
+        }
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(0);
+        int from = 0;
+        while (size - from > chunkSize) {
+            int bound = from + chunkSize;
+            if (alignment > 0) {
+                int limit = (int) Math.min(size, bound + Math.max(chunkSize, alignment / MINUTE_MILLIS));
+                int aligned = bound;
+                while (aligned < limit && Math.floorDiv(data.getOpenTime(aligned), alignment)
+                        == Math.floorDiv(data.getOpenTime(aligned - 1), alignment)) {
+                    aligned++;
+                }
+                bound = aligned;
+            }
+            if (bound >= size) {
+                break;
+            }
+            bounds.add(bound);
+            from = bound;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+
+    private static long maxOpenTime(BarSeries data, int from, int to) {
+        long max = Long.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, data.getOpenTime(i));
+        }
+        return max;
+    }
+
+    /**
+     * {@link #convertToTimeframe(BarSeries, Timeframe)} of bars {@code [from, to)} for every duration, starting
+     * within the candle of {@code carriedMax}, the latest open time of the previous bars.
+     */
+    private static BarSeries[] aggregateChunk(BarSeries data, int from, int to, long carriedMax, long[] durations) {
+        int count = durations.length;
+        int offset = data.getOffset();
+        long[] openTimes = data.openTimeColumn();
+        double[] opens = data.openColumn();
+        double[] highs = data.highColumn();
+        double[] lows = data.lowColumn();
+        double[] closes = data.closeColumn();
+        double[] volumes = data.volumeColumn();
+        long[] closeTimes = data.closeTimeColumn();
+
+        BarSeries[] aggregated = new BarSeries[count];
+        long[] bucketStart = new long[count];
+        long[] bucketEnd = new long[count];
+        boolean[] started = new boolean[count];
+        double[] open = new double[count];
+        double[] high = new double[count];
+        double[] low = new double[count];
+        double[] close = new double[count];
+        double[] volume = new double[count];
+        long[] closeTime = new long[count];
+        for (int t = 0; t < count; t++) {
+            aggregated[t] = new BarSeries((int) ((to - from) / (durations[t] / MINUTE_MILLIS)) + 2);
+            if (carriedMax == Long.MIN_VALUE) {
+                bucketStart[t] = Long.MIN_VALUE;
+                bucketEnd[t] = Long.MIN_VALUE;
+            } else {
+                bucketStart[t] = Math.floorDiv(carriedMax, durations[t]) * durations[t];
+                bucketEnd[t] = bucketStart[t] + durations[t];
+            }
+        }
+
+        for (int i = offset + from; i < offset + to; i++) {
+            long time = openTimes[i];
+            if (i > offset && time <= openTimes[i - 1]) {
+                continue;
+            }
+            for (int t = 0; t < count; t++) {
+                if (time < bucketStart[t]) {
+                    continue;
+                }
+                if (time >= bucketEnd[t] || !started[t]) {
+                    if (started[t]) {
+                        aggregated[t].append(bucketStart[t], open[t], high[t], low[t], close[t], volume[t], closeTime[t]);
+                    }
+                    if (time >= bucketEnd[t]) {
+                        bucketStart[t] = Math.floorDiv(time, durations[t]) * durations[t];
+                        bucketEnd[t] = bucketStart[t] + durations[t];
+                    }
+                    started[t] = true;
+                    open[t] = opens[i];
+                    high[t] = highs[i];
+                    low[t] = lows[i];
+                    volume[t] = 0;
+                } else {
+                    high[t] = Math.max(high[t], highs[i]);
+                    low[t] = Math.min(low[t], lows[i]);
+                }
+                close[t] = closes[i];
+                volume[t] += volumes[i];
+                closeTime[t] = closeTimes[i];
+            }
+        }
+        for (int t = 0; t < count; t++) {
+            if (started[t]) {
+                aggregated[t].append(bucketStart[t], open[t], high[t], low[t], close[t], volume[t], closeTime[t]);
+            }
+        }
+        return aggregated;
+    }
+
+    private static BarSeries stitch(List<BarSeries[]> parts, int t) {
+        int total = 0;
+        for (BarSeries[] part : parts) {
+            total += part[t].size();
+        }
+        BarSeries result = new BarSeries(total);
+        for (BarSeries[] part : parts) {
+            BarSeries chunk = part[t];
+            for (int j = 0; j < chunk.size(); j++) {
+                int last = result.size() - 1;
+                if (j == 0 && last >= 0 && chunk.getOpenTime(0) == result.getOpenTime(last)) {
+                    // The candle spans the chunk boundary
+                    result.replaceLast(result.getOpenTime(last), result.getOpen(last),
+                            Math.max(result.getHigh(last), chunk.getHigh(0)), Math.min(result.getLow(last), chunk.getLow(0)),
+                            chunk.getClose(0), result.getVolume(last) + chunk.getVolume(0), chunk.getCloseTime(0));
+                } else {
+                    result.append(chunk.getOpenTime(j), chunk.getOpen(j), chunk.getHigh(j), chunk.getLow(j),
+                            chunk.getClose(j), chunk.getVolume(j), chunk.getCloseTime(j));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static BarSeries convertByCount(BarSeries data, Timeframe timeframe) {
+        int interval = timeframe.getMinutes();
+        int size = data.size();
+        BarSeries aggregated = new BarSeries(size / interval + 1);
+
+        for (int i = 0; i < size; i += interval) {
+            int endIndex = Math.min(i + interval, size);
+
+            double high = data.getHigh(i);
+            double low = data.getLow(i);
+            double volume = 0;
+            for (int j = i; j < endIndex; j++) {
+                high = Math.max(high, data.getHigh(j));
+                low = Math.min(low, data.getLow(j));
+                volume += data.getVolume(j);
+            }
+
+            aggregated.append(data.getOpenTime(i), data.getOpen(i), high, low, data.getClose(endIndex - 1), volume,
+                    data.getCloseTime(endIndex - 1));
+        }
+
+        return aggregated;
+    }
+
+    /**
+     * Incremental counterpart of {@link #convertToTimeframe(BarSeries, Timeframe)}: folds the last bar of
+     * {@code data}, just appended, into {@code aggregated}. It either starts a new candle or updates the one still
+     * forming, so {@code aggregated} stays equal to a full conversion of {@code data}.
+     */
+    public static void appendLast(BarSeries data, BarSeries aggregated, Timeframe timeframe) {
+        int i = data.size() - 1;
+        int last = aggregated.size() - 1;
+        boolean byTime = hasTimestamps(data);
+        boolean newCandle;
+        if (byTime) {
+            long time = data.getOpenTime(i);
+            if (last >= 0 && (time <= data.getOpenTime(i - 1) || time < aggregated.getOpenTime(last))) {
+                return;
+            }
+            newCandle = last < 0 || time >= aggregated.getOpenTime(last) + timeframe.getDurationMillis();
+        } else {
+            newCandle = i % timeframe.getMinutes() == 0;
+        }
+        if (newCandle) {
+            long duration = timeframe.getDurationMillis();
+            long openTime = byTime ? Math.floorDiv(data.getOpenTime(i), duration) * duration : data.getOpenTime(i);
+            aggregated.append(openTime, data.getOpen(i), data.getHigh(i), data.getLow(i), data.getClose(i),
+                    data.getVolume(i), data.getCloseTime(i));
+            return;
+        }
+        aggregated.replaceLast(aggregated.getOpenTime(last), aggregated.getOpen(last),
+                Math.max(aggregated.getHigh(last), data.getHigh(i)), Math.min(aggregated.getLow(last), data.getLow(i)),
+                data.getClose(i), aggregated.getVolume(last) + data.getVolume(i), data.getCloseTime(i));
+    }
+
+    /**
+     * Number of candles of {@code aggregated}, the conversion of {@code data}, that are complete once only the first
+     * {@code count} bars of {@code data} are known.
+     */
+    public static int completedCount(BarSeries data, int count, BarSeries aggregated, Timeframe timeframe) {
+        if (count == 0) {
+            return 0;
+        }
+        if (!hasTimestamps(data)) {
+            return count / timeframe.getMinutes();
+        }
+        long duration = timeframe.getDurationMillis();
+        long time = data.getOpenTime(count - 1);
+        long bucketStart = Math.floorDiv(time, duration) * duration;
+        int offset = aggregated.getOffset();
+        int index = Arrays.binarySearch(aggregated.openTimeColumn(), offset, offset + aggregated.size(), bucketStart);
+        if (index < 0) {
+            return -index - 1 - offset;
+        }
+        index -= offset;
+        // The last known bar may be the one closing its candle
+        return time + MINUTE_MILLIS >= bucketStart + duration ? index + 1 : index;
+    }
+
+    /**
+     * @return whether the candle spans its whole bucket, {@code false} for the candle still forming
+     */
+    public static boolean isComplete(BarSeries aggregated, int index, Timeframe timeframe) {
+        return aggregated.getCloseTime(index) + 1 >= aggregated.getOpenTime(index) + timeframe.getDurationMillis();
+    }
 
-        return aggregatedData;
+    private static boolean hasTimestamps(BarSeries data) {
+        return data.size() < 2 || data.getOpenTime(data.size() - 1) > data.getOpenTime(0);
     }
 
     /**
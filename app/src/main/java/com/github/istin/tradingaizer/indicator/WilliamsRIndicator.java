@@ -0,0 +1,121 @@
+package com.github.istin.tradingaizer.indicator;
+
+import com.github.istin.tradingaizer.indicator.graph.GraphIndicator;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.indicator.graph.SeriesNodes;
+import com.github.istin.tradingaizer.trader.StatData;
+
+import java.util.List;
+
+/**
+ * Williams %R: where the close sits in the high-low range of the last {@code period} bars, from -100 (at the
+ * lowest low) to 0 (at the highest high). A flat range gives -50.
+ */
+public class WilliamsRIndicator extends Indicator<Double> implements GraphIndicator {
+
+    private final int period;
+
+    public WilliamsRIndicator(int period) {
+        this.period = period;
+    }
+
+    @Override
+    public Double calculate(List<? extends StatData> historicalData) {
+        if (historicalData == null || historicalData.size() < period) {
+            return null;
+        }
+
+        double highestHigh = Double.NEGATIVE_INFINITY;
+        double lowestLow = Double.POSITIVE_INFINITY;
+        for (int i = historicalData.size() - period; i < historicalData.size(); i++) {
+            StatData statData = historicalData.get(i);
+            highestHigh = Math.max(highestHigh, statData.getHighPrice());
+            lowestLow = Math.min(lowestLow, statData.getLowPrice());
+        }
+        return williamsR(highestHigh, lowestLow, historicalData.get(historicalData.size() - 1).getClosePrice());
+    }
+
+    static double williamsR(double highestHigh, double lowestLow, double close) {
+        double range = highestHigh - lowestLow;
+        if (range == 0) {
+            return -50.0;
+        }
+        return -100.0 * (highestHigh - close) / range;
+    }
+
+    @Override
+    public IndicatorSeries calculateValues(IndicatorGraph graph) {
+        double[] highestHigh = graph.evaluate(SeriesNodes.highest(SeriesNodes.high(), period));
+        double[] lowestLow = graph.evaluate(SeriesNodes.lowest(SeriesNodes.low(), period));
+        double[] close = graph.evaluate(SeriesNodes.close());
+        double[] values = new double[close.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Double.isNaN(highestHigh[i]) ? Double.NaN : williamsR(highestHigh[i], lowestLow[i], close[i]);
+        }
+        return new IndicatorSeries(values);
+    }
+
+    @Override
+    public StreamingIndicator<Double> streaming() {
+        return new Streaming(period);
+    }
+
+    private static class Streaming extends StreamingIndicator<Double> {
+        private final int period;
+        private final RollingExtreme highestHigh;
+        private final RollingExtreme lowestLow;
+        private int count;
+        private double lastClose;
+
+        Streaming(int period) {
+            this.period = period;
+            this.highestHigh = RollingExtreme.max(period);
+            this.lowestLow = RollingExtreme.min(period);
+        }
+
+        @Override
+        public Double update(StatData bar) {
+            highestHigh.add(bar.getHighPrice());
+            lowestLow.add(bar.getLowPrice());
+            lastClose = bar.getClosePrice();
+            count++;
+            return getValue();
+        }
+
+        @Override
+        public Double getValue() {
+            return count < period ? null : williamsR(highestHigh.getValue(), lowestLow.getValue(), lastClose);
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public StreamingIndicator<Double> snapshot() {
+            Streaming copy = new Streaming(period);
+            copy.restore(this);
+            return copy;
+        }
+
+        @Override
+        public void restore(StreamingIndicator<Double> snapshot) {
+            Streaming source = cast(snapshot, Streaming.class);
+            highestHigh.restore(source.highestHigh);
+            lowestLow.restore(source.lowestLow);
+            count = source.count;
+            lastClose = source.lastClose;
+        }
+    }
+
+    @Override
+    protected IndicatorKey createKey() {
+        return IndicatorKey.of(getClass(), period);
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + " period=" + period;
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.istin.tradingaizer.indicator.graph;
+
+import com.github.istin.tradingaizer.indicator.IndicatorSeries;
+
+/**
+ * Indicator that can build its whole series out of shared {@link SeriesNode}s. Bar {@code i} of the result
+ * holds the values of {@code calculate(bars.subList(0, i + 1))}.
+ */
+public interface GraphIndicator {
+
+    /**
+     * The arrays returned by {@link IndicatorGraph#evaluate(SeriesNode)} belong to the graph: copy the ones that go
+     * into the result as they are, or the cached result would keep them, and the graph's memory, alive.
+     */
+    IndicatorSeries calculateValues(IndicatorGraph graph);
+}
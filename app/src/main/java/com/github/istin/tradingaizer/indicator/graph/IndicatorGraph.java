@@ -0,0 +1,67 @@
+package com.github.istin.tradingaizer.indicator.graph;
+
+import com.github.istin.tradingaizer.model.BarSeries;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Evaluates {@link SeriesNode}s over the bars of one timeframe. Every distinct node is computed once, together
+ * with its inputs, and kept for the lifetime of the graph. Safe for concurrent use: threads asking for a node
+ * that is being computed wait for that computation instead of repeating it.
+ */
+public class IndicatorGraph {
+
+    private final BarSeries series;
+    private final Map<SeriesNode, FutureTask<double[]>> values = new ConcurrentHashMap<>();
+
+    public IndicatorGraph(BarSeries series) {
+        this.series = series;
+    }
+
+    public BarSeries getSeries() {
+        return series;
+    }
+
+    public double[] evaluate(SeriesNode node) {
+        FutureTask<double[]> task = values.get(node);
+        if (task == null) {
+            FutureTask<double[]> newTask = new FutureTask<>(() -> compute(node));
+            task = values.putIfAbsent(node, newTask);
+            if (task == null) {
+                task = newTask;
+                task.run();
+            }
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + node, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to evaluate " + node, e.getCause());
+        }
+    }
+
+    private double[] compute(SeriesNode node) {
+        List<double[]> inputs = new ArrayList<>(node.inputs().size());
+        for (SeriesNode input : node.inputs()) {
+            inputs.add(evaluate(input));
+        }
+        return node.compute(series, inputs);
+    }
+
+    /**
+     * Number of distinct nodes evaluated so far.
+     */
+    public int getNodeCount() {
+        return values.size();
+    }
+}
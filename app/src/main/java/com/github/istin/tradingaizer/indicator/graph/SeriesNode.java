@@ -0,0 +1,22 @@
+package com.github.istin.tradingaizer.indicator.graph;
+
+import com.github.istin.tradingaizer.model.BarSeries;
+
+import java.util.List;
+
+/**
+ * One intermediate series of the indicator graph (true range, EMA(n), SMA(n)...). Nodes are compared by value,
+ * so two indicators asking for an equal node share a single evaluation. Values that are not ready yet are
+ * {@link Double#NaN}.
+ */
+public interface SeriesNode {
+
+    List<SeriesNode> inputs();
+
+    /**
+     * @param series the bars of one timeframe
+     * @param inputs the evaluated {@link #inputs()}, in the same order
+     * @return one value per bar of {@code series}
+     */
+    double[] compute(BarSeries series, List<double[]> inputs);
+}
@@ -0,0 +1,411 @@
+package com.github.istin.tradingaizer.indicator.graph;
+
+import com.github.istin.tradingaizer.indicator.RollingExtreme;
+import com.github.istin.tradingaizer.indicator.StochasticIndicator;
+import com.github.istin.tradingaizer.indicator.kernel.Kernels;
+import com.github.istin.tradingaizer.model.BarSeries;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The shared building blocks of the indicators. Each node reproduces the arithmetic of the matching
+ * {@code calculate(List)} step, so a series built from the graph equals the per-bar batch values.
+ */
+public final class SeriesNodes {
+
+    private SeriesNodes() {
+    }
+
+    public static SeriesNode close() {
+        return Column.CLOSE;
+    }
+
+    public static SeriesNode high() {
+        return Column.HIGH;
+    }
+
+    public static SeriesNode low() {
+        return Column.LOW;
+    }
+
+    public static SeriesNode trueRange() {
+        return TrueRange.INSTANCE;
+    }
+
+    public static SeriesNode plusDM() {
+        return DirectionalMovement.PLUS;
+    }
+
+    public static SeriesNode minusDM() {
+        return DirectionalMovement.MINUS;
+    }
+
+    public static SeriesNode sma(SeriesNode source, int period) {
+        return new Sma(source, period);
+    }
+
+    public static SeriesNode stdDev(SeriesNode source, int period) {
+        return new StdDev(source, period);
+    }
+
+    /**
+     * EMA seeded with the average of the first {@code period} values, updated from bar {@code start} on.
+     * {@code EMAIndicator} uses {@code start == period}; MACD starts its fast EMA at the slow period.
+     */
+    public static SeriesNode ema(SeriesNode source, int period, int start) {
+        return new Ema(source, period, start);
+    }
+
+    /**
+     * Wilder average of a series that starts at bar 1 (ATR over true range).
+     */
+    public static SeriesNode wilderAverage(SeriesNode source, int period) {
+        return new WilderAverage(source, period);
+    }
+
+    /**
+     * Wilder running sum of a series that starts at bar 1 (the smoothed TR and DM of ADX).
+     */
+    public static SeriesNode wilderSum(SeriesNode source, int period) {
+        return new WilderSum(source, period);
+    }
+
+    /**
+     * Maximum of the last {@code period} values, on a monotonic deque.
+     */
+    public static SeriesNode highest(SeriesNode source, int period) {
+        return new Extreme(source, period, true);
+    }
+
+    /**
+     * Minimum of the last {@code period} values, on a monotonic deque.
+     */
+    public static SeriesNode lowest(SeriesNode source, int period) {
+        return new Extreme(source, period, false);
+    }
+
+    public static SeriesNode stochasticK(int period) {
+        return new StochasticK(period);
+    }
+
+    public static SeriesNode dx(int period) {
+        return new Dx(period);
+    }
+
+    public static SeriesNode adx(int period) {
+        return new Adx(period);
+    }
+
+    private static int firstReady(double[] values) {
+        int index = 0;
+        while (index < values.length && Double.isNaN(values[index])) {
+            index++;
+        }
+        return index;
+    }
+
+    private static double[] notReady(int size) {
+        double[] values = new double[size];
+        Arrays.fill(values, Double.NaN);
+        return values;
+    }
+
+    public enum Column implements SeriesNode {
+        HIGH,
+        LOW,
+        CLOSE;
+
+        @Override
+        public List<SeriesNode> inputs() {
+            return List.of();
+        }
+
+        @Override
+        public double[] compute(BarSeries series, List<double[]> inputs) {
+            int offset = series.getOffset();
+            double[] column = this == HIGH ? series.highColumn() : this == LOW ? series.lowColumn() : series.closeColumn();
+            return Arrays.copyOfRange(column, offset, offset + series.size());
+        }
+    }
+
+    public enum TrueRange implements SeriesNode {
+        INSTANCE;
+
+        @Override
+        public List<SeriesNode> inputs() {
+            return List.of();
+        }
+
+        @Override
+        public double[] compute(BarSeries series, List<double[]> inputs) {
+            int size = series.size();
+            double[] values = notReady(size);
+            if (size > 1) {
+                int offset = series.getOffset();
+                Kernels.get().trueRange(series.highColumn(), series.lowColumn(), series.closeColumn(),
+                        offset + 1, offset + size, values, 1);
+            }
+            return values;
+        }
+    }
+
+    public enum DirectionalMovement implements SeriesNode {
+        PLUS,
+        MINUS;
+
+        @Override
+        public List<SeriesNode> inputs() {
+            return List.of();
+        }
+
+        @Override
+        public double[] compute(BarSeries series, List<double[]> inputs) {
+            int size = series.size();
+            double[] values = notReady(size);
+            for (int i = 1; i < size; i++) {
+                double upMove = series.getHigh(i) - series.getHigh(i - 1);
+                double downMove = series.getLow(i - 1) - series.getLow(i);
+                if (this == PLUS) {
+                    values[i] = upMove > downMove && upMove > 0 ? upMove : 0;
+                } else {
+                    values[i] = downMove > upMove && downMove > 0 ? downMove : 0;
+                }
+            }
+            return values;
+        }
+    }
+
+    public record Sma(SeriesNode source, int period) implements SeriesNode {
+
+        @Override
+        public List<SeriesNode> inputs() {
+            return List.of(source);
+        }
+
+        @Override
+        public double[] compute(BarSeries series, List<double[]> inputs) {
+            double[] source = inputs.get(0);
+            double[] values = notReady(source.length);
+            int start = firstReady(source);
+            double sum = 0;
+            for (int i = start + period - 1; i < source.length; i++) {
+                int from = i + 1 - period;
+                if ((from - start) % period == 0) {
+                    // Resync once per window so that the rolling sum does not drift
+                    sum = Kernels.get().sum(source, from, i + 1);
+                } else {
+                    sum += source[i] - source[from - 1];
+                }
+                values[i] = sum / period;
+            }
+            return values;
+        }
+    }
+
+    public record Extreme(SeriesNode source, int period, boolean maximum) implements SeriesNode {
+
+        @Override
+        public List<SeriesNode> inputs() {
+            return List.of(source);
+        }
+
+        @Override
+        public double[] compute(BarSeries series, List<double[]> inputs) {
+            double[] source = inputs.get(0);
+            double[] values = notReady(source.length);
+            int start = firstReady(source);
+            RollingExtreme extreme = maximum ? RollingExtreme.max(period) : RollingExtreme.min(period);
+            for (int i = start; i < source.length; i++) {
+                double value = extreme.add(source[i]);
+                if (i >= start + period - 1) {
+                    values[i] = value;
+                }
+            }
+            return values;
+        }
+    }
+
+    public record StochasticK(int period) implements SeriesNode {
+
+        @Override
+        public List<SeriesNode> inputs() {
+            return List.of(highest(high(), period), lowest(low(), period), close());
+        }
+
+        @Override
+        public double[] compute(BarSeries series, List<double[]> inputs) {
+            double[] highestHigh = inputs.get(0);
+            double[] lowestLow = inputs.get(1);
+            double[] close = inputs.get(2);
+            double[] values = notReady(close.length);
+            for (int i = period - 1; i < values.length; i++) {
+                values[i] = StochasticIndicator.percentK(highestHigh[i], lowestLow[i], close[i]);
+            }
+            return values;
+        }
+    }
+
+    public record StdDev(SeriesNode source, int period) implements SeriesNode {
+
+        @Override
+        public List<SeriesNode> inputs() {
+            return List.of(source, new Sma(source, period));
+        }
+
+        @Override
+        public double[] compute(BarSeries series, List<double[]> inputs) {
+            double[] source = inputs.get(0);
+            double[] mean = inputs.get(1);
+            double[] values = notReady(source.length);
+            for (int i = period - 1; i < source.length; i++) {
+                double varianceSum = Kernels.get().sumOfSquaredDeviations(source, i + 1 - period, i + 1, mean[i]);
+                values[i] = Math.sqrt(varianceSum / period);
+            }
+            return values;
+        }
+    }
+
+    public record Ema(SeriesNode source, int period, int start) implements SeriesNode {
+
+        @Override
+        public List<SeriesNode> inputs() {
+            return List.of(source);
+        }
+
+        @Override
+        public double[] compute(BarSeries series, List<double[]> inputs) {
+            double[] source = inputs.get(0);
+            double[] values = notReady(source.length);
+            if (source.length < start) {
+                return values;
+            }
+            double ema = 0;
+            for (int i = 0; i < period; i++) {
+                ema += source[i];
+            }
+            ema /= period;
+            values[start - 1] = ema;
+
+            double multiplier = 2.0 / (period + 1);
+            for (int i = start; i < source.length; i++) {
+                ema = ((source[i] - ema) * multiplier) + ema;
+                values[i] = ema;
+            }
+            return values;
+        }
+    }
+
+    public record WilderAverage(SeriesNode source, int period) implements SeriesNode {
+
+        @Override
+        public List<SeriesNode> inputs() {
+            return List.of(source);
+        }
+
+        @Override
+        public double[] compute(BarSeries series, List<double[]> inputs) {
+            double[] source = inputs.get(0);
+            double[] values = notReady(source.length);
+            if (source.length < period + 1) {
+                return values;
+            }
+            double average = 0;
+            for (int i = 1; i <= period; i++) {
+                average += source[i];
+            }
+            average /= period;
+            values[period] = average;
+
+            for (int i = period + 1; i < source.length; i++) {
+                average = ((average * (period - 1)) + source[i]) / period;
+                values[i] = average;
+            }
+            return values;
+        }
+    }
+
+    public record WilderSum(SeriesNode source, int period) implements SeriesNode {
+
+        @Override
+        public List<SeriesNode> inputs() {
+            return List.of(source);
+        }
+
+        @Override
+        public double[] compute(BarSeries series, List<double[]> inputs) {
+            double[] source = inputs.get(0);
+            double[] values = notReady(source.length);
+            if (source.length < period + 1) {
+                return values;
+            }
+            double sum = 0;
+            for (int i = 1; i <= period; i++) {
+                sum += source[i];
+            }
+            values[period] = sum;
+
+            for (int i = period + 1; i < source.length; i++) {
+                sum = (sum - (sum / period)) + source[i];
+                values[i] = sum;
+            }
+            return values;
+        }
+    }
+
+    public record Dx(int period) implements SeriesNode {
+
+        @Override
+        public List<SeriesNode> inputs() {
+            return List.of(wilderSum(trueRange(), period), wilderSum(plusDM(), period), wilderSum(minusDM(), period));
+        }
+
+        @Override
+        public double[] compute(BarSeries series, List<double[]> inputs) {
+            double[] smoothedATR = inputs.get(0);
+            double[] smoothedPlusDM = inputs.get(1);
+            double[] smoothedMinusDM = inputs.get(2);
+            double[] values = notReady(smoothedATR.length);
+            for (int i = period; i < values.length; i++) {
+                double plusDI = 0;
+                double minusDI = 0;
+                if (smoothedATR[i] != 0) {
+                    plusDI = (smoothedPlusDM[i] / smoothedATR[i]) * 100;
+                    minusDI = (smoothedMinusDM[i] / smoothedATR[i]) * 100;
+                }
+                double sumDI = plusDI + minusDI;
+                values[i] = sumDI == 0 ? 0 : (Math.abs(plusDI - minusDI) / sumDI) * 100;
+            }
+            return values;
+        }
+    }
+
+    public record Adx(int period) implements SeriesNode {
+
+        @Override
+        public List<SeriesNode> inputs() {
+            return List.of(dx(period));
+        }
+
+        @Override
+        public double[] compute(BarSeries series, List<double[]> inputs) {
+            double[] dx = inputs.get(0);
+            double[] values = notReady(dx.length);
+            if (dx.length < period * 2) {
+                return values;
+            }
+            double sumDX = 0;
+            for (int i = period; i < period * 2; i++) {
+                sumDX += dx[i];
+            }
+            double adx = sumDX / period;
+            values[period * 2 - 1] = adx;
+
+            for (int i = period * 2; i < dx.length; i++) {
+                adx = ((adx * (period - 1)) + dx[i]) / period;
+                values[i] = adx;
+            }
+            return values;
+        }
+    }
+}
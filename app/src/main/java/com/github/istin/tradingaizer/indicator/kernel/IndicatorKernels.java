@@ -0,0 +1,27 @@
+package com.github.istin.tradingaizer.indicator.kernel;
+
+/**
+ * Data-parallel building blocks shared by the indicators. All ranges are {@code [from, to)} indices into
+ * the given columns, typically the raw columns of a {@link com.github.istin.tradingaizer.model.BarSeries}.
+ */
+public interface IndicatorKernels {
+
+    /**
+     * Writes the true range of bar {@code i} to {@code out[outOffset + i - from]}, using {@code close[i - 1]}
+     * as the previous close, so {@code from} must be at least 1 past the first bar.
+     */
+    void trueRange(double[] high, double[] low, double[] close, int from, int to, double[] out, int outOffset);
+
+    double sum(double[] values, int from, int to);
+
+    /**
+     * @return sum of {@code (values[i] - mean)^2}
+     */
+    double sumOfSquaredDeviations(double[] values, int from, int to, double mean);
+
+    /**
+     * @return sum of {@code volume[i]} for rising closes minus {@code volume[i]} for falling closes,
+     * comparing {@code close[i]} with {@code close[i - 1]}
+     */
+    double signedVolumeSum(double[] close, double[] volume, int from, int to);
+}
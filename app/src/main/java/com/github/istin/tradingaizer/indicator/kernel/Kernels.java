@@ -0,0 +1,42 @@
+package com.github.istin.tradingaizer.indicator.kernel;
+
+/**
+ * Picks the kernel implementation once per JVM: the vectorized one when {@code jdk.incubator.vector} is
+ * resolved (run with {@code --add-modules jdk.incubator.vector}), the scalar one otherwise. Setting
+ * {@code -Dtradingaizer.kernels=scalar} forces the scalar loops.
+ */
+public final class Kernels {
+
+    private static final IndicatorKernels SCALAR = new ScalarIndicatorKernels();
+    private static final IndicatorKernels SELECTED = select();
+
+    private Kernels() {
+    }
+
+    public static IndicatorKernels get() {
+        return SELECTED;
+    }
+
+    public static IndicatorKernels scalar() {
+        return SCALAR;
+    }
+
+    public static boolean isVectorized() {
+        return SELECTED != SCALAR;
+    }
+
+    private static IndicatorKernels select() {
+        if ("scalar".equalsIgnoreCase(System.getProperty("tradingaizer.kernels"))) {
+            return SCALAR;
+        }
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return SCALAR;
+        }
+        try {
+            // A single lane means no SIMD on this CPU, the scalar loops are faster then
+            return VectorIndicatorKernels.laneCount() > 1 ? new VectorIndicatorKernels() : SCALAR;
+        } catch (LinkageError e) {
+            return SCALAR;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.istin.tradingaizer.indicator.kernel;
+
+/**
+ * Plain loops, used when the Vector API isn't available.
+ */
+final class ScalarIndicatorKernels implements IndicatorKernels {
+
+    @Override
+    public void trueRange(double[] high, double[] low, double[] close, int from, int to, double[] out, int outOffset) {
+        for (int i = from; i < to; i++) {
+            double prevClose = close[i - 1];
+            double highLow = high[i] - low[i];
+            double highClose = Math.abs(high[i] - prevClose);
+            double lowClose = Math.abs(low[i] - prevClose);
+            out[outOffset + i - from] = Math.max(highLow, Math.max(highClose, lowClose));
+        }
+    }
+
+    @Override
+    public double sum(double[] values, int from, int to) {
+        double sum = 0.0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double sumOfSquaredDeviations(double[] values, int from, int to, double mean) {
+        double sum = 0.0;
+        for (int i = from; i < to; i++) {
+            double diff = values[i] - mean;
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    @Override
+    public double signedVolumeSum(double[] close, double[] volume, int from, int to) {
+        double sum = 0.0;
+        for (int i = from; i < to; i++) {
+            if (close[i] > close[i - 1]) {
+                sum += volume[i];
+            } else if (close[i] < close[i - 1]) {
+                sum -= volume[i];
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.istin.tradingaizer.indicator.kernel;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@code jdk.incubator.vector} implementation. Only loaded by {@link Kernels} once the module is known to be
+ * present; tails shorter than a vector go through the scalar kernels.
+ */
+final class VectorIndicatorKernels implements IndicatorKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private final ScalarIndicatorKernels tail = new ScalarIndicatorKernels();
+
+    static int laneCount() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public void trueRange(double[] high, double[] low, double[] close, int from, int to, double[] out, int outOffset) {
+        int i = from;
+        int upperBound = from + SPECIES.loopBound(to - from);
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector h = DoubleVector.fromArray(SPECIES, high, i);
+            DoubleVector l = DoubleVector.fromArray(SPECIES, low, i);
+            DoubleVector prevClose = DoubleVector.fromArray(SPECIES, close, i - 1);
+            DoubleVector highClose = h.sub(prevClose).abs();
+            DoubleVector lowClose = l.sub(prevClose).abs();
+            h.sub(l).max(highClose.max(lowClose)).intoArray(out, outOffset + i - from);
+        }
+        if (i < to) {
+            tail.trueRange(high, low, close, i, to, out, outOffset + i - from);
+        }
+    }
+
+    @Override
+    public double sum(double[] values, int from, int to) {
+        int i = from;
+        int upperBound = from + SPECIES.loopBound(to - from);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        for (; i < upperBound; i += SPECIES.length()) {
+            acc = acc.add(DoubleVector.fromArray(SPECIES, values, i));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + tail.sum(values, i, to);
+    }
+
+    @Override
+    public double sumOfSquaredDeviations(double[] values, int from, int to, double mean) {
+        int i = from;
+        int upperBound = from + SPECIES.loopBound(to - from);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector diff = DoubleVector.fromArray(SPECIES, values, i).sub(mean);
+            acc = diff.fma(diff, acc);
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + tail.sumOfSquaredDeviations(values, i, to, mean);
+    }
+
+    @Override
+    public double signedVolumeSum(double[] close, double[] volume, int from, int to) {
+        int i = from;
+        int upperBound = from + SPECIES.loopBound(to - from);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector current = DoubleVector.fromArray(SPECIES, close, i);
+            DoubleVector previous = DoubleVector.fromArray(SPECIES, close, i - 1);
+            DoubleVector v = DoubleVector.fromArray(SPECIES, volume, i);
+            VectorMask<Double> rising = current.compare(VectorOperators.GT, previous);
+            VectorMask<Double> falling = current.compare(VectorOperators.LT, previous);
+            acc = acc.add(v, rising).sub(v, falling);
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + tail.signedVolumeSum(close, volume, i, to);
+    }
+}
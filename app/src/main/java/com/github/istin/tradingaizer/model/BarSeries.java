@@ -0,0 +1,396 @@
+package com.github.istin.tradingaizer.model;
+
+import com.github.istin.tradingaizer.trader.StatData;
+import com.github.istin.tradingaizer.trader.StatDealData;
+
+import java.text.SimpleDateFormat;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Columnar storage for candles: open/high/low/close/volume live in {@code double[]} columns and
+ * open/close times in {@code long[]} columns, so a bar costs 56 bytes and scans are plain array walks.
+ * <p>
+ * A series grows by {@link #append}. {@link #view(int, int)} returns a zero-copy read-only range and
+ * {@link #asList()} exposes the bars as {@link StatDealData} flyweights for code written against lists.
+ * <p>
+ * {@link #getFingerprint()} is a content hash updated on every append, so caches can tell whether values
+ * calculated earlier still belong to the same bars.
+ */
+public class BarSeries {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final long FINGERPRINT_SEED = 0xcbf29ce484222325L;
+    private static final long FINGERPRINT_PRIME = 0x100000001b3L;
+
+    private long[] openTime;
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private double[] volume;
+    private long[] closeTime;
+    private final int offset;
+    private int size;
+    private final boolean readOnly;
+    private long fingerprint = FINGERPRINT_SEED;
+    // Fingerprint without the last bar, so that replaceLast() can rehash only that bar
+    private long fingerprintBeforeLast = FINGERPRINT_SEED;
+    private boolean fingerprintComputed = true;
+
+    public BarSeries() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public BarSeries(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.openTime = new long[capacity];
+        this.open = new double[capacity];
+        this.high = new double[capacity];
+        this.low = new double[capacity];
+        this.close = new double[capacity];
+        this.volume = new double[capacity];
+        this.closeTime = new long[capacity];
+        this.offset = 0;
+        this.size = 0;
+        this.readOnly = false;
+    }
+
+    private BarSeries(BarSeries parent, int from, int to) {
+        this.openTime = parent.openTime;
+        this.open = parent.open;
+        this.high = parent.high;
+        this.low = parent.low;
+        this.close = parent.close;
+        this.volume = parent.volume;
+        this.closeTime = parent.closeTime;
+        this.offset = parent.offset + from;
+        this.size = to - from;
+        this.readOnly = true;
+        // Views are created on every getData() call: hash them only when asked
+        this.fingerprintComputed = false;
+    }
+
+    /**
+     * Returns the series behind {@code bars} when it is a {@link #asList()} view, otherwise copies the bars
+     * into a new series.
+     */
+    public static BarSeries from(List<? extends StatData> bars) {
+        BarSeries series = unwrap(bars);
+        if (series != null) {
+            return series;
+        }
+        series = new BarSeries(bars.size());
+        for (StatData bar : bars) {
+            series.append(bar);
+        }
+        return series;
+    }
+
+    /**
+     * @return the series backing a list obtained from {@link #asList()}, or {@code null} for any other list
+     */
+    public static BarSeries unwrap(List<?> bars) {
+        return bars instanceof BarList ? ((BarList) bars).series : null;
+    }
+
+    public void append(long openTime, double open, double high, double low, double close, double volume, long closeTime) {
+        if (readOnly) {
+            throw new IllegalStateException("Can't append to a read-only view");
+        }
+        ensureCapacity(size + 1);
+        int i = size;
+        this.openTime[i] = openTime;
+        this.open[i] = open;
+        this.high[i] = high;
+        this.low[i] = low;
+        this.close[i] = close;
+        this.volume[i] = volume;
+        this.closeTime[i] = closeTime;
+        fingerprintBeforeLast = fingerprint;
+        fingerprint = fingerprint(fingerprint, i);
+        size++;
+    }
+
+    /**
+     * Overwrites the last bar, for a candle that is still forming.
+     */
+    public void replaceLast(long openTime, double open, double high, double low, double close, double volume, long closeTime) {
+        if (readOnly) {
+            throw new IllegalStateException("Can't modify a read-only view");
+        }
+        int i = size - 1;
+        checkIndex(i);
+        this.openTime[i] = openTime;
+        this.open[i] = open;
+        this.high[i] = high;
+        this.low[i] = low;
+        this.close[i] = close;
+        this.volume[i] = volume;
+        this.closeTime[i] = closeTime;
+        fingerprint = fingerprint(fingerprintBeforeLast, i);
+    }
+
+    public void append(StatData bar) {
+        if (bar instanceof Bar) {
+            Bar source = (Bar) bar;
+            append(source.getOpenTime(), source.getOpenPrice(), source.getHighPrice(), source.getLowPrice(),
+                    source.getClosePrice(), source.getVolume(), source.getCloseTime());
+        } else if (bar instanceof KlineData) {
+            KlineData kline = (KlineData) bar;
+            append(kline.getOpenTime(), kline.getOpenPrice(), kline.getHighPrice(), kline.getLowPrice(),
+                    kline.getClosePrice(), kline.getVolume(), kline.getCloseTime());
+        } else {
+            // Plain StatData has neither an open price nor timestamps
+            long when = bar instanceof StatDealData ? ((StatDealData) bar).getWhen() : 0L;
+            append(when, bar.getClosePrice(), bar.getHighPrice(), bar.getLowPrice(),
+                    bar.getClosePrice(), bar.getVolume(), when);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= close.length) {
+            return;
+        }
+        int capacity = Math.max(required, close.length + (close.length >> 1));
+        openTime = Arrays.copyOf(openTime, capacity);
+        open = Arrays.copyOf(open, capacity);
+        high = Arrays.copyOf(high, capacity);
+        low = Arrays.copyOf(low, capacity);
+        close = Arrays.copyOf(close, capacity);
+        volume = Arrays.copyOf(volume, capacity);
+        closeTime = Arrays.copyOf(closeTime, capacity);
+    }
+
+    /**
+     * FNV-1a style hash of every value of every bar, in order. Equal series have equal fingerprints.
+     */
+    public long getFingerprint() {
+        if (!fingerprintComputed) {
+            long hash = FINGERPRINT_SEED;
+            for (int i = offset; i < offset + size; i++) {
+                hash = fingerprint(hash, i);
+            }
+            fingerprint = hash;
+            fingerprintComputed = true;
+        }
+        return fingerprint;
+    }
+
+    private long fingerprint(long hash, int i) {
+        hash = (hash ^ openTime[i]) * FINGERPRINT_PRIME;
+        hash = (hash ^ Double.doubleToLongBits(open[i])) * FINGERPRINT_PRIME;
+        hash = (hash ^ Double.doubleToLongBits(high[i])) * FINGERPRINT_PRIME;
+        hash = (hash ^ Double.doubleToLongBits(low[i])) * FINGERPRINT_PRIME;
+        hash = (hash ^ Double.doubleToLongBits(close[i])) * FINGERPRINT_PRIME;
+        hash = (hash ^ Double.doubleToLongBits(volume[i])) * FINGERPRINT_PRIME;
+        return (hash ^ closeTime[i]) * FINGERPRINT_PRIME;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * @return a new appendable series with the same bars
+     */
+    public BarSeries copy() {
+        BarSeries copy = new BarSeries(size + (size >> 1));
+        for (int i = offset; i < offset + size; i++) {
+            copy.append(openTime[i], open[i], high[i], low[i], close[i], volume[i], closeTime[i]);
+        }
+        return copy;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return a read-only series over bars {@code [from, to)} sharing this series' columns
+     */
+    public BarSeries view(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("from=" + from + ", to=" + to + ", size=" + size);
+        }
+        return new BarSeries(this, from, to);
+    }
+
+    public List<StatDealData> asList() {
+        return new BarList(this);
+    }
+
+    public Bar bar(int index) {
+        checkIndex(index);
+        return new Bar(this, index);
+    }
+
+    public long getOpenTime(int index) {
+        return openTime[offset + index];
+    }
+
+    public double getOpen(int index) {
+        return open[offset + index];
+    }
+
+    public double getHigh(int index) {
+        return high[offset + index];
+    }
+
+    public double getLow(int index) {
+        return low[offset + index];
+    }
+
+    public double getClose(int index) {
+        return close[offset + index];
+    }
+
+    public double getVolume(int index) {
+        return volume[offset + index];
+    }
+
+    public long getCloseTime(int index) {
+        return closeTime[offset + index];
+    }
+
+    /*
+     * Raw columns for kernels that scan the arrays directly. Valid indices are
+     * [getOffset(), getOffset() + size()); the arrays must not be modified.
+     */
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public long[] openTimeColumn() {
+        return openTime;
+    }
+
+    public double[] openColumn() {
+        return open;
+    }
+
+    public double[] highColumn() {
+        return high;
+    }
+
+    public double[] lowColumn() {
+        return low;
+    }
+
+    public double[] closeColumn() {
+        return close;
+    }
+
+    public double[] volumeColumn() {
+        return volume;
+    }
+
+    public long[] closeTimeColumn() {
+        return closeTime;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    /**
+     * Flyweight {@link StatDealData} over one row of a series. Exposes the same bean properties as
+     * {@link KlineData} so reports and templates keep working.
+     */
+    public static final class Bar implements StatDealData {
+        private final BarSeries series;
+        private final int index;
+
+        Bar(BarSeries series, int index) {
+            this.series = series;
+            this.index = index;
+        }
+
+        public long getOpenTime() {
+            return series.getOpenTime(index);
+        }
+
+        public double getOpenPrice() {
+            return series.getOpen(index);
+        }
+
+        @Override
+        public double getHighPrice() {
+            return series.getHigh(index);
+        }
+
+        @Override
+        public double getLowPrice() {
+            return series.getLow(index);
+        }
+
+        @Override
+        public double getClosePrice() {
+            return series.getClose(index);
+        }
+
+        @Override
+        public double getVolume() {
+            return series.getVolume(index);
+        }
+
+        public long getCloseTime() {
+            return series.getCloseTime(index);
+        }
+
+        public String getOpenTimeFormatted() {
+            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+            return sdf.format(new Date(getOpenTime()));
+        }
+
+        @Override
+        public long getWhen() {
+            return getCloseTime();
+        }
+
+        @Override
+        public double getPrice() {
+            return getClosePrice();
+        }
+
+        @Override
+        public String toString() {
+            return "Bar(openTime=" + getOpenTime() + ", openPrice=" + getOpenPrice() + ", highPrice=" + getHighPrice()
+                    + ", lowPrice=" + getLowPrice() + ", closePrice=" + getClosePrice() + ", volume=" + getVolume()
+                    + ", closeTime=" + getCloseTime() + ")";
+        }
+    }
+
+    private static final class BarList extends AbstractList<StatDealData> implements RandomAccess {
+        private final BarSeries series;
+
+        BarList(BarSeries series) {
+            this.series = series;
+        }
+
+        @Override
+        public StatDealData get(int index) {
+            return series.bar(index);
+        }
+
+        @Override
+        public int size() {
+            return series.size();
+        }
+
+        @Override
+        public List<StatDealData> subList(int fromIndex, int toIndex) {
+            return series.view(fromIndex, toIndex).asList();
+        }
+    }
+}
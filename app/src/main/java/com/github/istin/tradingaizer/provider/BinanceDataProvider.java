@@ -2,14 +2,11 @@ package com.github.istin.tradingaizer.provider;
 
 import com.binance.connector.client.impl.SpotClientImpl;
 import com.github.istin.tradingaizer.config.ConfigReader;
-import com.github.istin.tradingaizer.model.KlineData;
-import com.github.istin.tradingaizer.trader.StatDealData;
+import com.github.istin.tradingaizer.model.BarSeries;
 import com.github.istin.tradingaizer.utils.CacheManager;
 import org.json.JSONArray;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 public class BinanceDataProvider implements DataProvider {
@@ -25,8 +22,8 @@ public class BinanceDataProvider implements DataProvider {
     }
 
     @Override
-    public List<? extends StatDealData> fetchHistoricalData(String symbol, String interval, long startTime, long endTime) {
-        List<KlineData> klineDataList = new ArrayList<>();
+    public BarSeries fetchBarSeries(String symbol, String interval, long startTime, long endTime) {
+        BarSeries series = new BarSeries();
         long currentStartTime = startTime;
 
         while (currentStartTime < endTime) {
@@ -47,19 +44,18 @@ public class BinanceDataProvider implements DataProvider {
 
                 for (int i = 0; i < jsonArray.length(); i++) {
                     JSONArray klineArray = jsonArray.getJSONArray(i);
-                    KlineData klineData = new KlineData();
-                    klineData.setOpenTime(klineArray.getLong(0));
-                    klineData.setOpenPrice(klineArray.getDouble(1));
-                    klineData.setHighPrice(klineArray.getDouble(2));
-                    klineData.setLowPrice(klineArray.getDouble(3));
-                    klineData.setClosePrice(klineArray.getDouble(4));
-                    klineData.setVolume(klineArray.getDouble(5));
-                    klineData.setCloseTime(klineArray.getLong(6));
-
-                    klineDataList.add(klineData);
+                    series.append(
+                            klineArray.getLong(0),
+                            klineArray.getDouble(1),
+                            klineArray.getDouble(2),
+                            klineArray.getDouble(3),
+                            klineArray.getDouble(4),
+                            klineArray.getDouble(5),
+                            klineArray.getLong(6)
+                    );
                 }
 
-                currentStartTime = klineDataList.get(klineDataList.size() - 1).getCloseTime() + 1;
+                currentStartTime = series.getCloseTime(series.size() - 1) + 1;
 
             } catch (Exception e) {
                 e.printStackTrace();
@@ -67,7 +63,7 @@ public class BinanceDataProvider implements DataProvider {
                 break;
             }
         }
-        return klineDataList;
+        return series;
     }
 
     private String getResponseFromCacheOrAPI(Map<String, Object> parameters) {
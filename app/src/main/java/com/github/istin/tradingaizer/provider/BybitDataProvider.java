@@ -1,8 +1,7 @@
 package com.github.istin.tradingaizer.provider;
 
 import com.github.istin.tradingaizer.config.ConfigReader;
-import com.github.istin.tradingaizer.model.KlineData;
-import com.github.istin.tradingaizer.trader.StatDealData;
+import com.github.istin.tradingaizer.model.BarSeries;
 import com.github.istin.tradingaizer.utils.CacheManager;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -11,9 +10,7 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 public class BybitDataProvider implements DataProvider {
@@ -36,8 +33,8 @@ public class BybitDataProvider implements DataProvider {
     }
 
     @Override
-    public List<? extends StatDealData> fetchHistoricalData(String symbol, String interval, long startTime, long endTime) {
-        List<KlineData> klineDataList = new ArrayList<>();
+    public BarSeries fetchBarSeries(String symbol, String interval, long startTime, long endTime) {
+        BarSeries series = new BarSeries();
         long currentStartTime = startTime;
 
         // Loop over the time range, respecting Bybit’s possible limit (e.g., 1000)
@@ -83,24 +80,15 @@ public class BybitDataProvider implements DataProvider {
                     // If it's in seconds, you might do: openTimeVal *= 1000;
                     // If it's already ms, just keep as is.
 
-                    KlineData klineData = new KlineData();
-                    klineData.setOpenTime(openTimeVal);
-                    klineData.setOpenPrice(openPriceVal);
-                    klineData.setHighPrice(highPriceVal);
-                    klineData.setLowPrice(lowPriceVal);
-                    klineData.setClosePrice(closePriceVal);
-                    klineData.setVolume(volumeVal);
-
                     // Bybit typically does not return "closeTime" for spot klines.
                     // You might approximate closeTime = openTime + intervalMillis
                     long assumedCloseTime = openTimeVal + parseIntervalToMillis(interval);
-                    klineData.setCloseTime(assumedCloseTime);
 
-                    klineDataList.add(klineData);
+                    series.append(openTimeVal, openPriceVal, highPriceVal, lowPriceVal, closePriceVal, volumeVal, assumedCloseTime);
                 }
 
                 // Move our currentStartTime forward to avoid duplicates
-                currentStartTime = klineDataList.get(klineDataList.size() - 1).getOpenTime() + 1;
+                currentStartTime = series.getOpenTime(series.size() - 1) + 1;
 
             } catch (Exception e) {
                 e.printStackTrace();
@@ -109,7 +97,7 @@ public class BybitDataProvider implements DataProvider {
             }
         }
 
-        return klineDataList;
+        return series;
     }
 
     /**
@@ -1,9 +1,15 @@
 package com.github.istin.tradingaizer.provider;
 
+import com.github.istin.tradingaizer.model.BarSeries;
 import com.github.istin.tradingaizer.trader.StatDealData;
 
 import java.util.List;
 
 public interface DataProvider {
-    List<? extends StatDealData> fetchHistoricalData(String symbol, String interval, long startTime, long endTime);
+
+    BarSeries fetchBarSeries(String symbol, String interval, long startTime, long endTime);
+
+    default List<? extends StatDealData> fetchHistoricalData(String symbol, String interval, long startTime, long endTime) {
+        return fetchBarSeries(symbol, interval, startTime, endTime).asList();
+    }
 }
@@ -1,6 +1,7 @@
 package com.github.istin.tradingaizer.strategy;
 
 import com.github.istin.tradingaizer.chart.ChartDataProvider;
+import com.github.istin.tradingaizer.chart.IndicatorRequest;
 import com.github.istin.tradingaizer.indicator.*;
 import com.github.istin.tradingaizer.model.Decision;
 import com.github.istin.tradingaizer.model.DecisionReason;
@@ -10,72 +11,85 @@ import java.util.List;
 
 public class EnhancedStrategyV2 extends Strategy {
 
+    private static final DecisionReason NO_CONDITIONS = new DecisionReason(Decision.HOLD, "No clear entry or exit conditions met.");
+
+    // Indicators for 5m data
+    private final MACDIndicator macd5mIndicator = new MACDIndicator(12, 26, 9);
+    private final RSIIndicator rsi5mIndicator = new RSIIndicator(14);
+    private final BollingerBandsIndicator bollingerBands5mIndicator = new BollingerBandsIndicator(20, 2.0);
+    private final SuperTrendIndicator superTrend5mIndicator = new SuperTrendIndicator(10, 3.0);
+
+    // Indicators for 15m data
+    private final MovingAverageIndicator ema15mIndicator = new MovingAverageIndicator(50); // EMA for trend determination
+
+    // Indicators for 1h data
+    private final MACDIndicator macd1hIndicator = new MACDIndicator(12, 26, 9);
+    private final RSIIndicator rsi1hIndicator = new RSIIndicator(14);
+
     public EnhancedStrategyV2(String cacheId, ChartDataProvider chartDataProvider) {
         super(cacheId, chartDataProvider);
     }
 
+    @Override
+    public List<IndicatorRequest> requiredIndicators() {
+        return List.of(
+                new IndicatorRequest(macd5mIndicator, Timeframe.M5),
+                new IndicatorRequest(rsi5mIndicator, Timeframe.M5),
+                new IndicatorRequest(bollingerBands5mIndicator, Timeframe.M5),
+                new IndicatorRequest(superTrend5mIndicator, Timeframe.M5),
+                new IndicatorRequest(ema15mIndicator, Timeframe.M15),
+                new IndicatorRequest(macd1hIndicator, Timeframe.H1),
+                new IndicatorRequest(rsi1hIndicator, Timeframe.H1)
+        );
+    }
+
     @Override
     public DecisionReason generateDecision(List<? extends StatData> historicalData) {
-        // Aggregate data into different timeframes
-        List<? extends StatData> data5m = getData(historicalData, Timeframe.M5);
-        List<? extends StatData> data15m = getData(historicalData, Timeframe.M15);
-        List<? extends StatData> data1h = getData(historicalData, Timeframe.H1);
+        // Completed bars of the higher timeframes
+        int bars5m = getBarCount(historicalData, Timeframe.M5);
+        int bars15m = getBarCount(historicalData, Timeframe.M15);
+        int bars1h = getBarCount(historicalData, Timeframe.H1);
 
-        if (data5m.isEmpty() || data15m.isEmpty() || data1h.isEmpty()) {
-            return new DecisionReason(Decision.HOLD, "No clear signal");
+        if (bars5m == 0 || bars15m == 0 || bars1h == 0) {
+            return HOLD;
         }
 
-        // Initialize indicators for 5m data
-        MACDIndicator macd5mIndicator = new MACDIndicator(12, 26, 9);
-        RSIIndicator rsi5mIndicator = new RSIIndicator(14);
-        BollingerBandsIndicator bollingerBands5mIndicator = new BollingerBandsIndicator(20, 2.0);
-        SuperTrendIndicator superTrend5mIndicator = new SuperTrendIndicator(10, 3.0);
-
-        // Initialize indicators for 15m data
-        MovingAverageIndicator ema15mIndicator = new MovingAverageIndicator(50); // EMA for trend determination
-
-        // Initialize indicators for 1h data
-        MACDIndicator macd1hIndicator = new MACDIndicator(12, 26, 9);
-        RSIIndicator rsi1hIndicator = new RSIIndicator(14);
-
         // Calculate indicators on 5m data
-        MACDIndicator.Result macdValue5m = calcOrFromCache(macd5mIndicator, data5m, Timeframe.M5);
-        Double rsiValue5m = calcOrFromCache(rsi5mIndicator, data5m, Timeframe.M5);
-
-        BollingerBandsIndicator.Result bollingerBands5mResult = calcOrFromCache(bollingerBands5mIndicator, data5m, Timeframe.M5);
-
-        Double superTrendSignal5m = calcOrFromCache(superTrend5mIndicator, data5m, Timeframe.M5);
-        if (macdValue5m == null || rsiValue5m == null || bollingerBands5mResult == null || superTrendSignal5m == null) {
-            return new DecisionReason(Decision.HOLD, "No clear entry or exit conditions met.");
+        double macd5m = calcValue(macd5mIndicator, bars5m, Timeframe.M5, MACDIndicator.MACD);
+        double signalLine5m = calcValue(macd5mIndicator, bars5m, Timeframe.M5, MACDIndicator.SIGNAL_LINE);
+        double rsiValue5m = calcValue(rsi5mIndicator, bars5m, Timeframe.M5, 0);
+        double bollingerUpper = calcValue(bollingerBands5mIndicator, bars5m, Timeframe.M5, BollingerBandsIndicator.UPPER_BAND);
+        double bollingerLower = calcValue(bollingerBands5mIndicator, bars5m, Timeframe.M5, BollingerBandsIndicator.LOWER_BAND);
+        double superTrendSignal5m = calcValue(superTrend5mIndicator, bars5m, Timeframe.M5, 0);
+        if (Double.isNaN(macd5m) || Double.isNaN(rsiValue5m) || Double.isNaN(bollingerUpper) || Double.isNaN(superTrendSignal5m)) {
+            return NO_CONDITIONS;
         }
 
-        double bollingerUpper = bollingerBands5mResult.getUpperBand();
-        double bollingerLower = bollingerBands5mResult.getLowerBand();
-
         // Log 5m indicators
         System.out.println("5m Indicators:");
-        System.out.println("MACD: " + macdValue5m.getMacd() + ", Signal Line: " + macdValue5m.getSignalLine());
+        System.out.println("MACD: " + macd5m + ", Signal Line: " + signalLine5m);
         System.out.println("RSI: " + rsiValue5m);
         System.out.println("Bollinger Bands - Upper: " + bollingerUpper + ", Lower: " + bollingerLower);
         System.out.println("SuperTrend Signal: " + superTrendSignal5m);
 
         // Calculate indicators on 15m data
-        Double emaValue15m = calcOrFromCache(ema15mIndicator, data15m, Timeframe.M15);
+        double emaValue15m = calcValue(ema15mIndicator, bars15m, Timeframe.M15, 0);
 
         // Log 15m indicators
         System.out.println("15m Indicators:");
         System.out.println("EMA: " + emaValue15m);
 
         // Calculate indicators on 1h data
-        MACDIndicator.Result macdValue1h = calcOrFromCache(macd1hIndicator, data1h, Timeframe.H1);
-        Double rsiValue1h = calcOrFromCache(rsi1hIndicator, data1h, Timeframe.H1);
+        double macd1h = calcValue(macd1hIndicator, bars1h, Timeframe.H1, MACDIndicator.MACD);
+        double signalLine1h = calcValue(macd1hIndicator, bars1h, Timeframe.H1, MACDIndicator.SIGNAL_LINE);
+        double rsiValue1h = calcValue(rsi1hIndicator, bars1h, Timeframe.H1, 0);
 
-        if (emaValue15m == null || macdValue1h == null || rsiValue1h == null) {
-            return new DecisionReason(Decision.HOLD, "No clear entry or exit conditions met.");
+        if (Double.isNaN(emaValue15m) || Double.isNaN(macd1h) || Double.isNaN(rsiValue1h)) {
+            return NO_CONDITIONS;
         }
         // Log 1h indicators
         System.out.println("1h Indicators:");
-        System.out.println("MACD: " + macdValue1h.getMacd() + ", Signal Line: " + macdValue1h.getSignalLine());
+        System.out.println("MACD: " + macd1h + ", Signal Line: " + signalLine1h);
         System.out.println("RSI: " + rsiValue1h);
 
         // Retrieve the latest data
@@ -84,13 +98,9 @@ public class EnhancedStrategyV2 extends Strategy {
 
         // Enhanced logic for decision-making
 
-        double macd5m = macdValue5m.getMacd();
-        double signalLine5m = macdValue5m.getSignalLine();
         boolean isBullish5m = macd5m > signalLine5m && rsiValue5m < 60 && latestPrice > emaValue15m;
         boolean isBearish5m = macd5m < signalLine5m && rsiValue5m > 40 && latestPrice < emaValue15m;
 
-        double macd1h = macdValue1h.getMacd();
-        double signalLine1h = macdValue1h.getSignalLine();
         boolean isBullish1h = macd1h > signalLine1h && rsiValue1h < 60;
         boolean isBearish1h = macd1h < signalLine1h && rsiValue1h > 40;
 
@@ -111,7 +121,7 @@ public class EnhancedStrategyV2 extends Strategy {
         }
 
         // Default hold decision
-        return new DecisionReason(Decision.HOLD, "No clear entry or exit conditions met.");
+        return NO_CONDITIONS;
     }
 
 }
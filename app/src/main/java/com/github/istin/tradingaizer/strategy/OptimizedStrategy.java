@@ -1,6 +1,8 @@
 package com.github.istin.tradingaizer.strategy;
 
+import com.github.istin.tradingaizer.backtest.StrategyContext;
 import com.github.istin.tradingaizer.chart.ChartDataProvider;
+import com.github.istin.tradingaizer.chart.IndicatorRequest;
 import com.github.istin.tradingaizer.indicator.*;
 import com.github.istin.tradingaizer.model.Decision;
 import com.github.istin.tradingaizer.model.DecisionReason;
@@ -10,9 +12,19 @@ import java.util.List;
 
 public class OptimizedStrategy extends Strategy {
 
+    private static final DecisionReason LONG = new DecisionReason(Decision.LONG, "Uptrend, bullish MACD crossover, and RSI is not overbought");
+    private static final DecisionReason SHORT = new DecisionReason(Decision.SHORT, "Downtrend, bearish MACD crossover, and RSI is not oversold");
+    private static final DecisionReason CLOSE = new DecisionReason(Decision.CLOSE, "MACD crossover against trend or price beyond ATR threshold");
+
     private int rsiOverbought = 60;
     private int rsiOversold = 40;
 
+    // Indicators
+    private final MACDIndicator macdIndicator = new MACDIndicator(12, 26, 9);
+    private final RSIIndicator rsiIndicator = new RSIIndicator(14);
+    private final ATRIndicator atrIndicator = new ATRIndicator(14);
+    private final MovingAverageIndicator maIndicator = new MovingAverageIndicator(50);
+
     public OptimizedStrategy(String cacheId, ChartDataProvider chartDataProvider) {
         super(cacheId, chartDataProvider);
     }
@@ -24,25 +36,42 @@ public class OptimizedStrategy extends Strategy {
     }
 
     @Override
-    public DecisionReason generateDecision(List<? extends StatData> historicalData) {
-        // Initialize indicators
-        MACDIndicator macdIndicator = new MACDIndicator(12, 26, 9);
-        RSIIndicator rsiIndicator = new RSIIndicator(14);
-        ATRIndicator atrIndicator = new ATRIndicator(14);
-        MovingAverageIndicator maIndicator = new MovingAverageIndicator(50);
+    public List<IndicatorRequest> requiredIndicators() {
+        return List.of(
+                new IndicatorRequest(macdIndicator, Timeframe.M1),
+                new IndicatorRequest(rsiIndicator, Timeframe.M1),
+                new IndicatorRequest(atrIndicator, Timeframe.M1),
+                new IndicatorRequest(maIndicator, Timeframe.M1)
+        );
+    }
 
+    @Override
+    public DecisionReason generateDecision(List<? extends StatData> historicalData) {
         // Calculate indicator values
-        MACDIndicator.Result macd = calcOrFromCache(macdIndicator, historicalData, Timeframe.M1);
-        Double rsi = calcOrFromCache(rsiIndicator, historicalData, Timeframe.M1);
-        Double atr = calcOrFromCache(atrIndicator, historicalData, Timeframe.M1);
-        Double ma = calcOrFromCache(maIndicator, historicalData, Timeframe.M1);
+        int size = historicalData.size();
+        double macd = calcValue(macdIndicator, size, Timeframe.M1, MACDIndicator.MACD);
+        double signalLine = calcValue(macdIndicator, size, Timeframe.M1, MACDIndicator.SIGNAL_LINE);
+        double rsi = calcValue(rsiIndicator, historicalData, Timeframe.M1);
+        double atr = calcValue(atrIndicator, historicalData, Timeframe.M1);
+        double ma = calcValue(maIndicator, historicalData, Timeframe.M1);
+        // Retrieve the latest data
+        return decide(macd, signalLine, rsi, atr, ma, lastClose(historicalData));
+    }
+
+    @Override
+    public DecisionReason generateDecision(StrategyContext context) {
+        return decide(context.getValue(macdIndicator, Timeframe.M1, MACDIndicator.MACD),
+                context.getValue(macdIndicator, Timeframe.M1, MACDIndicator.SIGNAL_LINE),
+                context.getValue(rsiIndicator, Timeframe.M1),
+                context.getValue(atrIndicator, Timeframe.M1),
+                context.getValue(maIndicator, Timeframe.M1),
+                context.getClose());
+    }
 
-        if (macd == null || rsi == null || atr == null || ma == null) {
-            return new DecisionReason(Decision.HOLD, "No clear signal");
+    private DecisionReason decide(double macd, double signalLine, double rsi, double atr, double ma, double latestPrice) {
+        if (Double.isNaN(macd) || Double.isNaN(rsi) || Double.isNaN(atr) || Double.isNaN(ma)) {
+            return HOLD;
         }
-        // Retrieve the latest data
-        StatData latestData = historicalData.get(historicalData.size() - 1);
-        double latestPrice = latestData.getClosePrice();
 
         // Trend confirmation using Moving Average
         boolean isUptrend = latestPrice > ma;
@@ -53,21 +82,21 @@ public class OptimizedStrategy extends Strategy {
         double upperThreshold = latestPrice + (atr * atrMultiplier); // Resistance
         double lowerThreshold = latestPrice - (atr * atrMultiplier); // Support
 
-        if (isUptrend && macd.getMacd() > macd.getSignalLine() && rsi < rsiOverbought) {
-            return new DecisionReason(Decision.LONG, "Uptrend, bullish MACD crossover, and RSI is not overbought");
+        if (isUptrend && macd > signalLine && rsi < rsiOverbought) {
+            return LONG;
         }
 
         // Short Entry Logic
-        if (isDowntrend && macd.getMacd() < macd.getSignalLine() && rsi > rsiOversold) {
-            return new DecisionReason(Decision.SHORT, "Downtrend, bearish MACD crossover, and RSI is not oversold");
+        if (isDowntrend && macd < signalLine && rsi > rsiOversold) {
+            return SHORT;
         }
 
         // Exit (Close) Logic
-        if ((macd.getMacd() < macd.getSignalLine() && isUptrend) || (macd.getMacd() > macd.getSignalLine() && isDowntrend) || (latestPrice > upperThreshold || latestPrice < lowerThreshold)) {
-            return new DecisionReason(Decision.CLOSE, "MACD crossover against trend or price beyond ATR threshold");
+        if ((macd < signalLine && isUptrend) || (macd > signalLine && isDowntrend) || (latestPrice > upperThreshold || latestPrice < lowerThreshold)) {
+            return CLOSE;
         }
 
         // Default Hold
-        return new DecisionReason(Decision.HOLD, "No clear signal");
+        return HOLD;
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,12 @@
 package com.github.istin.tradingaizer.strategy;
 
+import com.github.istin.tradingaizer.backtest.StrategyContext;
 import com.github.istin.tradingaizer.chart.ChartDataProvider;
+import com.github.istin.tradingaizer.chart.IndicatorRequest;
 import com.github.istin.tradingaizer.indicator.Indicator;
 import com.github.istin.tradingaizer.indicator.Timeframe;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.Decision;
 import com.github.istin.tradingaizer.model.DecisionReason;
 import com.github.istin.tradingaizer.trader.StatData;
 
@@ -10,6 +14,11 @@ import java.util.List;
 
 public abstract class Strategy {
 
+    /**
+     * Shared "nothing to do" decision, so that holding does not allocate on every bar. Must not be modified.
+     */
+    protected static final DecisionReason HOLD = new DecisionReason(Decision.HOLD, "No clear signal");
+
     private final String cacheId;
     private final ChartDataProvider chartDataProvider;
 
@@ -22,9 +31,62 @@ public abstract class Strategy {
         return chartDataProvider.calculateIndicator(indicator, historicalData, timeframe);
     }
 
+    /**
+     * Unboxed single-output value of the indicator on the last bar of {@code historicalData}, {@link Double#NaN}
+     * while it is not ready.
+     */
+    double calcValue(Indicator<?> indicator, List<? extends StatData> historicalData, Timeframe timeframe) {
+        return calcValue(indicator, historicalData.size(), timeframe, 0);
+    }
+
+    /**
+     * One output (for example {@link com.github.istin.tradingaizer.indicator.MACDIndicator#SIGNAL_LINE}) of the
+     * indicator on the last of {@code barCount} bars, {@link Double#NaN} while it is not ready.
+     */
+    double calcValue(Indicator<?> indicator, int barCount, Timeframe timeframe, int output) {
+        return chartDataProvider.calculateValue(indicator, barCount, timeframe, output);
+    }
+
+    /**
+     * The close price of the last bar of {@code historicalData}, read from the close column when the bars are a
+     * {@link BarSeries} view rather than through a flyweight.
+     */
+    double lastClose(List<? extends StatData> historicalData) {
+        int last = historicalData.size() - 1;
+        BarSeries series = BarSeries.unwrap(historicalData);
+        return series != null ? series.getClose(last) : historicalData.get(last).getClosePrice();
+    }
+
+    protected int getBarCount(List<? extends StatData> historicalData, Timeframe timeframe) {
+        return chartDataProvider.getBarCount(historicalData, timeframe);
+    }
+
     protected List<? extends StatData> getData(List<? extends StatData> historicalData, Timeframe timeframe) {
         return chartDataProvider.getData(historicalData, timeframe);
     }
 
+    /**
+     * The indicators {@link #generateDecision(List)} reads, calculated up front by {@link #warmup()}.
+     */
+    public List<IndicatorRequest> requiredIndicators() {
+        return List.of();
+    }
+
+    /**
+     * Calculates all {@link #requiredIndicators()} in parallel before the first decision.
+     */
+    public void warmup() {
+        chartDataProvider.warmup(requiredIndicators());
+    }
+
     public abstract DecisionReason generateDecision(List<? extends StatData> historicalData);
+
+    /**
+     * Decision on the current bar of a {@link com.github.istin.tradingaizer.backtest.BacktestEngine} run. Passes a
+     * view of the bars so far to {@link #generateDecision(List)}; strategies that only read indicator values
+     * override it to look them up by index in the context.
+     */
+    public DecisionReason generateDecision(StrategyContext context) {
+        return generateDecision(context.getHistory());
+    }
 }
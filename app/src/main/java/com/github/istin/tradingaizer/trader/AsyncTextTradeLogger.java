@@ -0,0 +1,167 @@
+package com.github.istin.tradingaizer.trader;
+
+import java.io.PrintStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+/**
+ * Prints the trade events as text lines from a background thread: the trader only queues the fields, and the
+ * formatting and the console I/O happen off its thread. The output is flushed whenever the queue runs empty;
+ * the {@link #console()} logger also on JVM shutdown.
+ */
+public class AsyncTextTradeLogger implements TradeEventListener, AutoCloseable {
+
+    private static final int CAPACITY = 64 * 1024;
+
+    // Formats one line, or null for the markers below
+    private final BlockingQueue<Supplier<String>> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private final PrintStream out;
+    private final Thread thread;
+    private volatile boolean closed;
+
+    public AsyncTextTradeLogger(PrintStream out) {
+        this.out = out;
+        this.thread = new Thread(this::drain, "trade-event-logger");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * The logger to {@link System#out} that traders use unless told otherwise.
+     */
+    public static AsyncTextTradeLogger console() {
+        return Console.INSTANCE;
+    }
+
+    @Override
+    public void onOpened(String ticker, Direction direction, long time, double price, double amount, double stopLoss,
+                         String reason) {
+        enqueue(() -> TradeMessages.opened(direction, time, price, amount, stopLoss, reason));
+    }
+
+    @Override
+    public void onHeld(String ticker, Direction direction, long time, double price, double openPrice,
+                       double profitLoss, double profitLossRatio, double stopLoss) {
+        enqueue(() -> TradeMessages.held(direction, price, openPrice, profitLoss, profitLossRatio, stopLoss));
+    }
+
+    @Override
+    public void onStopMoved(String ticker, Direction direction, long time, double price, double stopLoss) {
+        enqueue(() -> TradeMessages.stopMoved(stopLoss));
+    }
+
+    @Override
+    public void onClosed(String ticker, Direction direction, long time, double price, CloseReason reason,
+                         String decisionReason, double profitLoss, double oldBalance, double newBalance, long openMinutes) {
+        enqueue(() -> TradeMessages.closed(time, reason, decisionReason, profitLoss, oldBalance, newBalance, openMinutes));
+    }
+
+    @Override
+    public void onRejected(String ticker, Direction direction, long time, double price, double amount) {
+        enqueue(() -> TradeMessages.rejected(ticker, direction, time, price, amount));
+    }
+
+    /**
+     * Blocks until the events logged so far are printed.
+     */
+    public void flush() {
+        if (closed || !thread.isAlive()) {
+            out.flush();
+            return;
+        }
+        Marker marker = new Marker();
+        enqueue(marker);
+        try {
+            marker.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Prints what is queued and stops the background thread.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Queued between the flush and the close
+        for (Supplier<String> line = queue.poll(); line != null; line = queue.poll()) {
+            String text = line.get();
+            if (text != null) {
+                out.println(text);
+            }
+        }
+        out.flush();
+    }
+
+    private void enqueue(Supplier<String> line) {
+        if (closed) {
+            // Late events after close, for example from another shutdown hook
+            String text = line.get();
+            if (text != null) {
+                out.println(text);
+            }
+            return;
+        }
+        try {
+            // A full queue slows the trader down to the console rather than dropping lines
+            queue.put(line);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!closed) {
+                Supplier<String> line = queue.take();
+                do {
+                    String text = line.get();
+                    if (text != null) {
+                        out.println(text);
+                    }
+                    line = queue.poll();
+                } while (line != null);
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            // Closed
+        }
+    }
+
+    /**
+     * Prints nothing; releases {@link #flush()} once the lines queued before it are printed.
+     */
+    private final class Marker implements Supplier<String> {
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        @Override
+        public String get() {
+            out.flush();
+            done.countDown();
+            return null;
+        }
+    }
+
+    private static class Console {
+        private static final AsyncTextTradeLogger INSTANCE = create();
+
+        private static AsyncTextTradeLogger create() {
+            AsyncTextTradeLogger logger = new AsyncTextTradeLogger(System.out);
+            Runtime.getRuntime().addShutdownHook(new Thread(logger::close, "trade-event-logger-shutdown"));
+            return logger;
+        }
+    }
+}
@@ -11,11 +11,22 @@ import org.slf4j.LoggerFactory;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class BinanceDealExecutor implements DealExecutor {
 
     private static final Logger logger = LoggerFactory.getLogger(BinanceDealExecutor.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
     private final UMFuturesClientImpl client;
+    // Blocking HTTP calls stay off the common pool, which the backtests and the indicator warmup keep busy
+    // Not daemon threads: an order being sent keeps the JVM alive until shutdown() lets it finish
+    private final ExecutorService io = Executors.newFixedThreadPool(2, runnable -> new Thread(runnable, "binance-io"));
+    // The position endpoint lags the order endpoint: query it a second after the market order
+    private final Executor positionDelay = CompletableFuture.delayedExecutor(1, TimeUnit.SECONDS, io);
 
     public BinanceDealExecutor(String apiKey, String secretKey) {
         this.client = new UMFuturesClientImpl(
@@ -63,6 +74,28 @@ public class BinanceDealExecutor implements DealExecutor {
         }
     }
 
+    @Override
+    public CompletableFuture<Deal> submitDealAsync(Deal deal) {
+        return CompletableFuture.runAsync(() -> submitDeal(deal), io)
+                .thenApplyAsync(ignored -> getCurrentDeal(deal.getTicker()), positionDelay);
+    }
+
+    /**
+     * Lets the calls already submitted finish, then stops the threads.
+     */
+    public void shutdown() {
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Binance calls still running after {}s, stopping them", SHUTDOWN_TIMEOUT_SECONDS);
+                io.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            io.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private double getQuantity(String ticker, double openAmountUSDT, double price) {
         String response = client.market().exchangeInfo();
         JSONObject jsonResponse = new JSONObject(response);
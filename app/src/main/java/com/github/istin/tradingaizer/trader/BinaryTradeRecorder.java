@@ -0,0 +1,184 @@
+package com.github.istin.tradingaizer.trader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the trade events as fixed binary records for later analysis, read back with {@link #replay}. A ticker
+ * is written once and then referred to by number; the decision reasons are not kept.
+ */
+public class BinaryTradeRecorder implements TradeEventListener, AutoCloseable {
+
+    private static final int MAGIC = 0x54415445; // "TATE"
+    private static final int VERSION = 1;
+
+    private static final byte TICKER = 0;
+    private static final byte OPENED = 1;
+    private static final byte HELD = 2;
+    private static final byte STOP_MOVED = 3;
+    private static final byte CLOSED = 4;
+    private static final byte REJECTED = 5;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final CloseReason[] CLOSE_REASONS = CloseReason.values();
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> tickers = new HashMap<>();
+
+    public BinaryTradeRecorder(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.out.writeInt(MAGIC);
+        this.out.writeInt(VERSION);
+    }
+
+    public static BinaryTradeRecorder create(Path file) throws IOException {
+        return new BinaryTradeRecorder(Files.newOutputStream(file));
+    }
+
+    @Override
+    public synchronized void onOpened(String ticker, Direction direction, long time, double price, double amount,
+                                      double stopLoss, String reason) {
+        try {
+            writeHeader(OPENED, ticker, direction, time, price);
+            out.writeDouble(amount);
+            out.writeDouble(stopLoss);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void onHeld(String ticker, Direction direction, long time, double price, double openPrice,
+                                    double profitLoss, double profitLossRatio, double stopLoss) {
+        try {
+            writeHeader(HELD, ticker, direction, time, price);
+            out.writeDouble(openPrice);
+            out.writeDouble(profitLoss);
+            out.writeDouble(profitLossRatio);
+            out.writeDouble(stopLoss);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void onStopMoved(String ticker, Direction direction, long time, double price, double stopLoss) {
+        try {
+            writeHeader(STOP_MOVED, ticker, direction, time, price);
+            out.writeDouble(stopLoss);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void onClosed(String ticker, Direction direction, long time, double price, CloseReason reason,
+                                      String decisionReason, double profitLoss, double oldBalance, double newBalance,
+                                      long openMinutes) {
+        try {
+            writeHeader(CLOSED, ticker, direction, time, price);
+            out.writeByte(reason.ordinal());
+            out.writeDouble(profitLoss);
+            out.writeDouble(oldBalance);
+            out.writeDouble(newBalance);
+            out.writeLong(openMinutes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void onRejected(String ticker, Direction direction, long time, double price, double amount) {
+        try {
+            writeHeader(REJECTED, ticker, direction, time, price);
+            out.writeDouble(amount);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeHeader(byte type, String ticker, Direction direction, long time, double price) throws IOException {
+        Integer id = tickers.get(ticker);
+        if (id == null) {
+            id = tickers.size();
+            tickers.put(ticker, id);
+            out.writeByte(TICKER);
+            out.writeUTF(ticker);
+        }
+        out.writeByte(type);
+        out.writeShort(id);
+        out.writeByte(direction.ordinal());
+        out.writeLong(time);
+        out.writeDouble(price);
+    }
+
+    public synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Calls the listener with every event recorded in the stream, in order.
+     */
+    public static void replay(InputStream in, TradeEventListener listener) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+            throw new IOException("Not a trade event recording");
+        }
+        List<String> tickers = new ArrayList<>();
+        while (true) {
+            int type;
+            try {
+                type = data.readByte();
+            } catch (EOFException e) {
+                return;
+            }
+            if (type == TICKER) {
+                tickers.add(data.readUTF());
+                continue;
+            }
+            String ticker = tickers.get(data.readShort());
+            Direction direction = DIRECTIONS[data.readByte()];
+            long time = data.readLong();
+            double price = data.readDouble();
+            switch (type) {
+                case OPENED:
+                    listener.onOpened(ticker, direction, time, price, data.readDouble(), data.readDouble(), null);
+                    break;
+                case HELD:
+                    listener.onHeld(ticker, direction, time, price, data.readDouble(), data.readDouble(),
+                            data.readDouble(), data.readDouble());
+                    break;
+                case STOP_MOVED:
+                    listener.onStopMoved(ticker, direction, time, price, data.readDouble());
+                    break;
+                case CLOSED:
+                    listener.onClosed(ticker, direction, time, price, CLOSE_REASONS[data.readByte()], null,
+                            data.readDouble(), data.readDouble(), data.readDouble(), data.readLong());
+                    break;
+                case REJECTED:
+                    listener.onRejected(ticker, direction, time, price, data.readDouble());
+                    break;
+                default:
+                    throw new IOException("Unknown trade event " + type);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.istin.tradingaizer.trader;
+
+/**
+ * Why {@link Trader} closed a deal, in the order it checks them.
+ */
+public enum CloseReason {
+    STOP_LOSS("Stop loss triggered"),
+    TAKE_PROFIT("Take-profit reached"),
+    CLOSE_DECISION("Close decision received"),
+    OPPOSITE_SIGNAL("Opposite signal");
+
+    private final String description;
+
+    CloseReason(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
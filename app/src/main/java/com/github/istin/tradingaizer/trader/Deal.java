@@ -1,10 +1,14 @@
 package com.github.istin.tradingaizer.trader;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.function.Supplier;
 
 @Data
-@AllArgsConstructor
 public class Deal {
     private String ticker;
     private DealData openedData;
@@ -14,6 +18,24 @@ public class Deal {
     private double openAmountUSDT;
     private double closedAmount;
     private String message;
+    private CloseReason closeReason;
+    // Formats the message on first read: most closed deals of a backtest are never printed
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Supplier<String> messageSupplier;
+
+    public Deal(String ticker, DealData openedData, DealData closeData, Direction direction, double stopLoss,
+                double openAmountUSDT, double closedAmount, String message) {
+        this.ticker = ticker;
+        this.openedData = openedData;
+        this.closeData = closeData;
+        this.direction = direction;
+        this.stopLoss = stopLoss;
+        this.openAmountUSDT = openAmountUSDT;
+        this.closedAmount = closedAmount;
+        this.message = message;
+    }
 
     public Deal(String ticker, DealData dealData, Direction direction, double tradeSizeUSDT) {
         this.ticker = ticker;
@@ -21,4 +43,12 @@ public class Deal {
         this.direction = direction;
         this.openAmountUSDT = tradeSizeUSDT;
     }
+
+    public String getMessage() {
+        if (message == null && messageSupplier != null) {
+            message = messageSupplier.get();
+            messageSupplier = null;
+        }
+        return message;
+    }
 }
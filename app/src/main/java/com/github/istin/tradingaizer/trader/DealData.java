@@ -1,5 +1,10 @@
 package com.github.istin.tradingaizer.trader;
 
+/**
+ * A price at a point in time. An instance may be reused for the next bar, as
+ * {@link com.github.istin.tradingaizer.backtest.BarCursor#getCurrentBar()} is: code that keeps one beyond the call
+ * it was passed to keeps its {@link #snapshot()} instead.
+ */
 public interface DealData {
 
     long getWhen();
@@ -8,4 +13,11 @@ public interface DealData {
 
     double getVolume();
 
+    /**
+     * Values that stay as they are now, for a {@link Deal}, a listener or a recorder to keep. Data that doesn't
+     * change returns itself.
+     */
+    default DealData snapshot() {
+        return this;
+    }
 }
@@ -1,5 +1,7 @@
 package com.github.istin.tradingaizer.trader;
 
+import java.util.concurrent.CompletableFuture;
+
 // Define the DealExecutor interface
 public interface DealExecutor {
     double getBalance();
@@ -7,4 +9,17 @@ public interface DealExecutor {
     void closeDeal(Deal deal, double closePrice);
     Deal getCurrentDeal(String ticker);
     void updateStopLoss(Deal deal, double newStopLoss);
-}
\ No newline at end of file
+
+    /**
+     * Submits the deal and completes with the position as the executor sees it once the order is filled,
+     * or with null if no position was opened.
+     */
+    default CompletableFuture<Deal> submitDealAsync(Deal deal) {
+        try {
+            submitDeal(deal);
+            return CompletableFuture.completedFuture(getCurrentDeal(deal.getTicker()));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.github.istin.tradingaizer.trader;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.concurrent.CompletableFuture;
+
 @Getter
 @Setter
 public class FakeDealExecutor implements DealExecutor {
@@ -20,6 +22,12 @@ public class FakeDealExecutor implements DealExecutor {
         currentDeal = deal;
     }
 
+    @Override
+    public CompletableFuture<Deal> submitDealAsync(Deal deal) {
+        submitDeal(deal);
+        return CompletableFuture.completedFuture(deal);
+    }
+
     @Override
     public void closeDeal(Deal deal, double closePrice) {
         currentDeal = null;
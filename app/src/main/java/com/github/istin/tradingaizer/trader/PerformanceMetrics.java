@@ -0,0 +1,138 @@
+package com.github.istin.tradingaizer.trader;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Risk and return of a run, updated bar by bar and trade by trade in constant memory: the equity curve itself is
+ * never stored. Ratios are per bar; pass the number of bars in a year to annualize them.
+ */
+@Getter
+public class PerformanceMetrics {
+
+    private final double startEquity;
+    /** Stops the run once the drawdown reaches it, {@link Double#NaN} for no limit. */
+    @Setter
+    private double drawdownLimit = Double.NaN;
+
+    private double equity;
+    private double peakEquity;
+    private long peakTime = Long.MIN_VALUE;
+    private double maxDrawdown;
+    /** Milliseconds, the longest time spent below a previous peak. */
+    private long maxDrawdownDuration;
+    private long barCount;
+    private long barsInMarket;
+    private int tradeCount;
+    private int winCount;
+    private double totalProfitLoss;
+
+    // Welford's running mean and sum of squared deviations of the bar returns, and the downside sum of squares
+    private double meanReturn;
+    private double squaredDeviations;
+    private double downsideSquares;
+
+    public PerformanceMetrics(double startEquity) {
+        this.startEquity = startEquity;
+        this.equity = startEquity;
+        this.peakEquity = startEquity;
+    }
+
+    /**
+     * @param equity   the balance plus the profit or loss of the open position at the close of the bar
+     * @param inMarket whether a position is open at the close of the bar
+     */
+    public void onBar(long time, double equity, boolean inMarket) {
+        double barReturn = this.equity == 0 ? 0 : equity / this.equity - 1;
+        this.equity = equity;
+        barCount++;
+        if (inMarket) {
+            barsInMarket++;
+        }
+
+        double delta = barReturn - meanReturn;
+        meanReturn += delta / barCount;
+        squaredDeviations += delta * (barReturn - meanReturn);
+        if (barReturn < 0) {
+            downsideSquares += barReturn * barReturn;
+        }
+
+        if (peakTime == Long.MIN_VALUE) {
+            peakTime = time;
+        }
+        if (equity >= peakEquity) {
+            peakEquity = equity;
+            peakTime = time;
+        } else {
+            maxDrawdown = Math.max(maxDrawdown, (peakEquity - equity) / peakEquity);
+            maxDrawdownDuration = Math.max(maxDrawdownDuration, time - peakTime);
+        }
+    }
+
+    public void onTrade(double profitLoss) {
+        tradeCount++;
+        if (profitLoss > 0) {
+            winCount++;
+        }
+        totalProfitLoss += profitLoss;
+    }
+
+    public boolean isDrawdownLimitReached() {
+        return maxDrawdown >= drawdownLimit;
+    }
+
+    public double getTotalReturn() {
+        return equity / startEquity - 1;
+    }
+
+    /**
+     * The share of the bars with an open position.
+     */
+    public double getExposure() {
+        return barCount == 0 ? 0 : (double) barsInMarket / barCount;
+    }
+
+    /**
+     * The average profit or loss of a trade.
+     */
+    public double getExpectancy() {
+        return tradeCount == 0 ? 0 : totalProfitLoss / tradeCount;
+    }
+
+    public double getWinRate() {
+        return tradeCount == 0 ? 0 : winCount * 100.0 / tradeCount;
+    }
+
+    public double getReturnStandardDeviation() {
+        return barCount < 2 ? 0 : Math.sqrt(squaredDeviations / (barCount - 1));
+    }
+
+    public double getSharpeRatio() {
+        return getSharpeRatio(1);
+    }
+
+    public double getSharpeRatio(double barsPerYear) {
+        double deviation = getReturnStandardDeviation();
+        return deviation == 0 ? 0 : meanReturn / deviation * Math.sqrt(barsPerYear);
+    }
+
+    public double getSortinoRatio() {
+        return getSortinoRatio(1);
+    }
+
+    public double getSortinoRatio(double barsPerYear) {
+        double downsideDeviation = barCount == 0 ? 0 : Math.sqrt(downsideSquares / barCount);
+        return downsideDeviation == 0 ? 0 : meanReturn / downsideDeviation * Math.sqrt(barsPerYear);
+    }
+
+    /**
+     * The compounded yearly return divided by the maximum drawdown.
+     */
+    public double getCalmarRatio(double barsPerYear) {
+        if (maxDrawdown == 0 || barCount == 0 || equity <= 0) {
+            return 0;
+        }
+        double yearlyReturn = Math.pow(equity / startEquity, barsPerYear / barCount) - 1;
+        return yearlyReturn / maxDrawdown;
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.istin.tradingaizer.trader;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A simulated account shared by the traders of several tickers. Fills are immediate, like on a
+ * {@link FakeDealExecutor}, but a new position is cut down to the per-ticker and portfolio limits, both fractions of
+ * the equity marked to the last {@link #mark(String, double)} prices, and rejected when nothing is left.
+ */
+public class PortfolioDealExecutor implements DealExecutor {
+
+    private final double maximumPositionFraction;
+    private final double maximumExposureFraction;
+    private final Map<String, Deal> positions = new HashMap<>();
+    private final Map<String, Double> marks = new HashMap<>();
+    private double balance;
+
+    /**
+     * @param maximumPositionFraction the largest position of one ticker, as a fraction of the equity
+     * @param maximumExposureFraction the largest sum of all open positions, as a fraction of the equity
+     */
+    public PortfolioDealExecutor(double balance, double maximumPositionFraction, double maximumExposureFraction) {
+        this.balance = balance;
+        this.maximumPositionFraction = maximumPositionFraction;
+        this.maximumExposureFraction = maximumExposureFraction;
+    }
+
+    @Override
+    public synchronized double getBalance() {
+        return balance;
+    }
+
+    /**
+     * The balance plus the profit or loss of the open positions at their last marks.
+     */
+    public synchronized double getEquity() {
+        double equity = balance;
+        for (Deal deal : positions.values()) {
+            Double mark = marks.get(deal.getTicker());
+            if (mark != null) {
+                double openPrice = deal.getOpenedData().getPrice();
+                equity += deal.getDirection() == Direction.LONG
+                        ? deal.getOpenAmountUSDT() * (mark - openPrice) / openPrice
+                        : deal.getOpenAmountUSDT() * (openPrice - mark) / openPrice;
+            }
+        }
+        return equity;
+    }
+
+    public synchronized double getExposure() {
+        double exposure = 0;
+        for (Deal deal : positions.values()) {
+            exposure += deal.getOpenAmountUSDT();
+        }
+        return exposure;
+    }
+
+    public synchronized void mark(String ticker, double price) {
+        marks.put(ticker, price);
+    }
+
+    @Override
+    public synchronized void submitDeal(Deal deal) {
+        positions.put(deal.getTicker(), deal);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Deal> submitDealAsync(Deal deal) {
+        if (positions.containsKey(deal.getTicker())) {
+            return CompletableFuture.completedFuture(null);
+        }
+        double equity = getEquity();
+        double amount = Math.min(deal.getOpenAmountUSDT(), Math.min(equity * maximumPositionFraction,
+                equity * maximumExposureFraction - getExposure()));
+        if (!(amount > 0)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Deal confirmed = amount == deal.getOpenAmountUSDT()
+                ? deal
+                : new Deal(deal.getTicker(), deal.getOpenedData(), deal.getDirection(), amount);
+        submitDeal(confirmed);
+        return CompletableFuture.completedFuture(confirmed);
+    }
+
+    @Override
+    public synchronized void closeDeal(Deal deal, double closePrice) {
+        if (positions.remove(deal.getTicker()) != null) {
+            balance += deal.getClosedAmount() - deal.getOpenAmountUSDT();
+        }
+    }
+
+    @Override
+    public synchronized Deal getCurrentDeal(String ticker) {
+        return positions.get(ticker);
+    }
+
+    @Override
+    public void updateStopLoss(Deal deal, double newStopLoss) {
+        // The trader keeps the stop loss on the deal and checks it itself
+    }
+}
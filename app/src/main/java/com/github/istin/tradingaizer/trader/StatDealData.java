@@ -1,4 +1,7 @@
 package com.github.istin.tradingaizer.trader;
 
+/**
+ * A bar, which may be reused for the next one: see {@link DealData#snapshot()} before keeping it.
+ */
 public interface StatDealData extends StatData, DealData {
 }
@@ -0,0 +1,51 @@
+package com.github.istin.tradingaizer.trader;
+
+/**
+ * What a {@link Trader} does with its deals, as plain fields: a listener formats or stores them only if it needs
+ * to, so that a backtest with {@link #NONE} formats nothing. Called on the thread that makes the decisions.
+ */
+public interface TradeEventListener {
+
+    /**
+     * Ignores every event, for backtests and sweeps.
+     */
+    TradeEventListener NONE = new TradeEventListener() {
+    };
+
+    /**
+     * @param reason the reason of the decision that opened the deal
+     */
+    default void onOpened(String ticker, Direction direction, long time, double price, double amount, double stopLoss,
+                          String reason) {
+    }
+
+    /**
+     * The deal stays open on this bar.
+     *
+     * @param profitLossRatio the profit or loss relative to the balance
+     */
+    default void onHeld(String ticker, Direction direction, long time, double price, double openPrice,
+                        double profitLoss, double profitLossRatio, double stopLoss) {
+    }
+
+    /**
+     * The stop loss follows the price of a deal in profit.
+     */
+    default void onStopMoved(String ticker, Direction direction, long time, double price, double stopLoss) {
+    }
+
+    /**
+     * @param decisionReason the reason of the decision behind {@link CloseReason#CLOSE_DECISION} or
+     *                       {@link CloseReason#OPPOSITE_SIGNAL}, {@code null} for the others
+     * @param openMinutes    how long the deal was open
+     */
+    default void onClosed(String ticker, Direction direction, long time, double price, CloseReason reason,
+                          String decisionReason, double profitLoss, double oldBalance, double newBalance, long openMinutes) {
+    }
+
+    /**
+     * An entry signal that could not be traded, for example with nothing left to trade.
+     */
+    default void onRejected(String ticker, Direction direction, long time, double price, double amount) {
+    }
+}
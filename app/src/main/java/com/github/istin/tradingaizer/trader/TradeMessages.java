@@ -0,0 +1,40 @@
+package com.github.istin.tradingaizer.trader;
+
+import com.github.istin.tradingaizer.utils.DateUtils;
+
+/**
+ * The console lines of the trade events, also the {@link Deal#getMessage()} of closed deals.
+ */
+final class TradeMessages {
+
+    private TradeMessages() {
+    }
+
+    static String opened(Direction direction, long time, double price, double amount, double stopLoss, String reason) {
+        return String.format("[DEAL] New deal opened: %s at %.2f with trade size %.2f. Stop loss: %.2f. Reason: %s   %s",
+                direction, price, amount, stopLoss, reason, DateUtils.covertToDateTime(time));
+    }
+
+    static String held(Direction direction, double price, double openPrice, double profitLoss, double profitLossRatio,
+                       double stopLoss) {
+        return String.format("Hold %s @ %.2f, P/L: %.2f (%.2f%%), price: %.2f, stop: %.2f",
+                direction, openPrice, profitLoss, profitLossRatio * 100, price, stopLoss);
+    }
+
+    static String stopMoved(double stopLoss) {
+        return String.format("Stop loss updated to %.2f", stopLoss);
+    }
+
+    static String closed(long time, CloseReason reason, String decisionReason, double profitLoss, double oldBalance,
+                         double newBalance, long openMinutes) {
+        String description = decisionReason == null ? reason.getDescription() : reason.getDescription() + ": " + decisionReason;
+        return String.format(
+                "[DEAL] Deal closed. Reason: %s. ApproxPL: %.2f. OldBalance: %.2f -> NewBalance: %.2f. Duration: %d min.  %s",
+                description, profitLoss, oldBalance, newBalance, openMinutes, DateUtils.covertToDateTime(time));
+    }
+
+    static String rejected(String ticker, Direction direction, long time, double price, double amount) {
+        return String.format("[DEAL] Rejected %s %s at %.2f with trade size %.2f   %s",
+                ticker, direction, price, amount, DateUtils.covertToDateTime(time));
+    }
+}
@@ -2,14 +2,19 @@ package com.github.istin.tradingaizer.trader;
 
 import com.github.istin.tradingaizer.model.Decision;
 import com.github.istin.tradingaizer.model.DecisionReason;
-import com.github.istin.tradingaizer.utils.DateUtils;
 import lombok.Getter;
+import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class Trader {
 
+    private static final Logger logger = LoggerFactory.getLogger(Trader.class);
+
     private final String ticker;
     private double sumLoss;
     private double sumProfit;
@@ -23,7 +28,18 @@ public class Trader {
     @Getter
     private List<Deal> closedDeals = new ArrayList<>();
 
+    @Getter
     private Deal currentDeal;
+    // Submitted but not confirmed yet: the position may not exist on the exchange, so nothing closes or moves it
+    @Getter
+    private Deal pendingDeal;
+    private CompletableFuture<Void> pendingConfirmation = CompletableFuture.completedFuture(null);
+    @Getter
+    private final PerformanceMetrics metrics;
+    // Backtests and sweeps set TradeEventListener.NONE: formatting every bar would dominate the run
+    @Getter
+    @Setter
+    private TradeEventListener eventListener = AsyncTextTradeLogger.console();
 
     public Trader(String ticker, double maximumLoss, double minimumProfit, double riskPercentage, DealExecutor dealExecutor) {
         this.balance = dealExecutor.getBalance();
@@ -32,6 +48,7 @@ public class Trader {
         this.riskPercentage = riskPercentage;
         this.dealExecutor = dealExecutor;
         this.ticker = ticker;
+        this.metrics = new PerformanceMetrics(balance);
         this.currentDeal = dealExecutor.getCurrentDeal(ticker);
         if (this.currentDeal != null) {
             System.out.printf("Existing deal loaded: %s at %.2f with trade size %.2f. Stop loss: %.2f%n",
@@ -40,58 +57,91 @@ public class Trader {
         }
     }
 
-    public void decisionTrigger(String ticker, DecisionReason decisionReason, DealData dealData) {
+    public synchronized void decisionTrigger(String ticker, DecisionReason decisionReason, DealData dealData) {
+        trigger(ticker, decisionReason, dealData);
+        double equity = currentDeal == null ? balance : balance + calculateProfitLoss(dealData.getPrice());
+        metrics.onBar(dealData.getWhen(), equity, currentDeal != null);
+    }
+
+    private void trigger(String ticker, DecisionReason decisionReason, DealData dealData) {
+        if (pendingDeal != null) {
+            return;
+        }
         Decision decision = decisionReason.getDecision();
         if (currentDeal == null) {
             if (decision == Decision.LONG || decision == Decision.SHORT) {
                 double tradeSize = balance * riskPercentage;
-                double stopLossPrice = recalcStopLoss(decisionReason, dealData, decision);
-                currentDeal = new Deal(ticker, dealData,
-                        decision == Decision.LONG ? Direction.LONG : Direction.SHORT, tradeSize);
-                currentDeal.setStopLoss(stopLossPrice);
-                dealExecutor.submitDeal(currentDeal);
-                System.out.printf("[DEAL] New deal opened: %s at %.2f with trade size %.2f. Stop loss: %.2f. Reason: %s   %s%n",
-                        currentDeal.getDirection(),
-                        dealData.getPrice(),
-                        tradeSize,
-                        currentDeal.getStopLoss(),
-                        decisionReason.getReason(),
-                        DateUtils.convertToDateTime(dealData));
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    throw new RuntimeException(e);
+                Direction direction = decision == Decision.LONG ? Direction.LONG : Direction.SHORT;
+                if (!(tradeSize > 0)) {
+                    eventListener.onRejected(ticker, direction, dealData.getWhen(), dealData.getPrice(), tradeSize);
+                    return;
                 }
-                currentDeal = dealExecutor.getCurrentDeal(ticker);
-                stopLossPrice = recalcStopLoss(decisionReason, dealData, decision);
-                currentDeal.setStopLoss(stopLossPrice);
-                dealExecutor.updateStopLoss(currentDeal, stopLossPrice);
+                double stopLossPrice = recalcStopLoss(decisionReason, dealData, decision);
+                Deal submitted = new Deal(ticker, dealData.snapshot(), direction, tradeSize);
+                submitted.setStopLoss(stopLossPrice);
+                pendingDeal = submitted;
+                String reason = decisionReason.getReason();
+                // A simulated executor completes at once and the callback runs here; a live one completes on its own thread
+                pendingConfirmation = dealExecutor.submitDealAsync(submitted)
+                        .handle((confirmed, failure) -> {
+                            onDealConfirmed(submitted, confirmed, failure, stopLossPrice, reason);
+                            return null;
+                        });
             }
             return;
         }
         double profitLoss = calculateProfitLoss(dealData.getPrice());
         double profitLossPercentage = profitLoss / balance;
         if (isStopLossTriggered(dealData.getPrice())) {
-            closeDeal(dealData, "Stop loss triggered");
+            closeDeal(dealData, CloseReason.STOP_LOSS, null);
         } else if (profitLossPercentage >= minimumProfit ||
                 (decisionReason.getTakeProfit() != null && ((currentDeal.getDirection() == Direction.LONG && dealData.getPrice() >= decisionReason.getTakeProfit())
                         || (currentDeal.getDirection() == Direction.SHORT && dealData.getPrice() <= decisionReason.getTakeProfit())))) {
-            closeDeal(dealData, "Take-profit reached");
+            closeDeal(dealData, CloseReason.TAKE_PROFIT, null);
         } else if (decision == Decision.CLOSE) {
-            closeDeal(dealData, "Close decision received: " + decisionReason.getReason());
+            closeDeal(dealData, CloseReason.CLOSE_DECISION, decisionReason.getReason());
         } else if ((currentDeal.getDirection() == Direction.LONG && decision == Decision.SHORT) ||
                 (currentDeal.getDirection() == Direction.SHORT && decision == Decision.LONG)) {
-            closeDeal(dealData, "Opposite signal: " + decisionReason.getReason());
+            closeDeal(dealData, CloseReason.OPPOSITE_SIGNAL, decisionReason.getReason());
         } else {
-            updateStopLoss(dealData.getPrice(), currentDeal.getOpenAmountUSDT());
-            System.out.printf("Hold %s @ %.2f, P/L: %.2f (%.2f%%), price: %.2f, stop: %.2f%n",
-                    currentDeal.getDirection(),
-                    currentDeal.getOpenedData().getPrice(),
-                    profitLoss,
-                    profitLossPercentage * 100,
-                    dealData.getPrice(),
-                    currentDeal.getStopLoss());
+            updateStopLoss(dealData, currentDeal.getOpenAmountUSDT());
+            eventListener.onHeld(ticker, currentDeal.getDirection(), dealData.getWhen(), dealData.getPrice(),
+                    currentDeal.getOpenedData().getPrice(), profitLoss, profitLossPercentage, currentDeal.getStopLoss());
+        }
+    }
+
+    /**
+     * Completes once the last submitted deal is confirmed or rejected and its stop loss is placed. A process that
+     * trades once and exits must wait for it, or the order may never be sent.
+     */
+    public synchronized CompletableFuture<Void> awaitPending() {
+        return pendingConfirmation;
+    }
+
+    private synchronized void onDealConfirmed(Deal submitted, Deal confirmed, Throwable failure, double stopLossPrice,
+                                              String reason) {
+        if (pendingDeal != submitted) {
+            // A fill the trader no longer waits for is closed rather than left open on the exchange without a stop loss
+            if (failure == null && confirmed != null) {
+                dealExecutor.closeDeal(confirmed, confirmed.getOpenedData().getPrice());
+            }
+            return;
+        }
+        pendingDeal = null;
+        if (failure != null || confirmed == null) {
+            if (failure != null) {
+                logger.warn("Deal was not opened: {}", failure.getMessage(), failure);
+            }
+            eventListener.onRejected(ticker, submitted.getDirection(), submitted.getOpenedData().getWhen(),
+                    submitted.getOpenedData().getPrice(), submitted.getOpenAmountUSDT());
+            return;
         }
+        currentDeal = confirmed;
+        confirmed.setStopLoss(stopLossPrice);
+        dealExecutor.updateStopLoss(confirmed, stopLossPrice);
+        // The executor may have filled less than asked for, or at another price
+        eventListener.onOpened(ticker, confirmed.getDirection(), submitted.getOpenedData().getWhen(),
+                confirmed.getOpenedData().getPrice(), confirmed.getOpenAmountUSDT(), stopLossPrice, reason);
     }
 
     private double recalcStopLoss(DecisionReason decisionReason, DealData dealData, Decision decision) {
@@ -121,7 +171,8 @@ public class Trader {
                 (currentDeal.getDirection() == Direction.SHORT && currentPrice >= currentDeal.getStopLoss());
     }
 
-    private void updateStopLoss(double price, double money) {
+    private void updateStopLoss(DealData dealData, double money) {
+        double price = dealData.getPrice();
         double profitPercentage = calculateProfitLoss(price) / money;
         if (profitPercentage > 0) {
             double newStopLoss;
@@ -133,14 +184,14 @@ public class Trader {
                 currentDeal.setStopLoss(Math.min(currentDeal.getStopLoss(), newStopLoss));
             }
             dealExecutor.updateStopLoss(currentDeal, currentDeal.getStopLoss());
-            System.out.printf("Stop loss updated to %.2f%n", currentDeal.getStopLoss());
+            eventListener.onStopMoved(ticker, currentDeal.getDirection(), dealData.getWhen(), price, currentDeal.getStopLoss());
         }
     }
 
-    private void closeDeal(DealData dealData, String reason) {
+    private void closeDeal(DealData dealData, CloseReason reason, String decisionReason) {
         double profitLoss = calculateProfitLoss(dealData.getPrice());
         currentDeal.setClosedAmount(currentDeal.getOpenAmountUSDT() + profitLoss);
-        currentDeal.setCloseData(dealData);
+        currentDeal.setCloseData(dealData.snapshot());
         dealExecutor.closeDeal(currentDeal, dealData.getPrice());
         double oldBalance = this.balance;
         if (dealExecutor instanceof  FakeDealExecutor) {
@@ -154,16 +205,14 @@ public class Trader {
             sumLoss += approximatePnL;
         }
         long openDuration = (dealData.getWhen() - currentDeal.getOpenedData().getWhen()) / 1000L / 60L;
-        currentDeal.setMessage(String.format(
-                "[DEAL] Deal closed. Reason: %s. ApproxPL: %.2f. OldBalance: %.2f -> NewBalance: %.2f. Duration: %d min.  %s",
-                reason,
-                approximatePnL,
-                oldBalance,
-                this.balance,
-                openDuration,
-                DateUtils.convertToDateTime(dealData))
-        );
-        System.out.println(currentDeal.getMessage());
+        long closeTime = dealData.getWhen();
+        double newBalance = this.balance;
+        metrics.onTrade(profitLoss);
+        currentDeal.setCloseReason(reason);
+        currentDeal.setMessageSupplier(() -> TradeMessages.closed(closeTime, reason, decisionReason, approximatePnL,
+                oldBalance, newBalance, openDuration));
+        eventListener.onClosed(ticker, currentDeal.getDirection(), closeTime, dealData.getPrice(), reason, decisionReason,
+                approximatePnL, oldBalance, newBalance, openDuration);
         closedDeals.add(currentDeal);
         currentDeal = null;
     }
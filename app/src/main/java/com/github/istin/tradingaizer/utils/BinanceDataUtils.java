@@ -2,6 +2,7 @@ package com.github.istin.tradingaizer.utils;
 
 import com.github.istin.tradingaizer.config.Config;
 import com.github.istin.tradingaizer.config.ConfigReader;
+import com.github.istin.tradingaizer.model.BarSeries;
 import com.github.istin.tradingaizer.provider.BinanceDataProvider;
 import com.github.istin.tradingaizer.provider.BinanceFutureDataProvider;
 import com.github.istin.tradingaizer.provider.DataProvider;
@@ -146,8 +147,8 @@ public class BinanceDataUtils {
 
         String cacheId = ticker + "_" + interval + "_" + endTime + "_" + startTime;
 
-        List<? extends StatDealData> historicalData = dataProvider.fetchHistoricalData(ticker, interval, startTime, endTime);
-        return new Result(cacheId, historicalData);
+        BarSeries series = dataProvider.fetchBarSeries(ticker, interval, startTime, endTime);
+        return new Result(cacheId, series);
     }
 
     @NotNull
@@ -159,10 +160,14 @@ public class BinanceDataUtils {
 
         String cacheId = ticker + "_" + interval + "_" + endTime + "_" + startTime;
 
-        List<? extends StatDealData> historicalData = dataProvider.fetchHistoricalData(ticker, interval, startTime, endTime);
-        return new Result(cacheId, historicalData);
+        BarSeries series = dataProvider.fetchBarSeries(ticker, interval, startTime, endTime);
+        return new Result(cacheId, series);
     }
 
-    public record Result(String cacheId, List<? extends StatDealData> historicalData) {
+    public record Result(String cacheId, BarSeries series) {
+
+        public List<? extends StatDealData> historicalData() {
+            return series.asList();
+        }
     }
 }
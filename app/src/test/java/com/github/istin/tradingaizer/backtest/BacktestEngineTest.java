@@ -0,0 +1,198 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.chart.ChartDataProvider;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.TestBars;
+import com.github.istin.tradingaizer.model.Decision;
+import com.github.istin.tradingaizer.model.DecisionReason;
+import com.github.istin.tradingaizer.strategy.BollingerReversionStrategy;
+import com.github.istin.tradingaizer.strategy.OptimizedStrategy;
+import com.github.istin.tradingaizer.strategy.Strategy;
+import com.github.istin.tradingaizer.trader.Deal;
+import com.github.istin.tradingaizer.trader.DealData;
+import com.github.istin.tradingaizer.trader.FakeDealExecutor;
+import com.github.istin.tradingaizer.trader.StatData;
+import com.github.istin.tradingaizer.trader.StatDealData;
+import com.github.istin.tradingaizer.trader.TradeEventListener;
+import com.github.istin.tradingaizer.trader.Trader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+class BacktestEngineTest {
+
+    @Test
+    void testContextDecisionsMatchGrowingList() {
+        BarSeries series = TestBars.randomWalk(3_000, 23);
+        for (boolean multiTimeframe : new boolean[]{false, true}) {
+            ChartDataProvider provider = new ChartDataProvider("test", series, false);
+            Strategy strategy = multiTimeframe
+                    ? new BollingerReversionStrategy("test", provider)
+                    : new OptimizedStrategy("test", provider);
+
+            List<StatData> timeline = new ArrayList<>();
+            List<DecisionReason> expected = new ArrayList<>();
+            for (StatData bar : series.asList()) {
+                timeline.add(bar);
+                expected.add(strategy.generateDecision(timeline));
+            }
+
+            List<DecisionReason> actual = new ArrayList<>();
+            BacktestResult result = new BacktestEngine(provider)
+                    .addListener(new BacktestListener() {
+                        @Override
+                        public void onBarClose(StrategyContext context, DecisionReason decision) {
+                            actual.add(decision);
+                        }
+                    })
+                    .run(strategy, new IdleTrader(), "TEST");
+
+            Assertions.assertEquals(series.size(), result.barCount());
+            Assertions.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assertions.assertEquals(expected.get(i).getDecision(), actual.get(i).getDecision(), "bar " + i);
+                Assertions.assertEquals(expected.get(i).getReason(), actual.get(i).getReason(), "bar " + i);
+            }
+        }
+    }
+
+    @Test
+    void testListenerSeesFillsStopsAndCloses() {
+        BarSeries series = new BarSeries();
+        for (int i = 0; i < 100; i++) {
+            double close = i >= 30 && i < 40 ? 90 : 100;
+            series.append(i * 60_000L, close, close, close, close, 1, (i + 1) * 60_000L - 1);
+        }
+        ChartDataProvider provider = new ChartDataProvider("test", series, false);
+        Strategy strategy = new Strategy("test", provider) {
+            @Override
+            public DecisionReason generateDecision(List<? extends StatData> historicalData) {
+                int index = historicalData.size() - 1;
+                if (index == 20 || index == 50) {
+                    return new DecisionReason(Decision.LONG, "open");
+                }
+                return new DecisionReason(index == 60 ? Decision.CLOSE : Decision.HOLD, "scripted");
+            }
+        };
+        Trader trader = new Trader("TEST", 0.05, 1.0, 1d, new FakeDealExecutor(1000d));
+        trader.setEventListener(TradeEventListener.NONE);
+
+        List<String> events = new ArrayList<>();
+        BacktestResult result = new BacktestEngine(provider)
+                .addListener(new BacktestListener() {
+                    @Override
+                    public void onFill(StrategyContext context, Deal deal) {
+                        events.add("fill " + context.getIndex());
+                    }
+
+                    @Override
+                    public void onStop(StrategyContext context, Deal deal) {
+                        events.add("stop " + context.getIndex());
+                    }
+
+                    @Override
+                    public void onClose(StrategyContext context, Deal deal) {
+                        events.add("close " + context.getIndex());
+                    }
+                })
+                .run(strategy, trader, "TEST");
+
+        Assertions.assertEquals(List.of("fill 20", "stop 30", "close 30", "fill 50", "close 60"), events);
+        Assertions.assertEquals(2, result.closedDeals().size());
+        // The deals keep the bars they opened and closed on, not the cursor's bar that moved on to the end
+        int[][] dealBars = {{20, 30}, {50, 60}};
+        for (int i = 0; i < dealBars.length; i++) {
+            Deal deal = result.closedDeals().get(i);
+            Assertions.assertEquals(series.getCloseTime(dealBars[i][0]), deal.getOpenedData().getWhen());
+            Assertions.assertEquals(series.getCloseTime(dealBars[i][1]), deal.getCloseData().getWhen());
+        }
+        Assertions.assertEquals(900, result.balance(), 1e-9);
+    }
+
+    @Test
+    void testWarmRunAllocatesNothingPerBar() {
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "the JVM doesn't count allocated bytes");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled(),
+                "the JVM doesn't count allocated bytes");
+
+        BarSeries series = TestBars.randomWalk(20_000, 7);
+        ChartDataProvider provider = new ChartDataProvider("test", series, false);
+        DecisionReason stayLong = new DecisionReason(Decision.LONG, "stay in");
+        Strategy strategy = new OptimizedStrategy("test", provider) {
+            @Override
+            public DecisionReason generateDecision(StrategyContext context) {
+                // Looks every indicator up, then keeps the one position open: the trades would blur the figure
+                super.generateDecision(context);
+                return stayLong;
+            }
+        };
+        BacktestEngine engine = new BacktestEngine(provider);
+        for (int i = 0; i < 5; i++) {
+            engine.run(strategy, newHoldingTrader(), "TEST");
+        }
+
+        Trader trader = newHoldingTrader();
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        BacktestResult result = engine.run(strategy, trader, "TEST");
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        Assertions.assertEquals(series.size(), result.barCount());
+        // The deal keeps the bar it opened on, not the cursor's view of the current one
+        Assertions.assertEquals(series.getCloseTime(0), trader.getCurrentDeal().getOpenedData().getWhen());
+        // A bar flyweight alone would take 24 bytes a bar
+        Assertions.assertTrue(allocated < series.size(), allocated + " bytes allocated over " + series.size() + " bars");
+    }
+
+    /**
+     * Never closes: the stop loss is far away and the profit target out of reach.
+     */
+    private static Trader newHoldingTrader() {
+        Trader trader = new Trader("TEST", 0.9, 1e9, 1d, new FakeDealExecutor(1000d));
+        trader.setEventListener(TradeEventListener.NONE);
+        return trader;
+    }
+
+    @Test
+    void testCursorStaysInRange() {
+        BarSeries series = TestBars.randomWalk(10, 1);
+        BarCursor cursor = new BarCursor(series, 3, 6);
+        StatDealData currentBar = cursor.getCurrentBar();
+        DealData first = null;
+        int visited = 0;
+        while (cursor.next()) {
+            Assertions.assertEquals(series.getClose(3 + visited), cursor.getClose());
+            Assertions.assertEquals(4 + visited, cursor.getBarCount());
+            Assertions.assertSame(currentBar, cursor.getCurrentBar());
+            Assertions.assertEquals(series.getCloseTime(3 + visited), currentBar.getWhen());
+            if (first == null) {
+                first = currentBar.snapshot();
+            }
+            visited++;
+        }
+        Assertions.assertEquals(3, visited);
+        // The snapshot stays on its bar while the current bar moved on
+        Assertions.assertEquals(series.getCloseTime(3), first.getWhen());
+        Assertions.assertEquals(series.getCloseTime(5), currentBar.getWhen());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> new BarCursor(series, 5, 11));
+    }
+
+    /**
+     * Records nothing: the decisions alone are under test.
+     */
+    private static class IdleTrader extends Trader {
+        IdleTrader() {
+            super("TEST", 0.01, 0.01, 1d, new FakeDealExecutor(1000d));
+        }
+
+        @Override
+        public void decisionTrigger(String ticker, DecisionReason decisionReason, DealData dealData) {
+        }
+    }
+}
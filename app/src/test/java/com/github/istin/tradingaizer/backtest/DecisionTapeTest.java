@@ -0,0 +1,83 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.chart.ChartDataProvider;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.TestBars;
+import com.github.istin.tradingaizer.model.DecisionReason;
+import com.github.istin.tradingaizer.model.RandomStrategy;
+import com.github.istin.tradingaizer.strategy.Strategy;
+import com.github.istin.tradingaizer.trader.Deal;
+import com.github.istin.tradingaizer.trader.FakeDealExecutor;
+import com.github.istin.tradingaizer.trader.PerformanceMetrics;
+import com.github.istin.tradingaizer.trader.TradeEventListener;
+import com.github.istin.tradingaizer.trader.Trader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class DecisionTapeTest {
+
+    @Test
+    void testReplayMatchesTrader() {
+        BarSeries series = TestBars.randomWalk(400, 31);
+        ChartDataProvider provider = new ChartDataProvider("test", series, false);
+        Strategy strategy = new RandomStrategy(provider, 32);
+
+        DecisionTape tape = DecisionTape.record(strategy, provider);
+        Assertions.assertEquals(series.size(), tape.size());
+
+        Trader trader = new Trader("TEST", 0.02, 0.03, 0.5, new FakeDealExecutor(1000d));
+        trader.setEventListener(TradeEventListener.NONE);
+        new BacktestEngine(provider).run(strategy, trader, "TEST");
+        List<Deal> deals = trader.getClosedDeals();
+        long wins = deals.stream().filter(deal -> deal.getClosedAmount() > deal.getOpenAmountUSDT()).count();
+
+        TapeReplayer.Result replayed = TapeReplayer.replay(tape, series, 0.02, 0.03, 0.5, 1000d);
+        Assertions.assertTrue(deals.size() >= 3, "only " + deals.size() + " deals");
+        Assertions.assertEquals(deals.size(), replayed.dealCount());
+        Assertions.assertEquals(wins, replayed.winCount());
+        Assertions.assertEquals(trader.getBalance(), replayed.balance());
+        Assertions.assertEquals(trader.getMetrics().getSharpeRatio(), replayed.metrics().getSharpeRatio());
+        Assertions.assertEquals(trader.getMetrics().getMaxDrawdown(), replayed.metrics().getMaxDrawdown());
+        Assertions.assertEquals(trader.getMetrics().getBarsInMarket(), replayed.metrics().getBarsInMarket());
+    }
+
+    @Test
+    void testReplayStopsAtDrawdownLimitLikeEngine() {
+        BarSeries series = TestBars.randomWalk(400, 31);
+        ChartDataProvider provider = new ChartDataProvider("test", series, false);
+        Strategy strategy = new RandomStrategy(provider, 32);
+        DecisionTape tape = DecisionTape.record(strategy, provider);
+
+        Trader trader = new Trader("TEST", 0.02, 0.03, 1d, new FakeDealExecutor(1000d));
+        trader.setEventListener(TradeEventListener.NONE);
+        trader.getMetrics().setDrawdownLimit(0.005);
+        BacktestResult result = new BacktestEngine(provider).run(strategy, trader, "TEST");
+
+        PerformanceMetrics metrics = new PerformanceMetrics(1000d);
+        metrics.setDrawdownLimit(0.005);
+        TapeReplayer.Result replayed = TapeReplayer.replay(tape, series, 0.02, 0.03, 1d, metrics);
+        Assertions.assertTrue(result.barCount() < series.size(), "ran all " + result.barCount() + " bars");
+        Assertions.assertEquals(result.barCount(), metrics.getBarCount());
+        Assertions.assertEquals(result.balance(), replayed.balance());
+        Assertions.assertTrue(metrics.getMaxDrawdown() >= 0.005);
+    }
+
+    @Test
+    void testTapeKeepsStopsAndTakeProfits() {
+        BarSeries series = TestBars.randomWalk(400, 33);
+        ChartDataProvider provider = new ChartDataProvider("test", series, false);
+        RandomStrategy strategy = new RandomStrategy(provider, 34);
+        DecisionTape tape = DecisionTape.record(strategy, provider, 100, 300);
+
+        Assertions.assertEquals(100, tape.getFrom());
+        Assertions.assertEquals(200, tape.size());
+        for (int i = 0; i < tape.size(); i++) {
+            DecisionReason expected = strategy.getDecision(100 + i);
+            Assertions.assertEquals(expected.getDecision(), tape.getDecision(i));
+            Assertions.assertEquals(expected.getDynamicStopLoss() == null ? Double.NaN : expected.getDynamicStopLoss(), tape.getStopLoss(i));
+            Assertions.assertEquals(expected.getTakeProfit() == null ? Double.NaN : expected.getTakeProfit(), tape.getTakeProfit(i));
+        }
+    }
+}
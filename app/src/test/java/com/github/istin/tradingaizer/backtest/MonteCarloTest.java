@@ -0,0 +1,76 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.trader.Deal;
+import com.github.istin.tradingaizer.trader.Direction;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+class MonteCarloTest {
+
+    @Test
+    void testReshuffleKeepsFinalBalance() {
+        List<Deal> deals = generateDeals(200, 51, 1000d);
+        double finalBalance = 1000d;
+        for (Deal deal : deals) {
+            finalBalance += deal.getClosedAmount() - deal.getOpenAmountUSDT();
+        }
+
+        MonteCarloResult result = MonteCarlo.fromDeals(deals, 1000d).run(5_000, MonteCarlo.Mode.RESHUFFLE, 52, 0);
+        Assertions.assertEquals(5_000, result.pathCount());
+        Assertions.assertEquals(finalBalance, result.finalBalance(0), 1e-6);
+        Assertions.assertEquals(finalBalance, result.finalBalance(1), 1e-6);
+        Assertions.assertTrue(result.maxDrawdown(0) < result.maxDrawdown(1));
+        Assertions.assertEquals(0, result.riskOfRuin());
+    }
+
+    @Test
+    void testSameSeedSameResultOnAnyPool() {
+        MonteCarlo monteCarlo = MonteCarlo.fromDeals(generateDeals(100, 53, 1000d), 1000d);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool wide = new ForkJoinPool(4);
+        try {
+            MonteCarloResult first = monteCarlo.run(10_000, MonteCarlo.Mode.RESAMPLE, 54, 900, single);
+            MonteCarloResult second = monteCarlo.run(10_000, MonteCarlo.Mode.RESAMPLE, 54, 900, wide);
+            Assertions.assertArrayEquals(first.finalBalances(), second.finalBalances());
+            Assertions.assertArrayEquals(first.maxDrawdowns(), second.maxDrawdowns());
+            Assertions.assertEquals(first.ruinedCount(), second.ruinedCount());
+            Assertions.assertTrue(first.finalBalance(0.05) < first.finalBalance(0.5));
+            Assertions.assertTrue(first.finalBalance(0.5) < first.finalBalance(0.95));
+        } finally {
+            single.shutdown();
+            wide.shutdown();
+        }
+    }
+
+    @Test
+    void testRiskOfRuin() {
+        double[] losses = {-0.2, -0.2, -0.2};
+        MonteCarloResult ruined = new MonteCarlo(losses, 1000d).run(100, MonteCarlo.Mode.RESAMPLE, 55, 600);
+        Assertions.assertEquals(1, ruined.riskOfRuin());
+        Assertions.assertEquals(512, ruined.finalBalance(0.5), 1e-9);
+
+        double[] wins = {0.1, 0.05};
+        MonteCarloResult safe = new MonteCarlo(wins, 1000d).run(100, MonteCarlo.Mode.RESAMPLE, 56, 600);
+        Assertions.assertEquals(0, safe.riskOfRuin());
+        Assertions.assertEquals(0, safe.maxDrawdown(1));
+    }
+
+    private static List<Deal> generateDeals(int count, long seed, double balance) {
+        Random random = new Random(seed);
+        List<Deal> deals = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            double amount = balance * 0.5;
+            double profitLoss = amount * (random.nextDouble() - 0.45) * 0.04;
+            Deal deal = new Deal("TEST", null, Direction.LONG, amount);
+            deal.setClosedAmount(amount + profitLoss);
+            deals.add(deal);
+            balance += profitLoss;
+        }
+        return deals;
+    }
+}
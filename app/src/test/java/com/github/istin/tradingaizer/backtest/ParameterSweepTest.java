@@ -0,0 +1,96 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.chart.ChartDataProvider;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.Decision;
+import com.github.istin.tradingaizer.model.DecisionReason;
+import com.github.istin.tradingaizer.strategy.Strategy;
+import com.github.istin.tradingaizer.trader.StatData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+class ParameterSweepTest {
+
+    @Test
+    void testSpaceEnumeratesEveryCombination() {
+        ParameterSpace space = new ParameterSpace()
+                .range("maximumLoss", 0.01, 0.30, 0.01)
+                .add("rsiOverbought", 60, 70);
+        Assertions.assertEquals(60, space.size());
+        Assertions.assertEquals(0.01, space.get(0).get("maximumLoss"));
+        Assertions.assertEquals(70, space.get(1).getInt("rsiOverbought"));
+        // No drift from adding 0.01 thirty times
+        Assertions.assertEquals(0.3, space.get(59).get("maximumLoss"));
+        Assertions.assertEquals(0.07, space.get(12).get("maximumLoss"));
+
+        Set<ParameterSet> combinations = new HashSet<>();
+        for (int i = 0; i < space.size(); i++) {
+            combinations.add(space.get(i));
+        }
+        Assertions.assertEquals(60, combinations.size());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> space.get(0).get("rsiOversold"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> space.add("rsiOverbought", 80));
+    }
+
+    @Test
+    void testSweepRanksCombinations() {
+        // Flat at 100, then 110 from bar 50
+        BarSeries series = new BarSeries();
+        for (int i = 0; i < 100; i++) {
+            double close = i < 50 ? 100 : 110;
+            series.append(i * 60_000L, close, close, close, close, 1, (i + 1) * 60_000L - 1);
+        }
+        ChartDataProvider provider = new ChartDataProvider("test", series, false);
+        ParameterSpace space = new ParameterSpace()
+                .add(ParameterSweep.MAXIMUM_LOSS, 0.05)
+                .add(ParameterSweep.MINIMUM_PROFIT, 0.05, 0.5)
+                .add(ParameterSweep.RISK_PERCENTAGE, 0.5, 1)
+                .add("entry", 10, 60);
+        ParameterSweep sweep = new ParameterSweep(provider, space, "TEST",
+                parameters -> new EntryStrategy(provider, parameters.getInt("entry")),
+                ParameterSweep.fakeTrader("TEST", 1000d));
+
+        Set<ParameterSet> streamed = ConcurrentHashMap.newKeySet();
+        List<SweepResult> ranking = sweep.run(4, 3, SweepResult.BY_BALANCE, result -> streamed.add(result.parameters()));
+
+        Assertions.assertEquals(space.size(), streamed.size());
+        Assertions.assertEquals(3, ranking.size());
+        // Only an entry before the rise with the 5% target closes the deal: +10% of the traded share of 1000
+        SweepResult best = ranking.get(0);
+        Assertions.assertEquals(1100, best.balance(), 1e-9);
+        Assertions.assertEquals(10, best.parameters().getInt("entry"));
+        Assertions.assertEquals(0.05, best.parameters().get(ParameterSweep.MINIMUM_PROFIT));
+        Assertions.assertEquals(1, best.dealCount());
+        Assertions.assertEquals(100, best.winRate());
+        Assertions.assertEquals(1050, ranking.get(1).balance(), 1e-9);
+        Assertions.assertEquals(1000, ranking.get(2).balance(), 1e-9);
+
+        // Same ranking from one decision tape per entry
+        List<SweepResult> replayed = ParameterSweep.replaying(provider, space, "TEST",
+                parameters -> new EntryStrategy(provider, parameters.getInt("entry")), 1000d)
+                .run(4, 3, SweepResult.BY_BALANCE, result -> {
+                });
+        // Several combinations tie at 1000 for the third place
+        Assertions.assertEquals(ranking.subList(0, 2), replayed.subList(0, 2));
+        Assertions.assertEquals(1000, replayed.get(2).balance(), 1e-9);
+    }
+
+    private static class EntryStrategy extends Strategy {
+        private final int entry;
+
+        EntryStrategy(ChartDataProvider chartDataProvider, int entry) {
+            super("test", chartDataProvider);
+            this.entry = entry;
+        }
+
+        @Override
+        public DecisionReason generateDecision(List<? extends StatData> historicalData) {
+            return historicalData.size() - 1 == entry ? new DecisionReason(Decision.LONG, "entry") : HOLD;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.istin.tradingaizer.backtest;
+
+import com.github.istin.tradingaizer.chart.ChartDataProvider;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.TestBars;
+import com.github.istin.tradingaizer.model.Decision;
+import com.github.istin.tradingaizer.model.DecisionReason;
+import com.github.istin.tradingaizer.model.RandomStrategy;
+import com.github.istin.tradingaizer.strategy.Strategy;
+import com.github.istin.tradingaizer.trader.Deal;
+import com.github.istin.tradingaizer.trader.FakeDealExecutor;
+import com.github.istin.tradingaizer.trader.PortfolioDealExecutor;
+import com.github.istin.tradingaizer.trader.StatData;
+import com.github.istin.tradingaizer.trader.TradeEventListener;
+import com.github.istin.tradingaizer.trader.Trader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class PortfolioBacktestTest {
+
+    @Test
+    void testSingleTickerMatchesEngine() {
+        BarSeries series = TestBars.randomWalk(2_000, 41);
+        ChartDataProvider provider = new ChartDataProvider("test", series, false);
+
+        Trader trader = new Trader("TEST", 0.02, 0.03, 0.5, new FakeDealExecutor(1000d));
+        trader.setEventListener(TradeEventListener.NONE);
+        new BacktestEngine(provider).run(new RandomStrategy(provider, 42), trader, "TEST");
+
+        PortfolioResult result = new PortfolioBacktest(new PortfolioDealExecutor(1000d, 1, 1))
+                .add("TEST", provider, new RandomStrategy(provider, 42), 0.02, 0.03, 0.5)
+                .run();
+
+        Assertions.assertTrue(trader.getClosedDeals().size() >= 10, "only " + trader.getClosedDeals().size() + " deals");
+        Assertions.assertEquals(series.size(), result.stepCount());
+        Assertions.assertEquals(trader.getClosedDeals().size(), result.closedDeals().get("TEST").size());
+        Assertions.assertEquals(trader.getBalance(), result.balance(), 1e-9);
+        Assertions.assertEquals(series.size(), result.equity().length);
+    }
+
+    @Test
+    void testTickersShareCapitalInLockstep() {
+        BarSeries first = new BarSeries();
+        BarSeries second = new BarSeries();
+        for (int i = 0; i < 10; i++) {
+            first.append(i * 60_000L, 100, 100, 100, 100, 1, (i + 1) * 60_000L - 1);
+            // Starts later and misses a bar
+            if (i >= 2 && i != 5) {
+                second.append(i * 60_000L, 50, 50, 50, 50, 1, (i + 1) * 60_000L - 1);
+            }
+        }
+        ChartDataProvider firstProvider = new ChartDataProvider("first", first, false);
+        ChartDataProvider secondProvider = new ChartDataProvider("second", second, false);
+        ChartDataProvider thirdProvider = new ChartDataProvider("third", second.copy(), false);
+
+        PortfolioResult result = new PortfolioBacktest(new PortfolioDealExecutor(1000d, 0.6, 1.0))
+                .add("FIRST", firstProvider, new ScriptedStrategy(firstProvider, 2, 8), 0.05, 0.5, 1)
+                .add("SECOND", secondProvider, new ScriptedStrategy(secondProvider, 0, 5), 0.05, 0.5, 1)
+                .add("THIRD", thirdProvider, new ScriptedStrategy(thirdProvider, 0, 5), 0.05, 0.5, 1)
+                .run();
+
+        Assertions.assertEquals(10, result.stepCount());
+        Assertions.assertEquals(7 * 60_000L, result.times()[7]);
+        // FIRST takes its 600, SECOND the 400 left, THIRD is rejected at the same step
+        List<Deal> firstDeals = result.closedDeals().get("FIRST");
+        List<Deal> secondDeals = result.closedDeals().get("SECOND");
+        Assertions.assertEquals(1, firstDeals.size());
+        Assertions.assertEquals(600, firstDeals.get(0).getOpenAmountUSDT(), 1e-9);
+        Assertions.assertEquals(1, secondDeals.size());
+        Assertions.assertEquals(400, secondDeals.get(0).getOpenAmountUSDT(), 1e-9);
+        Assertions.assertTrue(result.closedDeals().get("THIRD").isEmpty());
+        Assertions.assertEquals(1000, result.balance(), 1e-9);
+        Assertions.assertEquals(0, result.maxDrawdown(), 1e-9);
+    }
+
+    /**
+     * Opens a long on its {@code open}-th bar and closes it on its {@code close}-th bar.
+     */
+    private static class ScriptedStrategy extends Strategy {
+        private final int open;
+        private final int close;
+
+        ScriptedStrategy(ChartDataProvider chartDataProvider, int open, int close) {
+            super("test", chartDataProvider);
+            this.open = open;
+            this.close = close;
+        }
+
+        @Override
+        public DecisionReason generateDecision(List<? extends StatData> historicalData) {
+            int index = historicalData.size() - 1;
+            Decision decision = index == open ? Decision.LONG : index == close ? Decision.CLOSE : Decision.HOLD;
+            return new DecisionReason(decision, "scripted");
+        }
+    }
+}
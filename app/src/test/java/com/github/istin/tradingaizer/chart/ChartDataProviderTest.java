@@ -0,0 +1,242 @@
+package com.github.istin.tradingaizer.chart;
+
+import com.github.istin.tradingaizer.indicator.ADXIndicator;
+import com.github.istin.tradingaizer.indicator.BollingerBandsIndicator;
+import com.github.istin.tradingaizer.indicator.EMAIndicator;
+import com.github.istin.tradingaizer.indicator.Indicator;
+import com.github.istin.tradingaizer.indicator.IndicatorSeries;
+import com.github.istin.tradingaizer.indicator.MACDIndicator;
+import com.github.istin.tradingaizer.indicator.RSIIndicator;
+import com.github.istin.tradingaizer.indicator.Timeframe;
+import com.github.istin.tradingaizer.indicator.TimeframeAggregator;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.TestBars;
+import com.github.istin.tradingaizer.trader.StatData;
+import com.github.istin.tradingaizer.trader.StatDealData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ChartDataProviderTest {
+
+    @Test
+    void testFullHistoryModeMatchesCalculateOnWholePrefix() {
+        BarSeries series = TestBars.randomWalk(1500, 11);
+        ChartDataProvider provider = new ChartDataProvider("test", series, false);
+        List<StatDealData> bars = series.asList();
+
+        EMAIndicator ema = new EMAIndicator(50);
+        for (int size : new int[]{10, 50, 999, 1001, 1500}) {
+            List<StatDealData> history = bars.subList(0, size);
+            Assertions.assertEquals(ema.calculate(history), provider.calculateIndicator(ema, history, Timeframe.M1));
+        }
+    }
+
+    @Test
+    void testLastBarsWindowModeKeepsTruncatedWarmup() {
+        BarSeries series = TestBars.randomWalk(1500, 12);
+        ChartDataProvider provider = new ChartDataProvider("test", series, false);
+        provider.setCalculationMode(ChartDataProvider.CalculationMode.LAST_BARS_WINDOW);
+        List<StatDealData> bars = series.asList();
+
+        RSIIndicator rsi = new RSIIndicator(14);
+        List<StatDealData> history = bars.subList(0, 1400);
+        Double expected = rsi.calculate(history.subList(400, 1400));
+        Assertions.assertEquals(expected, provider.calculateIndicator(rsi, history, Timeframe.M1));
+    }
+
+    @Test
+    void testHigherTimeframe() {
+        BarSeries series = TestBars.randomWalk(3000, 13);
+        ChartDataProvider provider = new ChartDataProvider("test", series, false);
+        List<StatDealData> history = series.asList().subList(0, 2000);
+
+        List<? extends StatData> data5m = provider.getData(history, Timeframe.M5);
+        MACDIndicator macd = new MACDIndicator(12, 26, 9);
+        MACDIndicator.Result expected = macd.calculate(data5m);
+        MACDIndicator.Result actual = provider.calculateIndicator(macd, data5m, Timeframe.M5);
+        Assertions.assertEquals(expected.getMacd(), actual.getMacd(), 1e-9);
+        Assertions.assertEquals(expected.getSignalLine(), actual.getSignalLine(), 1e-9);
+    }
+
+    @Test
+    void testUnboxedValuesMatchResults() {
+        BarSeries series = TestBars.randomWalk(800, 14);
+        ChartDataProvider provider = new ChartDataProvider("test", series, false);
+        List<StatDealData> bars = series.asList();
+
+        MACDIndicator macd = new MACDIndicator(12, 26, 9);
+        RSIIndicator rsi = new RSIIndicator(14);
+        for (int size : new int[]{1, 25, 26, 300, 800}) {
+            List<StatDealData> history = bars.subList(0, size);
+            MACDIndicator.Result expected = macd.calculate(history);
+            double macdValue = provider.calculateValue(macd, size, Timeframe.M1, MACDIndicator.MACD);
+            double signalLine = provider.calculateValue(macd, size, Timeframe.M1, MACDIndicator.SIGNAL_LINE);
+            if (expected == null) {
+                Assertions.assertTrue(Double.isNaN(macdValue));
+                Assertions.assertTrue(Double.isNaN(signalLine));
+            } else {
+                Assertions.assertEquals(expected.getMacd(), macdValue, 1e-9);
+                Assertions.assertEquals(expected.getSignalLine(), signalLine, 1e-9);
+            }
+
+            Double expectedRsi = rsi.calculate(history);
+            double rsiValue = provider.calculateValue(rsi, size, Timeframe.M1, 0);
+            Assertions.assertEquals(expectedRsi == null ? Double.NaN : expectedRsi, rsiValue, 1e-9);
+        }
+        Assertions.assertTrue(Double.isNaN(provider.calculateValue(rsi, 0, Timeframe.M1, 0)));
+    }
+
+    @Test
+    void testWarmupCalculatesEachSeriesOnce() {
+        BarSeries series = TestBars.randomWalk(3000, 15);
+        ChartDataProvider provider = new ChartDataProvider("test", series, false);
+        AtomicInteger calculations = new AtomicInteger();
+        Indicator<Double> counting = new EMAIndicator(20) {
+            @Override
+            public List<Double> calculateSeries(List<? extends StatData> historicalData) {
+                calculations.incrementAndGet();
+                return super.calculateSeries(historicalData);
+            }
+
+            @Override
+            public IndicatorSeries calculateValues(IndicatorGraph graph) {
+                calculations.incrementAndGet();
+                return super.calculateValues(graph);
+            }
+        };
+
+        List<IndicatorRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            requests.add(new IndicatorRequest(counting, Timeframe.M1));
+            requests.add(new IndicatorRequest(counting, Timeframe.M5));
+            requests.add(new IndicatorRequest(new ADXIndicator(14), Timeframe.M15));
+            requests.add(new IndicatorRequest(new RSIIndicator(14), Timeframe.H1));
+        }
+        provider.warmup(requests);
+        Assertions.assertEquals(2, calculations.get());
+
+        List<StatDealData> history = series.asList().subList(0, 2500);
+        Assertions.assertEquals(counting.calculate(history), provider.calculateIndicator(counting, history, Timeframe.M1));
+        List<? extends StatData> data15m = provider.getData(history, Timeframe.M15);
+        Assertions.assertEquals(new ADXIndicator(14).calculate(data15m),
+                provider.calculateIndicator(new ADXIndicator(14), data15m, Timeframe.M15), 1e-9);
+        Assertions.assertEquals(2, calculations.get());
+    }
+
+    @Test
+    void testEqualIndicatorsShareCachedValues() {
+        ChartDataProvider provider = new ChartDataProvider("test", TestBars.randomWalk(500, 17), false);
+        IndicatorSeries values = provider.calculateValues(new MACDIndicator(12, 26, 9), Timeframe.M1);
+
+        Assertions.assertEquals(new MACDIndicator(12, 26, 9).getKey(), new MACDIndicator(12, 26, 9).getKey());
+        Assertions.assertSame(values, provider.calculateValues(new MACDIndicator(12, 26, 9), Timeframe.M1));
+        Assertions.assertNotSame(values, provider.calculateValues(new MACDIndicator(12, 26, 10), Timeframe.M1));
+        Assertions.assertNotEquals(new EMAIndicator(20).getKey(), new RSIIndicator(20).getKey());
+    }
+
+    @Test
+    void testAppendExtendsAggregatesAndCachedSeries() {
+        BarSeries full = TestBars.randomWalk(2400, 18);
+        ChartDataProvider provider = new ChartDataProvider("test", full.view(0, 2000), false);
+        List<Indicator<?>> indicators = List.of(new EMAIndicator(20), new MACDIndicator(12, 26, 9), new ADXIndicator(14),
+                new BollingerBandsIndicator(20, 2.0), new RSIIndicator(14));
+        List<Timeframe> timeframes = List.of(Timeframe.M1, Timeframe.M5, Timeframe.H1);
+        for (Indicator<?> indicator : indicators) {
+            for (Timeframe timeframe : timeframes) {
+                provider.calculateValues(indicator, timeframe);
+            }
+        }
+
+        for (int size = 2001; size <= full.size(); size++) {
+            provider.append(full.bar(size - 1));
+            if (size % 37 != 0 && size != full.size()) {
+                continue;
+            }
+            ChartDataProvider expected = new ChartDataProvider("test", full.view(0, size), false);
+            List<StatDealData> history = provider.getHistoricalData();
+            Assertions.assertEquals(size, history.size());
+            for (Timeframe timeframe : timeframes) {
+                List<? extends StatData> expectedData = expected.getData(history, timeframe);
+                List<? extends StatData> data = provider.getData(history, timeframe);
+                Assertions.assertEquals(expectedData.size(), data.size());
+                Assertions.assertEquals(expectedData.getLast().getClosePrice(), data.getLast().getClosePrice());
+                Assertions.assertEquals(expectedData.getLast().getHighPrice(), data.getLast().getHighPrice());
+
+                for (Indicator<?> indicator : indicators) {
+                    IndicatorSeries expectedValues = expected.calculateValues(indicator, timeframe);
+                    IndicatorSeries values = provider.calculateValues(indicator, timeframe);
+                    Assertions.assertEquals(expectedValues.size(), values.size());
+                    for (int i = Math.max(0, values.size() - 40); i < values.size(); i++) {
+                        for (int output = 0; output < values.getOutputCount(); output++) {
+                            double value = expectedValues.get(output, i);
+                            Assertions.assertEquals(value, values.get(output, i), Double.isNaN(value) ? 0 : 1e-9 * Math.max(1, Math.abs(value)),
+                                    indicator + " " + timeframe + " at " + i);
+                        }
+                    }
+                }
+            }
+        }
+        // Not cached before the appends: calculated on the extended bars
+        Assertions.assertEquals(full.size(), provider.calculateValues(new EMAIndicator(50), Timeframe.M1).size());
+    }
+
+    @Test
+    void testTimeframesAreAggregatedOnFirstUse() {
+        BarSeries series = TestBars.randomWalk(6000, 19);
+        ChartDataProvider provider = new ChartDataProvider("test", series, false);
+        List<StatDealData> history = series.asList().subList(0, 5000);
+        RSIIndicator rsi = new RSIIndicator(14);
+
+        provider.calculateIndicator(rsi, provider.getData(history, Timeframe.M1), Timeframe.M1);
+        Assertions.assertTrue(provider.getAggregatedTimeframes().isEmpty());
+
+        for (Timeframe timeframe : List.of(Timeframe.H4, Timeframe.M30, Timeframe.valueOf("3m"), Timeframe.ofMinutes(120))) {
+            List<? extends StatData> data = provider.getData(history, timeframe);
+            Assertions.assertEquals(5000 / timeframe.getMinutes() - 1, data.size());
+            BarSeries expected = TimeframeAggregator.convertToTimeframe(series, timeframe);
+            Assertions.assertEquals(expected.getClose(data.size() - 1), data.getLast().getClosePrice());
+            Assertions.assertEquals(rsi.calculate(data), provider.calculateIndicator(rsi, data, timeframe));
+        }
+        Assertions.assertEquals(4, provider.getAggregatedTimeframes().size());
+        Assertions.assertSame(Timeframe.H1, Timeframe.valueOf("1h"));
+        Assertions.assertEquals("H2", Timeframe.ofMinutes(120).name());
+        Assertions.assertEquals(Timeframe.D1, Timeframe.valueOf("D1"));
+    }
+
+    @Test
+    void testConcurrentRequestsShareOneCalculation() throws Exception {
+        BarSeries series = TestBars.randomWalk(2000, 16);
+        ChartDataProvider provider = new ChartDataProvider("test", series, false);
+        AtomicInteger calculations = new AtomicInteger();
+        Indicator<Double> counting = new RSIIndicator(14) {
+            @Override
+            public List<Double> calculateSeries(List<? extends StatData> historicalData) {
+                calculations.incrementAndGet();
+                return super.calculateSeries(historicalData);
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<IndicatorSeries>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(() -> provider.calculateValues(counting, Timeframe.M1)));
+            }
+            IndicatorSeries first = futures.get(0).get();
+            for (Future<IndicatorSeries> future : futures) {
+                Assertions.assertSame(first, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(1, calculations.get());
+    }
+}
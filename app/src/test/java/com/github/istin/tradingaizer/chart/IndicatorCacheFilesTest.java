@@ -0,0 +1,108 @@
+package com.github.istin.tradingaizer.chart;
+
+import com.github.istin.tradingaizer.indicator.Indicator;
+import com.github.istin.tradingaizer.indicator.IndicatorSeries;
+import com.github.istin.tradingaizer.indicator.MACDIndicator;
+import com.github.istin.tradingaizer.indicator.RSIIndicator;
+import com.github.istin.tradingaizer.indicator.Timeframe;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.TestBars;
+import com.github.istin.tradingaizer.trader.StatData;
+import com.github.istin.tradingaizer.trader.StatDealData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class IndicatorCacheFilesTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void testRoundTrip() {
+        IndicatorCacheFiles files = new IndicatorCacheFiles(folder, "BTCUSDT 5m 1..2");
+        IndicatorSeries values = new IndicatorSeries(new double[]{Double.NaN, 1.5, -2.25}, new double[]{Double.NaN, 0, 1e300});
+        files.write("class com.example.MACDIndicator 12 26 9", "M5", 42L, values);
+
+        IndicatorSeries restored = files.read("class com.example.MACDIndicator 12 26 9", "M5", 42L);
+        Assertions.assertEquals(2, restored.getOutputCount());
+        for (int output = 0; output < 2; output++) {
+            Assertions.assertArrayEquals(values.column(output), restored.column(output));
+        }
+        Assertions.assertNull(files.read("class com.example.MACDIndicator 12 26 9", "H1", 42L));
+        Assertions.assertNull(files.read("class com.example.MACDIndicator 12 26 9", "M5", 43L), "stale fingerprint");
+    }
+
+    @Test
+    void testCorruptFileIsIgnored() throws Exception {
+        IndicatorCacheFiles files = new IndicatorCacheFiles(folder, "test");
+        files.write("RSIIndicator", "M1", 1L, new IndicatorSeries(new double[]{1, 2, 3}));
+        Path file = files.file("RSIIndicator", "M1");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17});
+
+        Assertions.assertNull(files.read("RSIIndicator", "M1", 1L));
+    }
+
+    @Test
+    void testWriteBehindCoalescesAndFlushes() throws Exception {
+        try (IndicatorCacheWriter writer = IndicatorCacheWriter.start(Long.MAX_VALUE / 2)) {
+            IndicatorCacheFiles files = new IndicatorCacheFiles(folder, "test", writer);
+            files.writeBehind("RSIIndicator", "M1", 1L, new IndicatorSeries(new double[]{1, 2}));
+            files.writeBehind("RSIIndicator", "M1", 1L, new IndicatorSeries(new double[]{1, 2, 3}));
+
+            Path file = files.file("RSIIndicator", "M1");
+            Assertions.assertFalse(Files.exists(file));
+            Assertions.assertEquals(1, writer.getPendingCount());
+            Assertions.assertEquals(3, files.read("RSIIndicator", "M1", 1L).size());
+            Assertions.assertNull(files.read("RSIIndicator", "M1", 2L));
+
+            files.flush();
+            Assertions.assertEquals(0, writer.getPendingCount());
+            Assertions.assertArrayEquals(new double[]{1, 2, 3}, IndicatorCacheFiles.readFile(file).values().column(0));
+            try (var listing = Files.list(file.getParent())) {
+                Assertions.assertEquals(List.of(file), listing.toList(), "no temp files left behind");
+            }
+        }
+    }
+
+    @Test
+    void testProviderReadsSeriesWrittenByAnotherProvider() {
+        BarSeries series = TestBars.randomWalk(1000, 31);
+        AtomicInteger calculations = new AtomicInteger();
+        Indicator<Double> rsi = new RSIIndicator(14) {
+            @Override
+            public List<Double> calculateSeries(List<? extends StatData> historicalData) {
+                calculations.incrementAndGet();
+                return super.calculateSeries(historicalData);
+            }
+
+            @Override
+            public String toString() {
+                return "RSIIndicator 14";
+            }
+        };
+        MACDIndicator macd = new MACDIndicator(12, 26, 9);
+        List<StatDealData> history = series.asList().subList(0, 900);
+
+        ChartDataProvider first = new ChartDataProvider("dataset", series, true, folder);
+        Double expectedRsi = first.calculateIndicator(rsi, history, Timeframe.M1);
+        MACDIndicator.Result expectedMacd = first.calculateIndicator(macd, history, Timeframe.M1);
+        Assertions.assertEquals(1, calculations.get());
+
+        first.flushCache();
+        ChartDataProvider second = new ChartDataProvider("dataset", series, true, folder);
+        Assertions.assertEquals(expectedRsi, second.calculateIndicator(rsi, history, Timeframe.M1));
+        Assertions.assertEquals(expectedMacd, second.calculateIndicator(macd, history, Timeframe.M1));
+        Assertions.assertEquals(1, calculations.get());
+
+        // Same cache id, refetched data: the files no longer match the bars
+        ChartDataProvider refetched = new ChartDataProvider("dataset", TestBars.randomWalk(1000, 32), true, folder);
+        refetched.calculateIndicator(rsi, history, Timeframe.M1);
+        Assertions.assertEquals(2, calculations.get());
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.istin.tradingaizer.chart;
+
+import com.github.istin.tradingaizer.indicator.EMAIndicator;
+import com.github.istin.tradingaizer.indicator.Indicator;
+import com.github.istin.tradingaizer.indicator.IndicatorSeries;
+import com.github.istin.tradingaizer.indicator.Timeframe;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.indicator.graph.SeriesNodes;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.TestBars;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class IndicatorSeriesCacheTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void testEvictsLeastRecentlyUsedWithinBudget() {
+        long seriesBytes = IndicatorSeries.create(1, 1000).getSizeInBytes();
+        // Room for three and a half series: evicting down to 90% of it keeps three
+        IndicatorSeriesCache cache = new IndicatorSeriesCache(seriesBytes * 7 / 2);
+        List<IndicatorSeriesCache.Entry> evicted = new ArrayList<>();
+
+        IndicatorSeriesCache.Entry first = cache.put(IndicatorSeries.create(1, 1000), evicted::add);
+        IndicatorSeriesCache.Entry second = cache.put(IndicatorSeries.create(1, 1000), evicted::add);
+        IndicatorSeriesCache.Entry third = cache.put(IndicatorSeries.create(1, 1000), evicted::add);
+        Assertions.assertNotNull(cache.get(first));
+        IndicatorSeriesCache.Entry fourth = cache.put(IndicatorSeries.create(1, 1000), evicted::add);
+
+        Assertions.assertEquals(List.of(second), evicted);
+        Assertions.assertNull(cache.get(second));
+        Assertions.assertNotNull(cache.get(first));
+        Assertions.assertNotNull(cache.get(third));
+        Assertions.assertNotNull(cache.get(fourth));
+        Assertions.assertEquals(seriesBytes * 3, cache.getSizeInBytes());
+        Assertions.assertEquals(3, cache.getEntryCount());
+        Assertions.assertEquals(1, cache.getEvictionCount());
+        Assertions.assertEquals(4, cache.getHitCount());
+        Assertions.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void testProvidersShareBudgetAndReloadEvictedSeriesFromDisk() {
+        BarSeries series = TestBars.randomWalk(2000, 41);
+        long seriesBytes = IndicatorSeries.create(1, series.size()).getSizeInBytes();
+        IndicatorSeriesCache cache = new IndicatorSeriesCache(seriesBytes * 2);
+        AtomicInteger calculations = new AtomicInteger();
+        List<Indicator<Double>> indicators = new ArrayList<>();
+        for (int period = 10; period < 14; period++) {
+            indicators.add(new EMAIndicator(period) {
+                @Override
+                public IndicatorSeries calculateValues(IndicatorGraph graph) {
+                    calculations.incrementAndGet();
+                    return super.calculateValues(graph);
+                }
+            });
+        }
+
+        ChartDataProvider first = new ChartDataProvider("first", series, true, folder, cache);
+        ChartDataProvider second = new ChartDataProvider("second", series, true, folder, cache);
+        List<IndicatorSeries> expected = new ArrayList<>();
+        for (Indicator<Double> indicator : indicators) {
+            expected.add(first.calculateValues(indicator, Timeframe.M1));
+            second.calculateValues(indicator, Timeframe.M1);
+        }
+        Assertions.assertEquals(8, calculations.get());
+        Assertions.assertTrue(cache.getSizeInBytes() <= cache.getMaxBytes());
+        Assertions.assertEquals(6, cache.getEvictionCount());
+
+        // Evicted series come back from the disk cache instead of being recalculated
+        for (int i = 0; i < indicators.size(); i++) {
+            IndicatorSeries values = first.calculateValues(indicators.get(i), Timeframe.M1);
+            Assertions.assertArrayEquals(expected.get(i).column(0), values.column(0));
+        }
+        Assertions.assertEquals(8, calculations.get());
+        Assertions.assertTrue(cache.getSizeInBytes() <= cache.getMaxBytes());
+    }
+
+    @Test
+    void testEvictedSeriesAndGraphsAreCollected() throws InterruptedException {
+        BarSeries series = TestBars.randomWalk(20_000, 42);
+        long seriesBytes = IndicatorSeries.create(1, series.size()).getSizeInBytes();
+        IndicatorSeriesCache cache = new IndicatorSeriesCache(seriesBytes * 3 / 2);
+        ChartDataProvider provider = new ChartDataProvider("test", series, false, folder, cache);
+        List<WeakReference<IndicatorGraph>> graphs = new ArrayList<>();
+        EMAIndicator first = new EMAIndicator(10) {
+            @Override
+            public IndicatorSeries calculateValues(IndicatorGraph graph) {
+                graphs.add(new WeakReference<>(graph));
+                IndicatorSeries values = super.calculateValues(graph);
+                // The cached values are a copy, not the node array that the graph keeps for its own evaluations
+                Assertions.assertNotSame(graph.evaluate(SeriesNodes.ema(SeriesNodes.close(), 10, 10)), values.column(0));
+                return values;
+            }
+        };
+
+        WeakReference<double[]> evicted = new WeakReference<>(provider.calculateValues(first, Timeframe.M1).column(0));
+        provider.calculateValues(new EMAIndicator(11), Timeframe.M1);
+        Assertions.assertEquals(1, cache.getEvictionCount());
+
+        // Neither the evicted values nor the graph with its copies of the bar columns stay reachable
+        for (int attempt = 0; attempt < 50 && (evicted.get() != null || graphs.get(0).get() != null); attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assertions.assertNull(evicted.get(), "evicted series still reachable");
+        Assertions.assertNull(graphs.get(0).get(), "graph still reachable");
+
+        // And come back when asked for again
+        Assertions.assertEquals(series.size(), provider.calculateValues(first, Timeframe.M1).size());
+        Assertions.assertEquals(2, graphs.size());
+    }
+}
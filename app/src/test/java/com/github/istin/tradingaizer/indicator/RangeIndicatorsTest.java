@@ -0,0 +1,122 @@
+package com.github.istin.tradingaizer.indicator;
+
+import com.github.istin.tradingaizer.indicator.graph.GraphIndicator;
+import com.github.istin.tradingaizer.indicator.graph.IndicatorGraph;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.TestBars;
+import com.github.istin.tradingaizer.trader.StatDealData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+class RangeIndicatorsTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private static List<Indicator<?>> indicators() {
+        return List.of(new DonchianChannelIndicator(20), new StochasticIndicator(14, 3), new WilliamsRIndicator(14),
+                new ChandelierExitIndicator(22, 3.0));
+    }
+
+    @Test
+    void testRollingExtremeMatchesRescan() {
+        Random random = new Random(3);
+        double[] values = new double[500];
+        for (int i = 0; i < values.length; i++) {
+            // Few distinct values, so that equal values enter the deque too
+            values[i] = random.nextInt(20);
+        }
+        for (int period : new int[]{1, 2, 7, 200}) {
+            RollingExtreme max = RollingExtreme.max(period);
+            RollingExtreme min = RollingExtreme.min(period);
+            for (int i = 0; i < values.length; i++) {
+                double expectedMax = Double.NEGATIVE_INFINITY;
+                double expectedMin = Double.POSITIVE_INFINITY;
+                for (int j = Math.max(0, i - period + 1); j <= i; j++) {
+                    expectedMax = Math.max(expectedMax, values[j]);
+                    expectedMin = Math.min(expectedMin, values[j]);
+                }
+                Assertions.assertEquals(expectedMax, max.add(values[i]), "max period " + period + " at " + i);
+                Assertions.assertEquals(expectedMin, min.add(values[i]), "min period " + period + " at " + i);
+                Assertions.assertEquals(i + 1 >= period, max.isFull());
+            }
+        }
+    }
+
+    @Test
+    void testStreamingAndGraphMatchCalculateOnEveryBar() {
+        BarSeries series = TestBars.randomWalk(300, 97000, 5);
+        List<StatDealData> bars = series.asList();
+        IndicatorGraph graph = new IndicatorGraph(series);
+        for (Indicator<?> indicator : indicators()) {
+            assertMatches(indicator, bars, graph);
+        }
+    }
+
+    private static <Result> void assertMatches(Indicator<Result> indicator, List<StatDealData> bars, IndicatorGraph graph) {
+        StreamingIndicator<Result> streaming = indicator.streaming();
+        IndicatorSeries values = ((GraphIndicator) indicator).calculateValues(graph);
+        for (int i = 0; i < bars.size(); i++) {
+            Result expected = indicator.calculate(bars.subList(0, i + 1));
+            Result incremental = streaming.update(bars.get(i));
+            Result fromGraph = indicator.toResult(values, i);
+            if (expected == null) {
+                Assertions.assertNull(incremental, indicator + " streaming at bar " + i);
+                Assertions.assertNull(fromGraph, indicator + " graph at bar " + i);
+                continue;
+            }
+            for (int output = 0; output < indicator.getOutputCount(); output++) {
+                double value = indicator.getOutputValue(expected, output);
+                assertClose(value, indicator.getOutputValue(incremental, output), indicator + " streaming at bar " + i);
+                assertClose(value, values.get(output, i), indicator + " graph at bar " + i);
+            }
+        }
+    }
+
+    @Test
+    void testSnapshotAndRestore() {
+        List<StatDealData> bars = TestBars.randomWalk(150, 97000, 6).asList();
+        List<StatDealData> noise = TestBars.randomWalk(40, 97000, 7).asList();
+        for (Indicator<?> indicator : indicators()) {
+            assertRestores(indicator, bars, noise);
+        }
+    }
+
+    private static <Result> void assertRestores(Indicator<Result> indicator, List<StatDealData> bars, List<StatDealData> noise) {
+        StreamingIndicator<Result> streaming = indicator.streaming();
+        for (int i = 0; i < 100; i++) {
+            streaming.update(bars.get(i));
+        }
+        StreamingIndicator<Result> snapshot = streaming.snapshot();
+        for (StatDealData bar : noise) {
+            streaming.update(bar);
+        }
+        streaming.restore(snapshot);
+        for (int i = 100; i < bars.size(); i++) {
+            streaming.update(bars.get(i));
+        }
+        Result expected = indicator.calculate(bars);
+        for (int output = 0; output < indicator.getOutputCount(); output++) {
+            assertClose(indicator.getOutputValue(expected, output), indicator.getOutputValue(streaming.getValue(), output),
+                    indicator + " after restore");
+        }
+    }
+
+    @Test
+    void testFlatRange() {
+        BarSeries series = new BarSeries();
+        for (int i = 0; i < 20; i++) {
+            series.append(i * 60_000L, 10, 10, 10, 10, 1, (i + 1) * 60_000L - 1);
+        }
+        List<StatDealData> bars = series.asList();
+        Assertions.assertEquals(-50.0, new WilliamsRIndicator(14).calculate(bars));
+        Assertions.assertEquals(50.0, new StochasticIndicator(14, 3).calculate(bars).getK());
+        Assertions.assertEquals(10.0, new DonchianChannelIndicator(14).calculate(bars).getMiddleBand());
+    }
+
+    private static void assertClose(double expected, double actual, String message) {
+        Assertions.assertEquals(expected, actual, TOLERANCE * Math.max(1.0, Math.abs(expected)), message);
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.istin.tradingaizer.indicator;
+
+import com.github.istin.tradingaizer.model.TestBars;
+import com.github.istin.tradingaizer.trader.StatData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class StreamingIndicatorTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private static List<Indicator<?>> indicators() {
+        List<Indicator<?>> indicators = new ArrayList<>();
+        indicators.add(new RSIIndicator(14));
+        indicators.add(new EMAIndicator(20));
+        indicators.add(new ATRIndicator(14));
+        indicators.add(new MACDIndicator(12, 26, 9));
+        indicators.add(new ADXIndicator(14));
+        indicators.add(new SuperTrendIndicator(10, 3.0));
+        indicators.add(new OBVIndicator());
+        indicators.add(new MovingAverageIndicator(50));
+        indicators.add(new BollingerBandsIndicator(20, 2.0));
+        return indicators;
+    }
+
+    @Test
+    void testStreamingMatchesBatchOnEveryBar() {
+        List<StatData> data = randomWalk(400, 97000.0, 42);
+        for (Indicator<?> indicator : indicators()) {
+            StreamingIndicator<?> streaming = indicator.streaming();
+            for (int i = 0; i < data.size(); i++) {
+                Object incremental = streaming.update(data.get(i));
+                Object batch = indicator.calculate(data.subList(0, i + 1));
+                assertSameValue(batch, incremental, indicator + " at bar " + i);
+            }
+            Assertions.assertEquals(data.size(), streaming.getCount());
+        }
+    }
+
+    @Test
+    void testSnapshotAndRestore() {
+        List<StatData> data = randomWalk(200, 100.0, 7);
+        List<StatData> noise = randomWalk(30, 500.0, 8);
+        for (Indicator<?> indicator : indicators()) {
+            @SuppressWarnings("unchecked")
+            StreamingIndicator<Object> streaming = (StreamingIndicator<Object>) indicator.streaming();
+            for (int i = 0; i < 120; i++) {
+                streaming.update(data.get(i));
+            }
+            StreamingIndicator<Object> snapshot = streaming.snapshot();
+            for (StatData bar : noise) {
+                streaming.update(bar);
+            }
+            streaming.restore(snapshot);
+            Assertions.assertEquals(120, streaming.getCount());
+            for (int i = 120; i < data.size(); i++) {
+                streaming.update(data.get(i));
+            }
+            assertSameValue(indicator.calculate(data), streaming.getValue(), indicator + " after restore");
+        }
+    }
+
+    @Test
+    void testStreamingIsNullWhileWarmingUp() {
+        StreamingIndicator<Double> rsi = new RSIIndicator(14).streaming();
+        List<StatData> data = randomWalk(15, 100.0, 1);
+        for (int i = 0; i < 14; i++) {
+            Assertions.assertNull(rsi.update(data.get(i)));
+        }
+        Assertions.assertNotNull(rsi.update(data.get(14)));
+    }
+
+    private static void assertSameValue(Object expected, Object actual, String message) {
+        if (expected == null || actual == null) {
+            Assertions.assertEquals(expected, actual, message);
+        } else if (expected instanceof Double) {
+            assertClose((Double) expected, (Double) actual, message);
+        } else if (expected instanceof MACDIndicator.Result) {
+            MACDIndicator.Result e = (MACDIndicator.Result) expected;
+            MACDIndicator.Result a = (MACDIndicator.Result) actual;
+            assertClose(e.getMacd(), a.getMacd(), message);
+            assertClose(e.getSignalLine(), a.getSignalLine(), message);
+        } else if (expected instanceof BollingerBandsIndicator.Result) {
+            BollingerBandsIndicator.Result e = (BollingerBandsIndicator.Result) expected;
+            BollingerBandsIndicator.Result a = (BollingerBandsIndicator.Result) actual;
+            assertClose(e.getUpperBand(), a.getUpperBand(), message);
+            assertClose(e.getMiddleBand(), a.getMiddleBand(), message);
+            assertClose(e.getLowerBand(), a.getLowerBand(), message);
+        } else {
+            Assertions.fail("Unexpected result type " + expected.getClass());
+        }
+    }
+
+    private static void assertClose(double expected, double actual, String message) {
+        Assertions.assertEquals(expected, actual, TOLERANCE * Math.max(1.0, Math.abs(expected)), message);
+    }
+
+    /**
+     * The bars in a plain list, so that the batch side takes the list code path rather than the column kernels.
+     */
+    private static List<StatData> randomWalk(int count, double start, long seed) {
+        return new ArrayList<>(TestBars.randomWalk(count, start, seed).asList());
+    }
+}
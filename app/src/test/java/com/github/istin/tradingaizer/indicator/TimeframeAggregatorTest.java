@@ -0,0 +1,178 @@
+package com.github.istin.tradingaizer.indicator;
+
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.trader.StatData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+class TimeframeAggregatorTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    void testCandlesStayOnWallClockAcrossGaps() {
+        // Starts mid-bucket, loses minutes 40..109 and repeats minute 200
+        BarSeries bars = new BarSeries();
+        Random random = new Random(5);
+        for (int minute = 3; minute < 300; minute++) {
+            if (minute >= 40 && minute < 110) {
+                continue;
+            }
+            appendMinute(bars, minute, random);
+            if (minute == 200) {
+                appendMinute(bars, minute, random);
+            }
+        }
+
+        BarSeries m15 = TimeframeAggregator.convertToTimeframe(bars, Timeframe.M15);
+        long previous = Long.MIN_VALUE;
+        for (int i = 0; i < m15.size(); i++) {
+            Assertions.assertEquals(0, m15.getOpenTime(i) % (15 * MINUTE));
+            Assertions.assertTrue(m15.getOpenTime(i) > previous);
+            previous = m15.getOpenTime(i);
+        }
+        // 0..14 (from minute 3), 15..29, 30..39, then 105..119 (from minute 110) onwards
+        Assertions.assertEquals(3 + 13, m15.size());
+        Assertions.assertEquals(105 * MINUTE, m15.getOpenTime(3));
+        Assertions.assertEquals(bars.getOpen(0), m15.getOpen(0));
+        Assertions.assertFalse(TimeframeAggregator.isComplete(m15, 2, Timeframe.M15));
+        Assertions.assertTrue(TimeframeAggregator.isComplete(m15, 4, Timeframe.M15));
+
+        int bucket = (int) (195 * MINUTE / (15 * MINUTE)) - 4;
+        Assertions.assertEquals(195 * MINUTE, m15.getOpenTime(bucket));
+        double volume = 0;
+        for (int i = 0; i < bars.size(); i++) {
+            long time = bars.getOpenTime(i);
+            if (time >= 195 * MINUTE && time < 210 * MINUTE && (i == 0 || time > bars.getOpenTime(i - 1))) {
+                volume += bars.getVolume(i);
+            }
+        }
+        Assertions.assertEquals(volume, m15.getVolume(bucket), 1e-9);
+    }
+
+    @Test
+    void testAppendLastMatchesFullConversion() {
+        BarSeries bars = new BarSeries();
+        Random random = new Random(6);
+        for (int minute = 0; minute < 2000; minute++) {
+            if (random.nextInt(50) == 0) {
+                minute += random.nextInt(90);
+            }
+            appendMinute(bars, minute, random);
+            if (random.nextInt(100) == 0) {
+                appendMinute(bars, minute, random);
+            }
+        }
+
+        for (Timeframe timeframe : List.of(Timeframe.M5, Timeframe.H1, Timeframe.valueOf("7m"))) {
+            BarSeries incremental = new BarSeries();
+            BarSeries data = new BarSeries();
+            for (int i = 0; i < bars.size(); i++) {
+                data.append(bars.getOpenTime(i), bars.getOpen(i), bars.getHigh(i), bars.getLow(i), bars.getClose(i),
+                        bars.getVolume(i), bars.getCloseTime(i));
+                TimeframeAggregator.appendLast(data, incremental, timeframe);
+            }
+            BarSeries expected = TimeframeAggregator.convertToTimeframe(bars, timeframe);
+            Assertions.assertEquals(expected.size(), incremental.size());
+            Assertions.assertEquals(expected.getFingerprint(), incremental.getFingerprint(), timeframe.name());
+        }
+    }
+
+    @Test
+    void testParallelConversionMatchesSequential() {
+        BarSeries bars = new BarSeries();
+        Random random = new Random(8);
+        for (int minute = 0; minute < 20_000; minute++) {
+            if (random.nextInt(200) == 0) {
+                minute += random.nextInt(600);
+            }
+            appendMinute(bars, minute, random);
+            if (random.nextInt(100) == 0) {
+                appendMinute(bars, minute, random);
+            }
+            if (random.nextInt(300) == 0) {
+                appendMinute(bars, minute - 1 - random.nextInt(20), random);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // Chunks cut on day boundaries
+            List<Timeframe> aligned = List.of(Timeframe.M5, Timeframe.M15, Timeframe.H1, Timeframe.H4, Timeframe.D1);
+            for (int chunkSize : new int[]{100, 1_000, 7_000, 50_000}) {
+                Map<Timeframe, BarSeries> parallel = TimeframeAggregator.convertToTimeframes(bars, aligned, pool, chunkSize);
+                Assertions.assertEquals(aligned, List.copyOf(parallel.keySet()));
+                for (Timeframe timeframe : aligned) {
+                    BarSeries expected = TimeframeAggregator.convertToTimeframe(bars, timeframe);
+                    Assertions.assertEquals(expected.getFingerprint(), parallel.get(timeframe).getFingerprint(),
+                            timeframe.name() + " in chunks of " + chunkSize);
+                }
+            }
+
+            // No common boundary within a year: candles span chunks and get merged
+            List<Timeframe> unaligned = List.of(Timeframe.valueOf("7m"), Timeframe.valueOf("13m"), Timeframe.D1, Timeframe.valueOf("11h"));
+            Map<Timeframe, BarSeries> parallel = TimeframeAggregator.convertToTimeframes(bars, unaligned, pool, 333);
+            for (Timeframe timeframe : unaligned) {
+                BarSeries expected = TimeframeAggregator.convertToTimeframe(bars, timeframe);
+                BarSeries actual = parallel.get(timeframe);
+                Assertions.assertEquals(expected.size(), actual.size(), timeframe.name());
+                for (int i = 0; i < expected.size(); i++) {
+                    Assertions.assertEquals(expected.getOpenTime(i), actual.getOpenTime(i));
+                    Assertions.assertEquals(expected.getOpen(i), actual.getOpen(i));
+                    Assertions.assertEquals(expected.getHigh(i), actual.getHigh(i));
+                    Assertions.assertEquals(expected.getLow(i), actual.getLow(i));
+                    Assertions.assertEquals(expected.getClose(i), actual.getClose(i));
+                    Assertions.assertEquals(expected.getVolume(i), actual.getVolume(i), 1e-9);
+                    Assertions.assertEquals(expected.getCloseTime(i), actual.getCloseTime(i));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testCompletedCount() {
+        BarSeries bars = new BarSeries();
+        Random random = new Random(7);
+        for (int minute = 0; minute < 60; minute++) {
+            if (minute < 20 || minute >= 27) {
+                appendMinute(bars, minute, random);
+            }
+        }
+        BarSeries m5 = TimeframeAggregator.convertToTimeframe(bars, Timeframe.M5);
+        Assertions.assertEquals(0, TimeframeAggregator.completedCount(bars, 4, m5, Timeframe.M5));
+        Assertions.assertEquals(1, TimeframeAggregator.completedCount(bars, 5, m5, Timeframe.M5));
+        Assertions.assertEquals(4, TimeframeAggregator.completedCount(bars, 20, m5, Timeframe.M5));
+        // Minute 27 opens the candle of 25..29 after the gap
+        Assertions.assertEquals(4, TimeframeAggregator.completedCount(bars, 21, m5, Timeframe.M5));
+        Assertions.assertEquals(5, TimeframeAggregator.completedCount(bars, 23, m5, Timeframe.M5));
+        Assertions.assertEquals(11, TimeframeAggregator.completedCount(bars, bars.size(), m5, Timeframe.M5));
+    }
+
+    @Test
+    void testBarsWithoutTimestampsAreGroupedByCount() {
+        List<StatData> bars = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            bars.add(new TimeframeAggregator.AggregatedStatData(i + 1, i - 1, i, 1));
+        }
+        List<StatData> m5 = TimeframeAggregator.convertToTimeframe(bars, Timeframe.M5);
+        Assertions.assertEquals(3, m5.size());
+        Assertions.assertEquals(9, m5.get(1).getClosePrice());
+        Assertions.assertEquals(10, m5.get(1).getHighPrice());
+        Assertions.assertEquals(2, m5.get(2).getVolume());
+    }
+
+    private static void appendMinute(BarSeries bars, int minute, Random random) {
+        double open = 100 + random.nextDouble();
+        double close = 100 + random.nextDouble();
+        bars.append(minute * MINUTE, open, Math.max(open, close) + 0.1, Math.min(open, close) - 0.1, close,
+                random.nextDouble() * 10, (minute + 1) * MINUTE - 1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.istin.tradingaizer.indicator.graph;
+
+import com.github.istin.tradingaizer.indicator.ADXIndicator;
+import com.github.istin.tradingaizer.indicator.ATRIndicator;
+import com.github.istin.tradingaizer.indicator.BollingerBandsIndicator;
+import com.github.istin.tradingaizer.indicator.EMAIndicator;
+import com.github.istin.tradingaizer.indicator.Indicator;
+import com.github.istin.tradingaizer.indicator.IndicatorSeries;
+import com.github.istin.tradingaizer.indicator.MACDIndicator;
+import com.github.istin.tradingaizer.indicator.MovingAverageIndicator;
+import com.github.istin.tradingaizer.indicator.SuperTrendIndicator;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.TestBars;
+import com.github.istin.tradingaizer.trader.StatDealData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class IndicatorGraphTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void testGraphSeriesMatchesCalculateOnEveryBar() {
+        BarSeries series = TestBars.randomWalk(300, 97000, 21);
+        IndicatorGraph graph = new IndicatorGraph(series);
+        List<StatDealData> bars = series.asList();
+
+        List<Indicator<?>> indicators = List.of(new EMAIndicator(20), new ATRIndicator(14), new ADXIndicator(14),
+                new SuperTrendIndicator(14, 3.0), new MACDIndicator(12, 26, 9), new MovingAverageIndicator(50),
+                new BollingerBandsIndicator(20, 2.0));
+        for (Indicator<?> indicator : indicators) {
+            IndicatorSeries values = ((GraphIndicator) indicator).calculateValues(graph);
+            Assertions.assertEquals(bars.size(), values.size());
+            Assertions.assertEquals(indicator.getOutputCount(), values.getOutputCount());
+            for (int i = 0; i < bars.size(); i++) {
+                assertSameValue(indicator.calculate(bars.subList(0, i + 1)), indicator.toResult(values, i), indicator + " at bar " + i);
+            }
+        }
+    }
+
+    @Test
+    void testSharedNodesAreEvaluatedOnce() {
+        IndicatorGraph graph = new IndicatorGraph(TestBars.randomWalk(200, 97000, 22));
+
+        new ATRIndicator(14).calculateValues(graph);
+        // TR and the Wilder average of TR
+        Assertions.assertEquals(2, graph.getNodeCount());
+        new SuperTrendIndicator(14, 3.0).calculateValues(graph);
+        Assertions.assertEquals(2, graph.getNodeCount());
+
+        new EMAIndicator(26).calculateValues(graph);
+        Assertions.assertEquals(4, graph.getNodeCount());
+        // MACD reuses the close series and EMA(26), adding only its fast EMA
+        new MACDIndicator(12, 26, 9).calculateValues(graph);
+        Assertions.assertEquals(5, graph.getNodeCount());
+
+        double[] first = graph.evaluate(SeriesNodes.trueRange());
+        Assertions.assertSame(first, graph.evaluate(SeriesNodes.trueRange()));
+    }
+
+    private static void assertSameValue(Object expected, Object actual, String message) {
+        if (expected == null || actual == null) {
+            Assertions.assertEquals(expected, actual, message);
+        } else if (expected instanceof Double) {
+            assertClose((Double) expected, (Double) actual, message);
+        } else if (expected instanceof MACDIndicator.Result) {
+            MACDIndicator.Result e = (MACDIndicator.Result) expected;
+            MACDIndicator.Result a = (MACDIndicator.Result) actual;
+            assertClose(e.getMacd(), a.getMacd(), message);
+            assertClose(e.getSignalLine(), a.getSignalLine(), message);
+        } else {
+            BollingerBandsIndicator.Result e = (BollingerBandsIndicator.Result) expected;
+            BollingerBandsIndicator.Result a = (BollingerBandsIndicator.Result) actual;
+            assertClose(e.getUpperBand(), a.getUpperBand(), message);
+            assertClose(e.getMiddleBand(), a.getMiddleBand(), message);
+            assertClose(e.getLowerBand(), a.getLowerBand(), message);
+        }
+    }
+
+    private static void assertClose(double expected, double actual, String message) {
+        Assertions.assertEquals(expected, actual, TOLERANCE * Math.max(1.0, Math.abs(expected)), message);
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.istin.tradingaizer.indicator.kernel;
+
+import com.github.istin.tradingaizer.indicator.ADXIndicator;
+import com.github.istin.tradingaizer.indicator.ATRIndicator;
+import com.github.istin.tradingaizer.indicator.BollingerBandsIndicator;
+import com.github.istin.tradingaizer.indicator.MovingAverageIndicator;
+import com.github.istin.tradingaizer.indicator.OBVIndicator;
+import com.github.istin.tradingaizer.indicator.SuperTrendIndicator;
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.TestBars;
+import com.github.istin.tradingaizer.trader.StatData;
+import com.github.istin.tradingaizer.trader.StatDealData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class IndicatorKernelsTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void testVectorKernelsMatchScalarKernels() {
+        Assumptions.assumeTrue(Kernels.isVectorized(), "jdk.incubator.vector is not available");
+        IndicatorKernels scalar = Kernels.scalar();
+        IndicatorKernels vector = Kernels.get();
+        BarSeries series = TestBars.randomWalk(1037, 97000.0, 42);
+
+        // Odd lengths and offsets so that both the vector loop and the scalar tail are covered
+        for (int length : new int[]{1, 2, 3, 7, 8, 9, 31, 64, 257, 1000}) {
+            int from = 1 + length % 5;
+            int to = from + length;
+            double[] expected = new double[length + 3];
+            double[] actual = new double[length + 3];
+            scalar.trueRange(series.highColumn(), series.lowColumn(), series.closeColumn(), from, to, expected, 3);
+            vector.trueRange(series.highColumn(), series.lowColumn(), series.closeColumn(), from, to, actual, 3);
+            Assertions.assertArrayEquals(expected, actual, "trueRange length " + length);
+
+            double sum = scalar.sum(series.closeColumn(), from, to);
+            assertClose(sum, vector.sum(series.closeColumn(), from, to), "sum length " + length);
+
+            double mean = sum / length;
+            assertClose(scalar.sumOfSquaredDeviations(series.closeColumn(), from, to, mean),
+                    vector.sumOfSquaredDeviations(series.closeColumn(), from, to, mean), "variance length " + length);
+
+            assertClose(scalar.signedVolumeSum(series.closeColumn(), series.volumeColumn(), from, to),
+                    vector.signedVolumeSum(series.closeColumn(), series.volumeColumn(), from, to), "OBV length " + length);
+        }
+    }
+
+    @Test
+    void testColumnarIndicatorsMatchListIndicators() {
+        BarSeries series = TestBars.randomWalk(500, 100.0, 7);
+        // Views start at a non-zero offset in the backing arrays
+        List<StatDealData> columnar = series.view(13, 500).asList();
+        List<StatData> plain = new ArrayList<>(columnar);
+
+        assertClose(new ATRIndicator(14).calculate(plain), new ATRIndicator(14).calculate(columnar), "ATR");
+        assertClose(new OBVIndicator().calculate(plain), new OBVIndicator().calculate(columnar), "OBV");
+        assertClose(new MovingAverageIndicator(50).calculate(plain), new MovingAverageIndicator(50).calculate(columnar), "MA");
+        assertClose(new ADXIndicator(14).calculate(plain), new ADXIndicator(14).calculate(columnar), "ADX");
+        assertClose(new SuperTrendIndicator(10, 3.0).calculate(plain), new SuperTrendIndicator(10, 3.0).calculate(columnar), "SuperTrend");
+
+        BollingerBandsIndicator.Result expected = new BollingerBandsIndicator(20, 2.0).calculate(plain);
+        BollingerBandsIndicator.Result actual = new BollingerBandsIndicator(20, 2.0).calculate(columnar);
+        assertClose(expected.getUpperBand(), actual.getUpperBand(), "Bollinger upper");
+        assertClose(expected.getMiddleBand(), actual.getMiddleBand(), "Bollinger middle");
+        assertClose(expected.getLowerBand(), actual.getLowerBand(), "Bollinger lower");
+    }
+
+    private static void assertClose(double expected, double actual, String message) {
+        Assertions.assertEquals(expected, actual, TOLERANCE * Math.max(1.0, Math.abs(expected)), message);
+    }
+}
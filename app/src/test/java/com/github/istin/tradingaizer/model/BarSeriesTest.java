@@ -0,0 +1,93 @@
+package com.github.istin.tradingaizer.model;
+
+import com.github.istin.tradingaizer.trader.StatDealData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class BarSeriesTest {
+
+    @Test
+    void testAppendGrowsBeyondInitialCapacity() {
+        BarSeries series = new BarSeries(2);
+        for (int i = 0; i < 10; i++) {
+            series.append(i * 60_000L, i, i + 1, i - 1, i + 0.5, 10 * i, (i + 1) * 60_000L - 1);
+        }
+        Assertions.assertEquals(10, series.size());
+        Assertions.assertEquals(9.5, series.getClose(9));
+        Assertions.assertEquals(8 * 60_000L, series.getOpenTime(8));
+    }
+
+    @Test
+    void testViewSharesColumnsAndIsReadOnly() {
+        BarSeries series = createSeries(100);
+        BarSeries view = series.view(10, 20);
+
+        Assertions.assertEquals(10, view.size());
+        Assertions.assertEquals(series.getClose(10), view.getClose(0));
+        Assertions.assertSame(series.closeColumn(), view.closeColumn());
+        Assertions.assertEquals(10, view.getOffset());
+        Assertions.assertThrows(IllegalStateException.class, () -> view.append(0, 0, 0, 0, 0, 0, 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> series.view(50, 101));
+    }
+
+    @Test
+    void testFingerprintFollowsContent() {
+        BarSeries series = createSeries(100);
+        Assertions.assertEquals(series.getFingerprint(), createSeries(100).getFingerprint());
+        Assertions.assertEquals(series.getFingerprint(), series.view(0, 100).getFingerprint());
+        Assertions.assertEquals(createSeries(60).getFingerprint(), series.view(0, 60).getFingerprint());
+        Assertions.assertNotEquals(series.getFingerprint(), series.view(1, 100).getFingerprint());
+
+        BarSeries changed = createSeries(99);
+        changed.append(99 * 60_000L, 99, 100, 98, 99.25, 990, 100 * 60_000L - 1);
+        Assertions.assertNotEquals(series.getFingerprint(), changed.getFingerprint());
+    }
+
+    @Test
+    void testListAdapter() {
+        BarSeries series = createSeries(50);
+        List<StatDealData> bars = series.asList();
+
+        Assertions.assertEquals(50, bars.size());
+        StatDealData bar = bars.get(5);
+        Assertions.assertEquals(series.getClose(5), bar.getClosePrice());
+        Assertions.assertEquals(series.getCloseTime(5), bar.getWhen());
+
+        List<StatDealData> subList = bars.subList(5, 15);
+        Assertions.assertSame(series.closeColumn(), BarSeries.unwrap(subList).closeColumn());
+        Assertions.assertEquals(bars.get(14).getClosePrice(), subList.get(9).getClosePrice());
+    }
+
+    @Test
+    void testFromCopiesForeignLists() {
+        BarSeries series = createSeries(20);
+        KlineData kline = new KlineData();
+        kline.setOpenTime(1000L);
+        kline.setOpenPrice(1.0);
+        kline.setHighPrice(3.0);
+        kline.setLowPrice(0.5);
+        kline.setClosePrice(2.0);
+        kline.setVolume(7.0);
+        kline.setCloseTime(1999L);
+
+        BarSeries copy = BarSeries.from(List.of(kline, series.bar(3)));
+        Assertions.assertEquals(2, copy.size());
+        Assertions.assertEquals(1.0, copy.getOpen(0));
+        Assertions.assertEquals(1999L, copy.getCloseTime(0));
+        Assertions.assertEquals(series.getHigh(3), copy.getHigh(1));
+        Assertions.assertSame(series, BarSeries.from(series.asList()));
+    }
+
+    private static BarSeries createSeries(int count) {
+        BarSeries series = new BarSeries();
+        double price = 100;
+        for (int i = 0; i < count; i++) {
+            double next = price + Math.sin(i);
+            series.append(i * 60_000L, price, Math.max(price, next) + 1, Math.min(price, next) - 1, next, i, (i + 1) * 60_000L - 1);
+            price = next;
+        }
+        return series;
+    }
+}
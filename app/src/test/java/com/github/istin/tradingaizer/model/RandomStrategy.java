@@ -0,0 +1,50 @@
+package com.github.istin.tradingaizer.model;
+
+import com.github.istin.tradingaizer.chart.ChartDataProvider;
+import com.github.istin.tradingaizer.strategy.Strategy;
+import com.github.istin.tradingaizer.trader.StatData;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded random decisions for tests: rare entries, some with their own stop loss or take profit, and rare closes.
+ * The decisions are drawn up front for every bar of the provider's series, so the same seed gives the same ones.
+ */
+public class RandomStrategy extends Strategy {
+
+    private final DecisionReason[] decisions;
+
+    public RandomStrategy(ChartDataProvider chartDataProvider, long seed) {
+        super("test", chartDataProvider);
+        BarSeries series = chartDataProvider.getSeries();
+        Random random = new Random(seed);
+        decisions = new DecisionReason[series.size()];
+        for (int i = 0; i < decisions.length; i++) {
+            double price = series.getClose(i);
+            int draw = random.nextInt(100);
+            if (draw < 3) {
+                boolean isLong = draw < 2;
+                Double stopLoss = random.nextBoolean() ? price * (isLong ? 0.99 : 1.01) : null;
+                Double takeProfit = random.nextBoolean() ? price * (isLong ? 1.01 : 0.99) : null;
+                decisions[i] = new DecisionReason(isLong ? Decision.LONG : Decision.SHORT, "entry", stopLoss, takeProfit);
+            } else if (draw < 4) {
+                decisions[i] = new DecisionReason(Decision.CLOSE, "exit");
+            } else {
+                decisions[i] = HOLD;
+            }
+        }
+    }
+
+    /**
+     * The decision on the bar at {@code index}.
+     */
+    public DecisionReason getDecision(int index) {
+        return decisions[index];
+    }
+
+    @Override
+    public DecisionReason generateDecision(List<? extends StatData> historicalData) {
+        return decisions[historicalData.size() - 1];
+    }
+}
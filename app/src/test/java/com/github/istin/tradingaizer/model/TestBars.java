@@ -0,0 +1,50 @@
+package com.github.istin.tradingaizer.model;
+
+import java.util.Random;
+
+/**
+ * Seeded random-walk 1m bars for tests: the same seed gives the same bars.
+ */
+public final class TestBars {
+
+    private TestBars() {
+    }
+
+    /**
+     * Bars from 100 moving up to 0.5% a bar, with wicks 0.1% beyond the body.
+     */
+    public static BarSeries randomWalk(int count, long seed) {
+        Random random = new Random(seed);
+        BarSeries series = new BarSeries(count);
+        double close = 100;
+        for (int i = 0; i < count; i++) {
+            double open = close;
+            close = open * (1 + (random.nextDouble() - 0.5) * 0.01);
+            double high = Math.max(open, close) * 1.001;
+            double low = Math.min(open, close) * 0.999;
+            series.append(i * 60_000L, open, high, low, close, random.nextDouble() * 10, (i + 1) * 60_000L - 1);
+        }
+        return series;
+    }
+
+    /**
+     * Bars from {@code start} moving up to 0.5% a bar, with wicks of a random length up to 0.2% beyond the body.
+     * Every 17th bar closes where it opened, so that the "no change" branches of the indicators are exercised too.
+     */
+    public static BarSeries randomWalk(int count, double start, long seed) {
+        Random random = new Random(seed);
+        BarSeries series = new BarSeries(count);
+        double close = start;
+        for (int i = 0; i < count; i++) {
+            double open = close;
+            close = open * (1 + (random.nextDouble() - 0.5) * 0.01);
+            if (i % 17 == 0) {
+                close = open;
+            }
+            double high = Math.max(open, close) * (1 + random.nextDouble() * 0.002);
+            double low = Math.min(open, close) * (1 - random.nextDouble() * 0.002);
+            series.append(i * 60_000L, open, high, low, close, random.nextDouble() * 10, (i + 1) * 60_000L - 1);
+        }
+        return series;
+    }
+}
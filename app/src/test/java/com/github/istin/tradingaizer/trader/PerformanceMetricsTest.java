@@ -0,0 +1,75 @@
+package com.github.istin.tradingaizer.trader;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class PerformanceMetricsTest {
+
+    @Test
+    void testStreamingMatchesTwoPass() {
+        Random random = new Random(61);
+        int count = 5_000;
+        double[] equity = new double[count];
+        double current = 1000;
+        PerformanceMetrics metrics = new PerformanceMetrics(current);
+        for (int i = 0; i < count; i++) {
+            current *= 1 + (random.nextDouble() - 0.49) * 0.01;
+            equity[i] = current;
+            metrics.onBar(i * 60_000L, current, i % 3 == 0);
+        }
+
+        double[] returns = new double[count];
+        double previous = 1000;
+        double sum = 0;
+        double downside = 0;
+        for (int i = 0; i < count; i++) {
+            returns[i] = equity[i] / previous - 1;
+            previous = equity[i];
+            sum += returns[i];
+            downside += Math.min(returns[i], 0) * Math.min(returns[i], 0);
+        }
+        double mean = sum / count;
+        double squares = 0;
+        for (double value : returns) {
+            squares += (value - mean) * (value - mean);
+        }
+        double deviation = Math.sqrt(squares / (count - 1));
+
+        double peak = 1000;
+        double maxDrawdown = 0;
+        for (double value : equity) {
+            peak = Math.max(peak, value);
+            maxDrawdown = Math.max(maxDrawdown, (peak - value) / peak);
+        }
+
+        Assertions.assertEquals(count, metrics.getBarCount());
+        Assertions.assertEquals(mean / deviation, metrics.getSharpeRatio(), 1e-9);
+        Assertions.assertEquals(mean / Math.sqrt(downside / count) * Math.sqrt(525_600), metrics.getSortinoRatio(525_600), 1e-6);
+        Assertions.assertEquals(maxDrawdown, metrics.getMaxDrawdown(), 1e-12);
+        Assertions.assertEquals(1667.0 / count, metrics.getExposure(), 1e-12);
+        Assertions.assertEquals(current / 1000 - 1, metrics.getTotalReturn(), 1e-12);
+    }
+
+    @Test
+    void testDrawdownDurationAndTrades() {
+        PerformanceMetrics metrics = new PerformanceMetrics(1000);
+        metrics.setDrawdownLimit(0.2);
+        double[] equity = {1000, 1100, 1000, 950, 1050, 1100, 1200, 900};
+        for (int i = 0; i < equity.length; i++) {
+            metrics.onBar(i * 60_000L, equity[i], true);
+            Assertions.assertEquals(i == equity.length - 1, metrics.isDrawdownLimitReached(), "bar " + i);
+        }
+        Assertions.assertEquals(0.25, metrics.getMaxDrawdown(), 1e-12);
+        // From the peak at bar 1 back to it at bar 5
+        Assertions.assertEquals(3 * 60_000L, metrics.getMaxDrawdownDuration());
+
+        metrics.onTrade(30);
+        metrics.onTrade(-10);
+        Assertions.assertEquals(2, metrics.getTradeCount());
+        Assertions.assertEquals(50, metrics.getWinRate());
+        Assertions.assertEquals(10, metrics.getExpectancy());
+        Assertions.assertFalse(new PerformanceMetrics(1000).isDrawdownLimitReached());
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.istin.tradingaizer.trader;
+
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.Decision;
+import com.github.istin.tradingaizer.model.DecisionReason;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+class TradeEventListenerTest {
+
+    private static final DecisionReason LONG = new DecisionReason(Decision.LONG, "entry");
+    private static final DecisionReason HOLD = new DecisionReason(Decision.HOLD, "wait");
+
+    @Test
+    void testRecordedEventsReplayInOrder() throws IOException {
+        BarSeries bars = new BarSeries();
+        double[] closes = {100, 101, 90};
+        for (int i = 0; i < closes.length; i++) {
+            bars.append(i * 60_000L, closes[i], closes[i], closes[i], closes[i], 1, (i + 1) * 60_000L - 1);
+        }
+
+        ByteArrayOutputStream recording = new ByteArrayOutputStream();
+        try (BinaryTradeRecorder recorder = new BinaryTradeRecorder(recording)) {
+            Trader trader = new Trader("TEST", 0.05, 0.5, 1d, new FakeDealExecutor(1000d));
+            trader.setEventListener(recorder);
+            trader.decisionTrigger("TEST", LONG, bars.bar(0));
+            trader.decisionTrigger("TEST", HOLD, bars.bar(1));
+            trader.decisionTrigger("TEST", HOLD, bars.bar(2));
+
+            Deal deal = trader.getClosedDeals().get(0);
+            Assertions.assertEquals(CloseReason.STOP_LOSS, deal.getCloseReason());
+            Assertions.assertTrue(deal.getMessage().startsWith("[DEAL] Deal closed. Reason: Stop loss triggered."), deal.getMessage());
+
+            Trader broke = new Trader("OTHER", 0.05, 0.5, 1d, new FakeDealExecutor(0d));
+            broke.setEventListener(recorder);
+            broke.decisionTrigger("OTHER", LONG, bars.bar(0));
+            Assertions.assertNull(broke.getCurrentDeal());
+        }
+
+        List<String> events = new ArrayList<>();
+        BinaryTradeRecorder.replay(new ByteArrayInputStream(recording.toByteArray()), new TradeEventListener() {
+            @Override
+            public void onOpened(String ticker, Direction direction, long time, double price, double amount,
+                                 double stopLoss, String reason) {
+                events.add("opened " + ticker + " " + direction + " " + price + " " + amount + " " + stopLoss);
+            }
+
+            @Override
+            public void onHeld(String ticker, Direction direction, long time, double price, double openPrice,
+                               double profitLoss, double profitLossRatio, double stopLoss) {
+                events.add("held " + price + " " + profitLoss + " " + stopLoss);
+            }
+
+            @Override
+            public void onStopMoved(String ticker, Direction direction, long time, double price, double stopLoss) {
+                events.add("stop " + stopLoss);
+            }
+
+            @Override
+            public void onClosed(String ticker, Direction direction, long time, double price, CloseReason reason,
+                                 String decisionReason, double profitLoss, double oldBalance, double newBalance,
+                                 long openMinutes) {
+                events.add("closed " + reason + " " + profitLoss + " " + newBalance + " " + openMinutes);
+            }
+
+            @Override
+            public void onRejected(String ticker, Direction direction, long time, double price, double amount) {
+                events.add("rejected " + ticker + " " + amount);
+            }
+        });
+
+        double movedStop = 101 * (1 - 0.05 / 2.0);
+        Assertions.assertEquals(List.of(
+                "opened TEST LONG 100.0 1000.0 95.0",
+                "stop " + movedStop,
+                "held 101.0 10.0 " + movedStop,
+                "closed STOP_LOSS -100.0 900.0 2",
+                "rejected OTHER 0.0"), events);
+    }
+
+    @Test
+    void testTextLoggerPrintsOffThread() {
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        AsyncTextTradeLogger logger = new AsyncTextTradeLogger(new PrintStream(text, false, StandardCharsets.UTF_8));
+        logger.onHeld("TEST", Direction.SHORT, 0, 99, 100, 10, 0.01, 101);
+        logger.onStopMoved("TEST", Direction.SHORT, 0, 99, 100.5);
+        logger.flush();
+        Assertions.assertEquals("Hold SHORT @ 100.00, P/L: 10.00 (1.00%), price: 99.00, stop: 101.00" + System.lineSeparator()
+                        + "Stop loss updated to 100.50" + System.lineSeparator(),
+                text.toString(StandardCharsets.UTF_8));
+
+        logger.close();
+        logger.onStopMoved("TEST", Direction.SHORT, 0, 98, 100.0);
+        Assertions.assertTrue(text.toString(StandardCharsets.UTF_8).endsWith("Stop loss updated to 100.00" + System.lineSeparator()));
+    }
+}
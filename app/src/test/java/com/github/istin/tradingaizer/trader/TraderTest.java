@@ -0,0 +1,146 @@
+package com.github.istin.tradingaizer.trader;
+
+import com.github.istin.tradingaizer.model.BarSeries;
+import com.github.istin.tradingaizer.model.Decision;
+import com.github.istin.tradingaizer.model.DecisionReason;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+class TraderTest {
+
+    private static final DecisionReason LONG = new DecisionReason(Decision.LONG, "entry");
+    private static final DecisionReason CLOSE = new DecisionReason(Decision.CLOSE, "exit");
+    private static final DecisionReason HOLD = new DecisionReason(Decision.HOLD, "wait");
+
+    @Test
+    void testSimulatedFillsDoNotBlock() {
+        BarSeries bars = flatSeries(2_000);
+        Trader trader = new Trader("TEST", 0.05, 0.5, 0.1, new FakeDealExecutor(1000d));
+        trader.setEventListener(TradeEventListener.NONE);
+        Assertions.assertTimeout(Duration.ofSeconds(5), () -> {
+            for (int i = 0; i < bars.size(); i++) {
+                trader.decisionTrigger("TEST", i % 2 == 0 ? LONG : CLOSE, bars.bar(i));
+            }
+        });
+        Assertions.assertEquals(1_000, trader.getClosedDeals().size());
+    }
+
+    @Test
+    void testStopLossIsSetWhenFillIsConfirmed() {
+        BarSeries bars = flatSeries(3);
+        PendingDealExecutor executor = new PendingDealExecutor();
+        Trader trader = new Trader("TEST", 0.05, 0.5, 1d, executor);
+        List<Double> opened = new ArrayList<>();
+        trader.setEventListener(new TradeEventListener() {
+            @Override
+            public void onOpened(String ticker, Direction direction, long time, double price, double amount,
+                                 double stopLoss, String reason) {
+                opened.add(amount);
+            }
+        });
+
+        trader.decisionTrigger("TEST", LONG, bars.bar(0));
+        Assertions.assertNotNull(trader.getPendingDeal());
+        Assertions.assertNull(trader.getCurrentDeal());
+        Assertions.assertFalse(trader.awaitPending().isDone());
+        Assertions.assertEquals(0, executor.getStopLoss());
+        Assertions.assertTrue(opened.isEmpty());
+
+        // Filled for less than asked
+        Deal confirmed = new Deal("TEST", bars.bar(0), Direction.LONG, 800d);
+        executor.pending.complete(confirmed);
+        Assertions.assertEquals(List.of(800d), opened);
+        Assertions.assertSame(confirmed, trader.getCurrentDeal());
+        Assertions.assertNull(trader.getPendingDeal());
+        Assertions.assertTrue(trader.awaitPending().isDone());
+        Assertions.assertEquals(95, confirmed.getStopLoss(), 1e-9);
+        Assertions.assertEquals(95, executor.getStopLoss(), 1e-9);
+
+        trader.decisionTrigger("TEST", HOLD, bars.bar(1));
+        Assertions.assertSame(confirmed, trader.getCurrentDeal());
+    }
+
+    @Test
+    void testFailedFillIsRejected() {
+        BarSeries bars = flatSeries(3);
+        PendingDealExecutor executor = new PendingDealExecutor();
+        Trader trader = new Trader("TEST", 0.05, 0.5, 1d, executor);
+        List<Double> rejected = new ArrayList<>();
+        List<Double> opened = new ArrayList<>();
+        trader.setEventListener(new TradeEventListener() {
+            @Override
+            public void onOpened(String ticker, Direction direction, long time, double price, double amount,
+                                 double stopLoss, String reason) {
+                opened.add(amount);
+            }
+
+            @Override
+            public void onRejected(String ticker, Direction direction, long time, double price, double amount) {
+                rejected.add(amount);
+            }
+        });
+
+        trader.decisionTrigger("TEST", LONG, bars.bar(0));
+        executor.pending.completeExceptionally(new IllegalStateException("insufficient margin"));
+        Assertions.assertNull(trader.getCurrentDeal());
+        Assertions.assertEquals(List.of(1000d), rejected);
+        Assertions.assertTrue(opened.isEmpty());
+        Assertions.assertEquals(0, executor.getStopLoss());
+
+    }
+
+    @Test
+    void testExitsWaitForTheFill() {
+        BarSeries bars = flatSeries(4);
+        PendingDealExecutor executor = new PendingDealExecutor();
+        Trader trader = new Trader("TEST", 0.05, 0.5, 1d, executor);
+        trader.setEventListener(TradeEventListener.NONE);
+
+        trader.decisionTrigger("TEST", LONG, bars.bar(0));
+        CompletableFuture<Deal> fill = executor.pending;
+        // The position may not exist yet: nothing is closed and no other deal is submitted
+        trader.decisionTrigger("TEST", CLOSE, bars.bar(1));
+        trader.decisionTrigger("TEST", LONG, bars.bar(2));
+        Assertions.assertSame(fill, executor.pending);
+        Assertions.assertTrue(trader.getClosedDeals().isEmpty());
+
+        Deal confirmed = new Deal("TEST", bars.bar(0), Direction.LONG, 1000d);
+        fill.complete(confirmed);
+        Assertions.assertSame(confirmed, trader.getCurrentDeal());
+
+        trader.decisionTrigger("TEST", CLOSE, bars.bar(3));
+        Assertions.assertNull(trader.getCurrentDeal());
+        Assertions.assertEquals(List.of(confirmed), trader.getClosedDeals());
+    }
+
+    /**
+     * Leaves every fill pending until the test completes it.
+     */
+    private static class PendingDealExecutor extends FakeDealExecutor {
+        private CompletableFuture<Deal> pending;
+
+        PendingDealExecutor() {
+            super(1000d);
+        }
+
+        @Override
+        public CompletableFuture<Deal> submitDealAsync(Deal deal) {
+            submitDeal(deal);
+            pending = new CompletableFuture<>();
+            return pending;
+        }
+    }
+
+    private static BarSeries flatSeries(int count) {
+        BarSeries series = new BarSeries(count);
+        for (int i = 0; i < count; i++) {
+            series.append(i * 60_000L, 100, 100, 100, 100, 1, (i + 1) * 60_000L - 1);
+        }
+        return series;
+    }
+}